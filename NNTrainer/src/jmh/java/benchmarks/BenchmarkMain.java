@@ -0,0 +1,18 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+//Runs the benchmarks matching the first argument, or all of them, reporting the time per call along with the bytes
+//allocated per call from the gc profiler. Needs jmh-core and the jmh annotation processor on the classpath
+public class BenchmarkMain {
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : "benchmarks\\..*Benchmark")
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import stocks.Candlestick;
+
+//The Candlestick indicators ending at the last candle of the whole history, as the features called them before the series
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CandlestickBenchmark {
+	private static final int ICHIMOKU_GRAPH_PERIODS = 12;
+
+	@Param({ SyntheticCandles.ONE_WEEK, SyntheticCandles.ONE_MONTH, SyntheticCandles.THREE_MONTHS, SyntheticCandles.ONE_YEAR })
+	public int candles;
+
+	private Candlestick[] history;
+
+	@Setup
+	public void setup() {
+		history = SyntheticCandles.generate(1, candles);
+	}
+
+	@Benchmark
+	public double rsi() { return Candlestick.calculateRSI(history); }
+
+	@Benchmark
+	public double stochRSI() { return Candlestick.calculateStochRSI(history); }
+
+	@Benchmark
+	public double macdHist() { return Candlestick.calculateMACDHist(history); }
+
+	@Benchmark
+	public double tmf() { return Candlestick.calculateTwiggsMoneyFlow(history); }
+
+	@Benchmark
+	public double aroonUp() { return Candlestick.calculateAroonUp(history); }
+
+	@Benchmark
+	public double aroonDown() { return Candlestick.calculateAroonDown(history); }
+
+	@Benchmark
+	public double percOutsideBollingerBand() { return Candlestick.percOutsideBollingerBand(history, Candlestick.BOLLINGER_DEFAULT_PERIODS); }
+
+	@Benchmark
+	public double[] ichimokuGraph() { return Candlestick.calculateIchimokuSignalGraph(history, ICHIMOKU_GRAPH_PERIODS); }
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import csvutils.ScalarKernels;
+import csvutils.VectorKernels;
+import stocks.Candlestick;
+
+//The scalar and vector kernels side by side over the close and open prices of the whole history
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelsBenchmark {
+	@Param({ SyntheticCandles.ONE_WEEK, SyntheticCandles.ONE_MONTH, SyntheticCandles.THREE_MONTHS, SyntheticCandles.ONE_YEAR })
+	public int candles;
+
+	private static final VectorKernels VECTOR = new VectorKernels();
+
+	private double[] closes;
+	private double[] opens;
+	private double[] sums;
+
+	@Setup
+	public void setup() {
+		Candlestick[] history = SyntheticCandles.generate(1, candles);
+		closes = Candlestick.closePrices(history);
+		opens = Candlestick.openPrices(history);
+		sums = new double[3];
+	}
+
+	@Benchmark
+	public double scalarSum() { return ScalarKernels.sum(closes, 0, closes.length); }
+
+	@Benchmark
+	public double vectorSum() { return VECTOR.sum(closes, 0, closes.length); }
+
+	@Benchmark
+	public double scalarSquaredDeviations() { return ScalarKernels.squaredDeviations(closes, 0, closes.length, closes[0]); }
+
+	@Benchmark
+	public double vectorSquaredDeviations() { return VECTOR.squaredDeviations(closes, 0, closes.length, closes[0]); }
+
+	@Benchmark
+	public double scalarMax() { return ScalarKernels.max(closes, 0, closes.length, 0D); }
+
+	@Benchmark
+	public double vectorMax() { return VECTOR.max(closes, 0, closes.length, 0D); }
+
+	@Benchmark
+	public int scalarMinIndex() { return ScalarKernels.minIndex(closes, 0, closes.length); }
+
+	@Benchmark
+	public int vectorMinIndex() { return VECTOR.minIndex(closes, 0, closes.length); }
+
+	@Benchmark
+	public double scalarDot() { return ScalarKernels.dot(closes, opens, 0, closes.length); }
+
+	@Benchmark
+	public double vectorDot() { return VECTOR.dot(closes, opens, 0, closes.length); }
+
+	@Benchmark
+	public double[] scalarDeviationSums() {
+		ScalarKernels.deviationSums(closes, opens, 0, closes.length, closes[0], opens[0], sums);
+		return sums;
+	}
+
+	@Benchmark
+	public double[] vectorDeviationSums() {
+		VECTOR.deviationSums(closes, opens, 0, closes.length, closes[0], opens[0], sums);
+		return sums;
+	}
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import csvutils.Stat;
+import stocks.Candlestick;
+import stocks.Numerics;
+
+//The Numerics building blocks over the close prices of the whole history
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericsBenchmark {
+	@Param({ SyntheticCandles.ONE_WEEK, SyntheticCandles.ONE_MONTH, SyntheticCandles.THREE_MONTHS, SyntheticCandles.ONE_YEAR })
+	public int candles;
+
+	private double[] closes;
+	private double[] times;
+
+	@Setup
+	public void setup() {
+		closes = Candlestick.closePrices(SyntheticCandles.generate(1, candles));
+		times = Numerics.generateTime(closes);
+	}
+
+	@Benchmark
+	public double ema() { return Numerics.EMA(closes, 26); }
+
+	@Benchmark
+	public double sma() { return Numerics.SMA(closes); }
+
+	@Benchmark
+	public Stat getStat() { return Numerics.getStat(closes); }
+
+	@Benchmark
+	public double pearsons() { return Numerics.pearsons(times, closes); }
+}
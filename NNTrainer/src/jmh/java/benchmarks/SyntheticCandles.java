@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.Random;
+
+import stocks.Candlestick;
+import trigger.Trigger;
+
+//Generates the same made up candles for a seed every time, so benchmark runs can be compared with each other. Prices
+//follow a random walk whose volatility drifts between calm and busy spells, with the odd pump or dump and the odd
+//candle without trades to reach the same branches as real market data
+public class SyntheticCandles {
+	//history lengths in 5 minute candles, as strings so they can be used as benchmark parameters
+	public static final String ONE_WEEK = "2016";
+	public static final String ONE_MONTH = "8064";
+	public static final String THREE_MONTHS = "24192";
+	public static final String ONE_YEAR = "105120";
+
+	public static final long START_DATE = 1500000000L;
+
+	//count candles of timePeriod seconds each
+	public static Candlestick[] generate(long seed, int count, int timePeriod) {
+		Random random = new Random(seed);
+		Candlestick[] candles = new Candlestick[count];
+		double price = 0.01D + random.nextDouble() * 0.09D;
+		double volatility = 0.004D;
+		for (int i = 0; i < count; i ++) {
+			volatility = Math.min(0.03D, Math.max(0.001D, volatility * (1D + random.nextGaussian() * 0.05D)));
+			double change = random.nextGaussian() * volatility;
+			if (random.nextInt(500) == 0) { change += (random.nextBoolean() ? 1D : -1D) * (0.07D + random.nextDouble() * 0.1D); }
+
+			Candlestick c = new Candlestick();
+			c.date = START_DATE + (long)i * timePeriod;
+			c.open = price;
+			c.close = price = Math.max(1e-8D, price * (1D + change));
+			c.high = Math.max(c.open, c.close) * (1D + random.nextDouble() * volatility);
+			c.low = Math.min(c.open, c.close) * (1D - random.nextDouble() * volatility);
+			if (random.nextInt(200) == 0) {
+				c.high = c.low = c.close = c.open;
+				c.volume = 0D;
+			} else {
+				c.volume = Math.exp(random.nextGaussian() + 3D);
+			}
+			c.quoteVolume = c.volume / c.close;
+			c.weightedAverage = c.low + (c.high - c.low) * random.nextDouble();
+			candles[i] = c;
+		}
+		return candles;
+	}
+
+	//count 5 minute candles
+	public static Candlestick[] generate(long seed, int count) {
+		return generate(seed, count, Trigger.FIVE_MINUTES);
+	}
+}
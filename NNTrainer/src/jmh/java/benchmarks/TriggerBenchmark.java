@@ -0,0 +1,111 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import csvutils.DataSet;
+import csvutils.FeatureVector;
+import stocks.Candlestick;
+import trigger.Trigger;
+import trigger.TriggerMACDThirty;
+
+//The basic features of a single candle and the macd thirty trigger scanned over the whole history. The warm benchmarks
+//reuse the same candles so the series cached by the triggers are already built, while the cold ones hand over a new
+//array every invocation so building the series is included, as happens for every ticker the first time it is seen
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerBenchmark {
+	@Param({ SyntheticCandles.ONE_WEEK, SyntheticCandles.ONE_MONTH, SyntheticCandles.THREE_MONTHS, SyntheticCandles.ONE_YEAR })
+	public int candles;
+
+	private Candlestick[] history;
+	private Candlestick[] btcHistory;
+	private Trigger basic;
+	private Trigger macdThirty;
+
+	@Setup
+	public void setup() throws Exception {
+		history = SyntheticCandles.generate(1, candles);
+		btcHistory = SyntheticCandles.generate(2, candles);
+		basic = new BasicFeatures();
+		macdThirty = new TriggerMACDThirty();
+	}
+
+	//A fresh copy of the candles for the cold benchmarks
+	@State(Scope.Thread)
+	public static class Fresh {
+		private Candlestick[] history;
+
+		@Setup(Level.Invocation)
+		public void setup(TriggerBenchmark benchmark) {
+			history = benchmark.history.clone();
+		}
+	}
+
+	@Benchmark
+	public FeatureVector basicFeatures() throws Exception {
+		return basicFeatures(history);
+	}
+
+	@Benchmark
+	public FeatureVector basicFeaturesCold(Fresh fresh) throws Exception {
+		return basicFeatures(fresh.history);
+	}
+
+	@Benchmark
+	public int macdThirtyTriggers() {
+		return triggers(history);
+	}
+
+	@Benchmark
+	public int macdThirtyTriggersCold(Fresh fresh) {
+		return triggers(fresh.history);
+	}
+
+	private FeatureVector basicFeatures(Candlestick[] candles) throws Exception {
+		FeatureVector fv = basic.getDataSet().genBlankVector();
+		basic.calculatePastFeatures(candles, btcHistory, candles.length - 1, fv, "BTC_BENCH");
+		return fv;
+	}
+
+	//Scans from the same candle as the analyser does
+	private int triggers(Candlestick[] candles) {
+		int triggers = 0;
+		for (int i = Trigger.ONE_MONTH / macdThirty.getTimePeriod() + 50; i < candles.length; i ++) {
+			if (macdThirty.isTriggered(candles, btcHistory, i)) { triggers ++; }
+		}
+		return triggers;
+	}
+
+	//A trigger with only the basic features, so calculating its past features measures just those. Half hour so a week of
+	//candles is enough history for them
+	private static class BasicFeatures extends Trigger {
+		public BasicFeatures() throws Exception { super("basic", Trigger.HALF_HOUR); }
+
+		protected void addFeaturesToDataSet(DataSet set) throws Exception {}
+
+		public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) { return false; }
+
+		protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future) throws Exception {}
+
+		protected void _load(DataSet ds) throws Exception {}
+
+		protected void _loadMax(DataSet ds) throws Exception {}
+	}
+}
@@ -0,0 +1,73 @@
+package csvutils;
+
+//The Kernels one value at a time, adding up in the same order as the loops they replaced
+public class ScalarKernels {
+
+	public static double sum(double[] nums, int from, int to) {
+		double sum = 0D;
+		for (int i = from; i < to; i ++) { sum += nums[i]; }
+		return sum;
+	}
+
+	public static double squaredDeviations(double[] nums, int from, int to, double mean) {
+		double sum = 0D;
+		for (int i = from; i < to; i ++) { sum += (nums[i] - mean) * (nums[i] - mean); }
+		return sum;
+	}
+
+	public static double max(double[] nums, int from, int to, double start) {
+		double max = start;
+		for (int i = from; i < to; i ++) { max = Math.max(nums[i], max); }
+		return max;
+	}
+
+	public static double min(double[] nums, int from, int to, double start) {
+		double min = start;
+		for (int i = from; i < to; i ++) { min = Math.min(nums[i], min); }
+		return min;
+	}
+
+	public static int maxIndex(double[] nums, int from, int to) {
+		int index = -1;
+		double max = 0D;
+		for (int i = from; i < to; i ++) {
+			if (index < 0 ? !Double.isNaN(nums[i]) : nums[i] > max) {
+				index = i;
+				max = nums[i];
+			}
+		}
+		return index;
+	}
+
+	public static int minIndex(double[] nums, int from, int to) {
+		int index = -1;
+		double min = 0D;
+		for (int i = from; i < to; i ++) {
+			if (index < 0 ? !Double.isNaN(nums[i]) : nums[i] < min) {
+				index = i;
+				min = nums[i];
+			}
+		}
+		return index;
+	}
+
+	public static double dot(double[] x, double[] y, int from, int to) {
+		double sum = 0D;
+		for (int i = from; i < to; i ++) { sum += x[i] * y[i]; }
+		return sum;
+	}
+
+	public static void deviationSums(double[] x, double[] y, int from, int to, double meanX, double meanY, double[] sums) {
+		double rXY = 0;
+		double rXX = 0;
+		double rYY = 0;
+		for (int i = from; i < to; i ++) {
+			rXY += (x[i] - meanX) * (y[i] - meanY);
+			rXX += (x[i] - meanX) * (x[i] - meanX);
+			rYY += (y[i] - meanY) * (y[i] - meanY);
+		}
+		sums[0] = rXY;
+		sums[1] = rXX;
+		sums[2] = rYY;
+	}
+}
@@ -0,0 +1,21 @@
+package csvutils;
+
+//The Kernels which VectorKernels does a vector of lanes at a time. Kernels only reaches VectorKernels through this, so
+//everything else builds and runs on a JDK without the jdk.incubator.vector module
+public interface VectorReductions {
+	double sum(double[] nums, int from, int to);
+
+	double squaredDeviations(double[] nums, int from, int to, double mean);
+
+	double max(double[] nums, int from, int to, double start);
+
+	double min(double[] nums, int from, int to, double start);
+
+	int maxIndex(double[] nums, int from, int to);
+
+	int minIndex(double[] nums, int from, int to);
+
+	double dot(double[] x, double[] y, int from, int to);
+
+	void deviationSums(double[] x, double[] y, int from, int to, double meanX, double meanY, double[] sums);
+}
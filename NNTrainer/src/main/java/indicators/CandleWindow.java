@@ -0,0 +1,37 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//A fixed number of the most recent candles, newest first
+public class CandleWindow {
+	private Candlestick[] candles;
+	private int next;
+	private int size;
+
+	public CandleWindow(int capacity) {
+		candles = new Candlestick[capacity];
+	}
+
+	public int size() { return size; }
+
+	public boolean isFull() { return size == candles.length; }
+
+	//Adds the latest candle, dropping the oldest if full
+	public void add(Candlestick c) {
+		candles[next] = c;
+		next = (next + 1) % candles.length;
+		size = Math.min(size + 1, candles.length);
+	}
+
+	//Returns the candle age periods ago, 0 being the latest
+	public Candlestick get(int age) {
+		if (age < 0 || age >= size) { throw new ArrayIndexOutOfBoundsException(age); }
+		return candles[(next - 1 - age + candles.length) % candles.length];
+	}
+
+	public void clear() {
+		for (int i = 0; i < candles.length; i ++) { candles[i] = null; }
+		next = 0;
+		size = 0;
+	}
+}
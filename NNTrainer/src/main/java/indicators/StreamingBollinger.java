@@ -0,0 +1,129 @@
+package indicators;
+
+import stocks.Candlestick;
+import stocks.Numerics;
+
+//The bollinger bands as calculated by Candlestick.calculateBollingerMiddle, Upper and Lower. The value is the middle band
+//Also keeps running totals of how far each candle was outside its bands so the percentage features are O(1). The bands
+//come from a running sum and sum of squares of the closes, taken from a recent close so the variance does not cancel
+//away, and worked out again every length candles so their rounding errors cannot build up
+public class StreamingBollinger extends StreamingIndicator {
+	private int length;
+	private CandleWindow window;
+	private long count;
+	private double shift; //the close the sums are taken from
+	private double sum; //the total of the closes in the window less shift
+	private double squares; //the total of the squares of the closes in the window less shift
+	private IndicatorHistory uppers;
+	private IndicatorHistory lowers;
+	private RunningTotal aboveOutside;
+	private RunningTotal aboveInside;
+	private RunningTotal belowOutside;
+	private RunningTotal belowInside;
+
+	public StreamingBollinger(int history) {
+		this(Candlestick.BOLLINGER_DEFAULT_PERIODS, history);
+	}
+
+	public StreamingBollinger(int length, int history) {
+		super(history);
+		this.length = length;
+		window = new CandleWindow(length);
+		uppers = new IndicatorHistory(history);
+		lowers = new IndicatorHistory(history);
+		aboveOutside = new RunningTotal(history);
+		aboveInside = new RunningTotal(history);
+		belowOutside = new RunningTotal(history);
+		belowInside = new RunningTotal(history);
+	}
+
+	public void update(Candlestick c) {
+		double dropped = window.isFull() ? window.get(length - 1).close - shift : 0D;
+		window.add(c);
+		count ++;
+		double added = c.close - shift;
+		sum += added - dropped;
+		squares += added * added - dropped * dropped;
+		if (count % length == 0 || Double.isNaN(sum) || Double.isNaN(squares)) { resum(); }
+		if (!window.isFull()) { return; }
+
+		double middle = shift + sum / (double)length;
+		double std = Math.pow((squares - sum * sum / (double)length) / (double)(length - 1), 0.5);
+		if (Double.isNaN(std)) { std = 0; }
+		double upper = middle + std * 2;
+		double lower = middle - std * 2;
+		values.add(middle);
+		uppers.add(upper);
+		lowers.add(lower);
+
+		double stickSize = c.high - c.low;
+		upper = Math.min(c.high, upper);
+		lower = Math.max(lower, 0);
+		lower = Math.max(c.low, lower);
+		if (stickSize != 0) {
+			aboveOutside.add((c.high - upper) / stickSize);
+			aboveInside.add((upper - c.low) / stickSize);
+			belowOutside.add((lower - c.low) / stickSize);
+			belowInside.add((c.high - lower) / stickSize);
+		} else {
+			aboveOutside.add(c.high > upper ? 1 : 0);
+			aboveInside.add(c.high > upper ? 0 : 1);
+			belowOutside.add(c.low < lower ? 1 : 0);
+			belowInside.add(c.low < lower ? 0 : 1);
+		}
+	}
+
+	//The upper band lag periods ago
+	public double getUpper(int lag) { return uppers.get(lag); }
+
+	//The lower band lag periods ago
+	public double getLower(int lag) { return lowers.get(lag); }
+
+	//As Candlestick.percAboveBollingerBand over the last periods candles
+	public double percAbove(int periods) {
+		return perc(aboveOutside, aboveInside, periods);
+	}
+
+	//As Candlestick.percBelowBollingerBand over the last periods candles
+	public double percBelow(int periods) {
+		return perc(belowOutside, belowInside, periods);
+	}
+
+	//As Candlestick.percOutsideBollingerBand over the last periods candles
+	public double percOutside(int periods) {
+		return Numerics.lockRange(0, percAbove(periods) + percBelow(periods), 100);
+	}
+
+	private static double perc(RunningTotal outsides, RunningTotal insides, int periods) {
+		double outside = outsides.sum(periods);
+		double inside = insides.sum(periods);
+		return Numerics.lockRange(0, outside * 100D / (outside + inside), 100);
+	}
+
+	//Works the sums out again from the closes in the window, taken from the latest close
+	private void resum() {
+		shift = window.get(0).close;
+		sum = 0D;
+		squares = 0D;
+		for (int i = window.size() - 1; i >= 0; i --) {
+			double d = window.get(i).close - shift;
+			sum += d;
+			squares += d * d;
+		}
+	}
+
+	public void reset() {
+		super.reset();
+		window.clear();
+		count = 0;
+		shift = 0D;
+		sum = 0D;
+		squares = 0D;
+		uppers.clear();
+		lowers.clear();
+		aboveOutside.clear();
+		aboveInside.clear();
+		belowOutside.clear();
+		belowInside.clear();
+	}
+}
@@ -0,0 +1,36 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//An indicator which is updated one candle at a time and remembers its recent values
+public abstract class StreamingIndicator {
+	public static final int DEFAULT_HISTORY = 4; //the current value plus mone, mtwo and mthree
+
+	protected IndicatorHistory values;
+
+	protected StreamingIndicator(int history) {
+		values = new IndicatorHistory(history);
+	}
+
+	//Consumes the next candle
+	public abstract void update(Candlestick c);
+
+	//Forgets every candle consumed so far
+	public void reset() {
+		values.clear();
+	}
+
+	//Whether the value lag periods ago has been calculated
+	public boolean isReady(int lag) { return values.size() > lag; }
+
+	public boolean isReady() { return isReady(0); }
+
+	//The latest value
+	public double get() { return get(0); }
+
+	//The value lag periods ago, 0 being the latest
+	public double get(int lag) { return values.get(lag); }
+
+	//The last periods values oldest first
+	public double[] graph(int periods) { return values.graph(periods); }
+}
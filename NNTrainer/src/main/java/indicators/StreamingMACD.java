@@ -0,0 +1,46 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//The MACD histogram as calculated by Candlestick.calculateMACDHist, updated in O(1) per candle
+public class StreamingMACD extends StreamingIndicator {
+	private StreamingEMA fast;
+	private StreamingEMA slow;
+	private StreamingEMA signal;
+	private IndicatorHistory macds;
+
+	public StreamingMACD() {
+		this(DEFAULT_HISTORY);
+	}
+
+	public StreamingMACD(int history) {
+		super(history);
+		fast = new StreamingEMA(10, 1);
+		slow = new StreamingEMA(26, 1);
+		signal = new StreamingEMA(9, 1);
+		macds = new IndicatorHistory(history);
+	}
+
+	public void update(Candlestick c) {
+		fast.update(c.close);
+		slow.update(c.close);
+		if (!slow.isReady()) { return; }
+		double macd = fast.get() - slow.get();
+		macds.add(macd);
+		signal.update(macd);
+		if (signal.isReady()) {
+			values.add(macd - signal.get());
+		}
+	}
+
+	//The MACD lag periods ago
+	public double getMACD(int lag) { return macds.get(lag); }
+
+	public void reset() {
+		super.reset();
+		fast.reset();
+		slow.reset();
+		signal.reset();
+		macds.clear();
+	}
+}
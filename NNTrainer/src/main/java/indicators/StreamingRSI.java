@@ -0,0 +1,59 @@
+package indicators;
+
+import stocks.Candlestick;
+import stocks.Numerics;
+
+//The RSI and stochastic RSI as calculated by Candlestick.calculateRSI and calculateStochRSI, updated in O(1) per candle
+public class StreamingRSI extends StreamingIndicator {
+	private static final int STOCH_PERIODS = 14; //the number of RSIs the stochastic RSI looks over
+
+	private StreamingEMA gain;
+	private StreamingEMA loss;
+	private IndicatorHistory stochRSIs;
+	private Candlestick last;
+
+	public StreamingRSI() {
+		this(Candlestick.RSI_DEFAULT_PERIODS, DEFAULT_HISTORY);
+	}
+
+	public StreamingRSI(int length, int history) {
+		super(history + STOCH_PERIODS - 1);
+		gain = new StreamingEMA(length, 1);
+		loss = new StreamingEMA(length, 1);
+		stochRSIs = new IndicatorHistory(history);
+	}
+
+	public void update(Candlestick c) {
+		if (last != null) {
+			gain.update(Math.max(0, c.close - last.close));
+			loss.update(Math.abs(Math.min(0, c.close - last.close)));
+		}
+		last = c;
+		if (!gain.isReady()) { return; }
+
+		double rs = gain.get() / loss.get();
+		values.add(Numerics.lockRange(0, 100D - (100D / (1D + rs)), 100));
+		if (values.size() < STOCH_PERIODS) { return; }
+
+		double max = 0D;
+		double min = 100D;
+		for (int i = 0; i < STOCH_PERIODS; i ++) {
+			max = Math.max(values.get(i), max);
+			min = Math.min(values.get(i), min);
+		}
+		double rsiDiff = (max - min);
+		if (rsiDiff == 0) { rsiDiff = Double.MIN_VALUE; }
+		stochRSIs.add(Numerics.lockRange(0, (values.get(0) - min) / rsiDiff, 1));
+	}
+
+	//The stochastic RSI lag periods ago
+	public double getStochRSI(int lag) { return stochRSIs.get(lag); }
+
+	public void reset() {
+		super.reset();
+		gain.reset();
+		loss.reset();
+		stochRSIs.clear();
+		last = null;
+	}
+}
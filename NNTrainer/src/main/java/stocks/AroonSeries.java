@@ -0,0 +1,87 @@
+package stocks;
+
+//The aroon up and down at every candle of a stock, found in one pass by keeping the candles that could still be the high
+//or low of a later window in a deque, so the aroon features need not rescan the window for each end. Each lookup gives
+//the same result as its Candlestick equivalent called on the candles up to and including index
+public class AroonSeries {
+	private final Candlestick[] candles;
+	private final int length;
+	private final double[] ups;
+	private final double[] downs;
+
+	public AroonSeries(Candlestick[] candles) {
+		this(candles, Candlestick.AROON_DEFAULT_PERIODS);
+	}
+
+	public AroonSeries(Candlestick[] candles, int length) {
+		this.candles = candles;
+		this.length = length;
+		int n = candles.length;
+		ups = new double[n];
+		downs = new double[n];
+		//the indexes of the candles which are not beaten by a later candle in the window, so the front is the latest high
+		//or low. Each index is added once so the deques never need to wrap
+		int[] highs = new int[n];
+		int highsFront = 0;
+		int highsBack = 0;
+		int[] lows = new int[n];
+		int lowsFront = 0;
+		int lowsBack = 0;
+		int unsetLows = 0; //the lows in the window periodsSinceLow treats as unset, when the window has to be scanned
+		for (int i = 0; i < n; i ++) {
+			double high = candles[i].high;
+			if (!Double.isNaN(high)) {
+				while (highsBack > highsFront && candles[highs[highsBack - 1]].high <= high) { highsBack --; }
+				highs[highsBack ++] = i;
+			}
+			double low = candles[i].low;
+			if (isUnset(low)) {
+				unsetLows ++;
+			} else {
+				while (lowsBack > lowsFront && candles[lows[lowsBack - 1]].low >= low) { lowsBack --; }
+				lows[lowsBack ++] = i;
+			}
+			if (i >= length && isUnset(candles[i - length].low)) { unsetLows --; }
+			while (highsBack > highsFront && highs[highsFront] <= i - length) { highsFront ++; }
+			while (lowsBack > lowsFront && lows[lowsFront] <= i - length) { lowsFront ++; }
+
+			if (i < length - 1) {
+				ups[i] = Double.NaN;
+				downs[i] = Double.NaN;
+				continue;
+			}
+			//as periodsSinceHigh, highs only count above 0
+			double periodsSinceHigh = highsBack > highsFront && candles[highs[highsFront]].high > 0 ? i - highs[highsFront] : 0;
+			double periodsSinceLow = unsetLows > 0 ? Candlestick.periodsSinceLow(candles, i + 1 - length, i + 1) : i - lows[lowsFront];
+			ups[i] = (((double)length - periodsSinceHigh) / (double)length) * 100D;
+			downs[i] = (((double)length - periodsSinceLow) / (double)length) * 100D;
+		}
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return ups.length; }
+
+	//As Candlestick.calculateAroonUp
+	public double up(int index) {
+		SeriesChecks.require(index >= length - 1 && index < ups.length, index);
+		return ups[index];
+	}
+
+	//As Candlestick.calculateAroonDown
+	public double down(int index) {
+		SeriesChecks.require(index >= length - 1 && index < downs.length, index);
+		return downs[index];
+	}
+
+	//The aroon up less the aroon down
+	public double delta(int index) {
+		return up(index) - down(index);
+	}
+
+	//periodsSinceLow starts again from the next candle after a low of 0, and nothing is below a NaN low
+	private static boolean isUnset(double low) {
+		return low == 0 || Double.isNaN(low);
+	}
+}
@@ -0,0 +1,51 @@
+package stocks;
+
+//The pumps, dumps and volume peaks of a set of candles, so counting them over a window or checking a volume against the
+//candles before it is O(1) instead of a rescan for every end
+public class CandleEvents {
+	private final Candlestick[] candles;
+	private final EventIndex pumps;
+	private final EventIndex dumps;
+	private final int[] previousVolumes; //the latest index before each candle with at least its volume, or -1
+
+	public CandleEvents(Candlestick[] candles) {
+		this.candles = candles;
+		int n = candles.length;
+		boolean[] pumped = new boolean[n];
+		boolean[] dumped = new boolean[n];
+		for (int i = 0; i < n; i ++) {
+			pumped[i] = candles[i].delta() >= Candlestick.PUMP_DELTA;
+			dumped[i] = candles[i].delta() <= Candlestick.DUMP_DELTA;
+		}
+		pumps = new EventIndex(candles, pumped);
+		dumps = new EventIndex(candles, dumped);
+
+		//a stack of the candles not beaten on volume by a later one, so the top with at least a volume is the latest.
+		//NaN volumes are never at least another so are left off
+		previousVolumes = new int[n];
+		int[] stack = new int[n];
+		int top = 0;
+		for (int i = 0; i < n; i ++) {
+			double vol = candles[i].volume;
+			if (Double.isNaN(vol)) {
+				previousVolumes[i] = -1;
+				continue;
+			}
+			while (top > 0 && candles[stack[top - 1]].volume < vol) { top --; }
+			previousVolumes[i] = top > 0 ? stack[top - 1] : -1;
+			stack[top ++] = i;
+		}
+	}
+
+	//Whether these events were found from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	//As Candlestick.totalPumps on the candles from from up to but not including to
+	public double pumps(int from, int to) { return pumps.count(from, to); }
+
+	//As Candlestick.totalDumps on the candles from from up to but not including to
+	public double dumps(int from, int to) { return dumps.count(from, to); }
+
+	//The latest index before index whose candle has at least the volume of the candle at index, or -1 if there is none
+	public int previousVolume(int index) { return previousVolumes[index]; }
+}
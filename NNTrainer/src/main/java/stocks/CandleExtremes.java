@@ -0,0 +1,110 @@
+package stocks;
+
+//The highest and lowest highs, lows and opens of any window of a set of candles, and where the opens were, in O(1). The
+//tables for the opens are only built the first time they are asked for, once even if asked for on several threads
+public class CandleExtremes {
+	private final Candlestick[] candles;
+	private final SparseTable highs;
+	private final SparseTable lows;
+	private volatile double[] opens;
+	private volatile SparseTable highOpens;
+	private volatile SparseTable lowOpens;
+	private volatile SparseIndexTable highOpenIndexes;
+	private volatile SparseIndexTable lowOpenIndexes;
+
+	public CandleExtremes(Candlestick[] candles) {
+		this.candles = candles;
+		highs = SparseTable.max(Candlestick.highPrices(candles));
+		lows = SparseTable.min(Candlestick.lowPrices(candles));
+	}
+
+	//Whether these extremes were calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	//As Candlestick.high on the candles from from up to but not including to
+	public double high(int from, int to) {
+		if (from >= to) { return 0D; }
+		return Math.max(highs.get(from, to), 0D);
+	}
+
+	//As Candlestick.low on the candles from from up to but not including to
+	public double low(int from, int to) {
+		if (from >= to) { return 0D; }
+		return lows.get(from, to);
+	}
+
+	//As Candlestick.highOpen on the candles from from up to but not including to
+	public double highOpen(int from, int to) {
+		if (from >= to) { return 0D; }
+		return Math.max(highOpens().get(from, to), 0D);
+	}
+
+	//As Candlestick.lowOpen on the candles from from up to but not including to
+	public double lowOpen(int from, int to) {
+		if (from >= to) { return 0D; }
+		return lowOpens().get(from, to);
+	}
+
+	//As Candlestick.highOpenIndex on the candles from from up to but not including to, counting the index from from
+	public int highOpenIndex(int from, int to) {
+		if (from >= to) { return 0; }
+		int index = highOpenIndexes().get(from, to);
+		return opens()[index] > 0D ? index - from : 0; //the highest open starts from 0
+	}
+
+	//As Candlestick.lowOpenIndex on the candles from from up to but not including to, counting the index from from
+	public int lowOpenIndex(int from, int to) {
+		if (from >= to) { return 0; }
+		int index = lowOpenIndexes().get(from, to);
+		return Double.isNaN(opens()[from]) ? 0 : index - from; //the lowest open starts from the first, which nothing is below if NaN
+	}
+
+	private double[] opens() {
+		if (opens == null) {
+			synchronized (this) {
+				if (opens == null) { opens = Candlestick.openPrices(candles); }
+			}
+		}
+		return opens;
+	}
+
+	private SparseTable highOpens() {
+		if (highOpens == null) {
+			double[] opens = opens();
+			synchronized (this) {
+				if (highOpens == null) { highOpens = SparseTable.max(opens); }
+			}
+		}
+		return highOpens;
+	}
+
+	private SparseTable lowOpens() {
+		if (lowOpens == null) {
+			double[] opens = opens();
+			synchronized (this) {
+				if (lowOpens == null) { lowOpens = SparseTable.min(opens); }
+			}
+		}
+		return lowOpens;
+	}
+
+	private SparseIndexTable highOpenIndexes() {
+		if (highOpenIndexes == null) {
+			double[] opens = opens();
+			synchronized (this) {
+				if (highOpenIndexes == null) { highOpenIndexes = SparseIndexTable.max(opens); }
+			}
+		}
+		return highOpenIndexes;
+	}
+
+	private SparseIndexTable lowOpenIndexes() {
+		if (lowOpenIndexes == null) {
+			double[] opens = opens();
+			synchronized (this) {
+				if (lowOpenIndexes == null) { lowOpenIndexes = SparseIndexTable.min(opens); }
+			}
+		}
+		return lowOpenIndexes;
+	}
+}
@@ -0,0 +1,31 @@
+package stocks;
+
+//Where some event happened along a set of candles, counting the events in any window in O(1) from running totals
+public class EventIndex {
+	private final Candlestick[] candles;
+	private final boolean[] events;
+	private final int[] counts; //counts[i] is the number of events before index i
+
+	public EventIndex(Candlestick[] candles, boolean[] events) {
+		this.candles = candles;
+		this.events = events;
+		counts = new int[events.length + 1];
+		for (int i = 0; i < events.length; i ++) {
+			counts[i + 1] = counts[i] + (events[i] ? 1 : 0);
+		}
+	}
+
+	//Whether this index was built from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return events.length; }
+
+	//Whether the event happened at index
+	public boolean get(int index) { return events[index]; }
+
+	//The number of events from from up to but not including to
+	public int count(int from, int to) {
+		if (from < 0 || from > to || to > events.length) { throw new ArrayIndexOutOfBoundsException(from < 0 ? from : to); }
+		return counts[to] - counts[from];
+	}
+}
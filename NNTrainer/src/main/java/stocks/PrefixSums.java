@@ -0,0 +1,56 @@
+package stocks;
+
+//Running totals of an array so the sum of any range is O(1). The totals carry their rounding error
+//separately so a small range far into a long array is as accurate as summing it directly. NaN and infinite values are
+//left out of the totals and counted instead, so they only affect the ranges which hold them
+public class PrefixSums {
+	private final double[] nums;
+	private final double[] sums;
+	private final double[] errors;
+	private final int[] undefined; //undefined[i] is the number of NaN or infinite values before i
+
+	public PrefixSums(double[] nums) {
+		this.nums = nums;
+		sums = new double[nums.length + 1];
+		errors = new double[nums.length + 1];
+		undefined = new int[nums.length + 1];
+		for (int i = 0; i < nums.length; i ++) {
+			double num = nums[i];
+			undefined[i + 1] = undefined[i];
+			if (Double.isNaN(num) || Double.isInfinite(num)) {
+				undefined[i + 1] ++;
+				num = 0D;
+			}
+			double sum = sums[i] + num;
+			double added = sum - sums[i];
+			sums[i + 1] = sum;
+			errors[i + 1] = errors[i] + (sums[i] - (sum - added)) + (num - added);
+		}
+	}
+
+	public int length() { return sums.length - 1; }
+
+	//The sum of the values from from up to but not including to. A range holding a NaN or infinite value, or whose
+	//totals overflow, is summed directly
+	public double sum(int from, int to) {
+		if (from > to) { throw new ArrayIndexOutOfBoundsException(to); }
+		if (undefined[to] == undefined[from]) {
+			double sum = (sums[to] - sums[from]) + (errors[to] - errors[from]);
+			if (!Double.isNaN(sum) && !Double.isInfinite(sum)) { return sum; }
+		}
+		double sum = 0D;
+		for (int i = from; i < to; i ++) {
+			sum += nums[i];
+		}
+		return sum;
+	}
+
+	//As Numerics.SMA on the values from from up to but not including to. Windows the totals cannot answer are averaged
+	//directly
+	public double mean(int from, int to) {
+		if (undefined[to] != undefined[from]) { return Numerics.SMA(nums, from, to); }
+		double sum = sum(from, to);
+		if (Double.isNaN(sum) || Double.isInfinite(sum)) { return Numerics.SMA(nums, from, to); }
+		return sum / (double) (to - from);
+	}
+}
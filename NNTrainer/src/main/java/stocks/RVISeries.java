@@ -0,0 +1,55 @@
+package stocks;
+
+//The relative vigor index and its histogram at every candle of a stock, with the SMA of the closes read from running
+//totals. Each lookup gives the same result as its Candlestick equivalent called on the candles up to index
+public class RVISeries {
+	//the first index with enough history for a histogram
+	public static final int FIRST_HIST = Math.max(Candlestick.RVI_GREEN_DEFAULT_LENGTH, Candlestick.RVI_RED_DEFAULT_LENGTH) - 1;
+
+	private final Candlestick[] candles;
+	private final double[] rvis;
+	private final double[] hists; //NaN before there is enough history, as those are never looked up
+
+	public RVISeries(Candlestick[] candles) {
+		this.candles = candles;
+		int n = candles.length;
+		rvis = new double[n];
+		for (int i = 0; i < n; i ++) {
+			Candlestick c = candles[i];
+			rvis[i] = c.high == c.low ? 0 : (c.close - c.open) / (c.high - c.low);
+		}
+		PrefixSums closes = new PrefixSums(Candlestick.closePrices(candles));
+		hists = new double[n];
+		for (int i = 0; i < n; i ++) {
+			if (i < FIRST_HIST) {
+				hists[i] = Double.NaN;
+				continue;
+			}
+			double green = closes.mean(i + 1 - Candlestick.RVI_GREEN_DEFAULT_LENGTH, i + 1);
+			double total = 0;
+			double vol = 0;
+			for (int j = i; j > i - Candlestick.RVI_RED_DEFAULT_LENGTH; j --) {
+				total += candles[j].close * candles[j].volume;
+				vol += candles[j].volume;
+			}
+			hists[i] = vol == 0 ? 0 : green - (total / vol);
+		}
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return rvis.length; }
+
+	//As Candlestick.calculateRVI
+	public double get(int index) {
+		SeriesChecks.require(index >= 0 && index < rvis.length, index);
+		return rvis[index];
+	}
+
+	//As Candlestick.calculateRVIHist
+	public double hist(int index) {
+		SeriesChecks.require(index >= FIRST_HIST && index < hists.length, index);
+		return hists[index];
+	}
+}
@@ -0,0 +1,12 @@
+package stocks;
+
+//The checks shared by the precomputed series
+class SeriesChecks {
+	private SeriesChecks() {}
+
+	//Throws as the Candlestick and Numerics equivalents do when they run out of candles or values, which the series
+	//do in the same cases
+	static void require(boolean enough, int index) {
+		if (!enough) { throw new ArrayIndexOutOfBoundsException(index); }
+	}
+}
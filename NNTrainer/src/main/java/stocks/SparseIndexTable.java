@@ -0,0 +1,47 @@
+package stocks;
+
+//Answers the index of the first maximum or minimum of any range of an array in O(1) after an O(n log n) build. A NaN is
+//never the extreme unless the whole range is NaN, as with a scan comparing each value to the best so far
+public class SparseIndexTable {
+	private final double[] nums;
+	private final int[][] table; //table[k][i] is the index of the extreme of the 2^k values from i
+	private final boolean max;
+
+	private SparseIndexTable(double[] nums, boolean max) {
+		this.nums = nums;
+		this.max = max;
+		int levels = 1;
+		while ((1 << levels) <= nums.length) { levels ++; }
+		table = new int[levels][];
+		table[0] = new int[nums.length];
+		for (int i = 0; i < nums.length; i ++) { table[0][i] = i; }
+		for (int k = 1; k < levels; k ++) {
+			int half = 1 << (k - 1);
+			table[k] = new int[nums.length - (1 << k) + 1];
+			for (int i = 0; i < table[k].length; i ++) {
+				table[k][i] = combine(table[k - 1][i], table[k - 1][i + half]);
+			}
+		}
+	}
+
+	public static SparseIndexTable max(double[] nums) { return new SparseIndexTable(nums, true); }
+
+	public static SparseIndexTable min(double[] nums) { return new SparseIndexTable(nums, false); }
+
+	public int length() { return nums.length; }
+
+	//The index of the extreme of the values from from up to but not including to
+	public int get(int from, int to) {
+		if (from < 0 || to > nums.length || from >= to) { throw new ArrayIndexOutOfBoundsException(from < 0 ? from : to); }
+		int k = 31 - Integer.numberOfLeadingZeros(to - from);
+		return combine(table[k][from], table[k][to - (1 << k)]);
+	}
+
+	//The better of two indexes, where first comes from the earlier range so wins ties
+	private int combine(int first, int second) {
+		double a = nums[first];
+		double b = nums[second];
+		if (Double.isNaN(a)) { return second; }
+		return (max ? b > a : b < a) ? second : first;
+	}
+}
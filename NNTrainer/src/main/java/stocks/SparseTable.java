@@ -0,0 +1,39 @@
+package stocks;
+
+//Answers the maximum or minimum of any range of an array in O(1) after an O(n log n) build
+public class SparseTable {
+	private final double[][] table; //table[k][i] is the extreme of the 2^k values from i
+	private final boolean max;
+
+	private SparseTable(double[] nums, boolean max) {
+		this.max = max;
+		int levels = 1;
+		while ((1 << levels) <= nums.length) { levels ++; }
+		table = new double[levels][];
+		table[0] = nums.clone();
+		for (int k = 1; k < levels; k ++) {
+			int half = 1 << (k - 1);
+			table[k] = new double[nums.length - (1 << k) + 1];
+			for (int i = 0; i < table[k].length; i ++) {
+				table[k][i] = combine(table[k - 1][i], table[k - 1][i + half]);
+			}
+		}
+	}
+
+	public static SparseTable max(double[] nums) { return new SparseTable(nums, true); }
+
+	public static SparseTable min(double[] nums) { return new SparseTable(nums, false); }
+
+	public int length() { return table[0].length; }
+
+	//The extreme of the values from from up to but not including to
+	public double get(int from, int to) {
+		if (from < 0 || to > table[0].length || from >= to) { throw new ArrayIndexOutOfBoundsException(from < 0 ? from : to); }
+		int k = 31 - Integer.numberOfLeadingZeros(to - from);
+		return combine(table[k][from], table[k][to - (1 << k)]);
+	}
+
+	private double combine(double a, double b) {
+		return max ? Math.max(a, b) : Math.min(a, b);
+	}
+}
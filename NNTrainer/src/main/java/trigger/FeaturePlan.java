@@ -0,0 +1,43 @@
+package trigger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+
+//Which of the features declared in the FeatureRegistry to calculate: those some models take as inputs or outputs, and
+//the features those are worked out from. Features left out of a plan are set to 0, which models not using them ignore
+public class FeaturePlan {
+	//calculates every feature, as when building a DataSet to train on
+	public static final FeaturePlan ALL = new FeaturePlan(null, FeatureRegistry.getLongestLookback());
+
+	private final HashSet<String> planned; //the declared features to calculate, or null for all of them
+	private final int lookback;
+
+	private FeaturePlan(HashSet<String> planned, int lookback) {
+		this.planned = planned;
+		this.lookback = lookback;
+	}
+
+	//The plan for the declared features in required and everything they depend on
+	public static FeaturePlan of(Collection<String> required) {
+		HashSet<String> planned = new HashSet<String>();
+		ArrayList<String> unvisited = new ArrayList<String>(required);
+		int lookback = 0;
+		while (!unvisited.isEmpty()) {
+			String feature = unvisited.remove(unvisited.size() - 1);
+			FeatureRegistry.Declaration declaration = FeatureRegistry.get(feature);
+			if (declaration == null || !planned.add(feature)) { continue; }
+			lookback = Math.max(lookback, declaration.lookback);
+			for (String dependency : declaration.dependencies) { unvisited.add(dependency); }
+		}
+		return new FeaturePlan(planned, lookback);
+	}
+
+	//Whether feature needs calculating
+	public boolean needs(String feature) {
+		return planned == null || planned.contains(feature) || !FeatureRegistry.isDeclared(feature);
+	}
+
+	//The longest history in seconds the planned declared features look back over
+	public int getLookback() { return lookback; }
+}
@@ -0,0 +1,50 @@
+package trigger;
+
+import java.util.HashMap;
+
+//The features which are only worth calculating when a model needs them, with the features they are worked out from and
+//the length of history in seconds they look back over. Features not declared here are cheap enough to always calculate
+public class FeatureRegistry {
+	private static final HashMap<String, Declaration> declarations = new HashMap<String, Declaration>();
+
+	static class Declaration {
+		final String name;
+		final int lookback;
+		final String[] dependencies;
+
+		private Declaration(String name, int lookback, String[] dependencies) {
+			this.name = name;
+			this.lookback = lookback;
+			this.dependencies = dependencies;
+		}
+	}
+
+	//the TMF and ichimoku signal trends are correlations over graphs as long as their period, up to a month
+	static {
+		String[] names = { "six", "twelve", "day", "threeday", "week", "fort", "month" };
+		int[] periods = { Trigger.SIX_HOURS, Trigger.TWELVE_HOURS, Trigger.ONE_DAY, Trigger.THREE_DAYS, Trigger.ONE_WEEK, Trigger.FORTNIGHT, Trigger.ONE_MONTH };
+		for (int i = 0; i < names.length; i ++) {
+			declare("pmmctmf" + names[i], periods[i]);
+			declare("pmmcdifftmfprice" + names[i], periods[i], "pmmctmf" + names[i], "pmmcprice" + names[i]);
+			declare("pmmcichimoku" + names[i], periods[i]);
+		}
+	}
+
+	private static void declare(String name, int lookback, String... dependencies) {
+		declarations.put(name, new Declaration(name, lookback, dependencies));
+	}
+
+	public static boolean isDeclared(String feature) { return declarations.containsKey(feature); }
+
+	//The declaration of feature, or null if it is always calculated
+	static Declaration get(String feature) { return declarations.get(feature); }
+
+	//The longest lookback of any declared feature
+	static int getLongestLookback() {
+		int lookback = 0;
+		for (Declaration declaration : declarations.values()) {
+			lookback = Math.max(lookback, declaration.lookback);
+		}
+		return lookback;
+	}
+}
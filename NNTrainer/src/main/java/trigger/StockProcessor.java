@@ -0,0 +1,147 @@
+package trigger;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+
+import stocks.Candlestick;
+import stocks.Stock;
+
+//Adds the feature vectors of a stock's candles to triggers, either in one pass or split into chunks processed at once
+public class StockProcessor {
+	public static void processStocks(Candlestick[] candles, Candlestick[] btcCandles, Trigger trigger, String ticker) {
+		if (candles.length == 0) { return; }
+		Candlestick[][] aligned = align(candles, btcCandles);
+		candles = aligned[0];
+		btcCandles = aligned[1];
+
+		int periods = Trigger.ONE_MONTH / trigger.getTimePeriod() + 50;
+		try {
+			double perc = 0;
+			double lastPerc = 0;
+			for (int i = periods; i < candles.length; i ++) {
+				trigger.addIfTriggered(candles, btcCandles, i, ticker);
+				perc = ((double) (i + 1 - periods) / (double) (candles.length - periods)) * 100D;
+				if (perc % 10 < lastPerc) {
+					System.out.println((int)Math.floor(perc) + "% " + Calendar.getInstance().get(Calendar.HOUR_OF_DAY) + ":" + Calendar.getInstance().get(Calendar.MINUTE));
+				}
+				lastPerc = perc % 10;
+			}
+		} catch (Exception e) { e.printStackTrace(); }
+	}
+
+	//As processStocks, but splitting the candles into up to chunks chunks which are processed at once with their own
+	//triggers, returning the feature vectors in csv format in order. Every chunk reads the whole of the candles, and the
+	//triggers share one cache of their series, so the vectors are the same as processing the stock in one go whatever
+	//the number of chunks
+	public static String processStocks(Candlestick[] candles, Candlestick[] btcCandles, Trigger trigger, String ticker, int chunks) throws Exception {
+		return processStocks(candles, btcCandles, new Trigger[] { trigger }, ticker, chunks)[0];
+	}
+
+	//As above, for each of triggers at the same time period in one pass over the candles
+	public static String[] processStocks(Candlestick[] candles, Candlestick[] btcCandles, final Trigger[] triggers, final String ticker, int chunks) throws Exception {
+		String[] csvs = new String[triggers.length];
+		Arrays.fill(csvs, "");
+		if (candles.length == 0) { return csvs; }
+		Candlestick[][] aligned = align(candles, btcCandles);
+		final Candlestick[] allCandles = aligned[0];
+		final Candlestick[] allBtcCandles = aligned[1];
+		final SeriesCache series = new SeriesCache(allCandles);
+
+		int periods = Trigger.ONE_MONTH / triggers[0].getTimePeriod() + 50;
+		int length = Math.max(1, (allCandles.length - periods + chunks - 1) / chunks);
+		ArrayList<ForkJoinTask<Chunk>> tasks = new ArrayList<ForkJoinTask<Chunk>>();
+		for (int from = periods; from < allCandles.length; from += length) {
+			final int start = from;
+			final int end = Math.min(from + length, allCandles.length);
+			tasks.add(ForkJoinTask.adapt(new Callable<Chunk>() {
+				public Chunk call() throws Exception { return processChunk(allCandles, allBtcCandles, series, triggers, ticker, start, end); }
+			}));
+		}
+		ForkJoinTask.invokeAll(tasks);
+		for (int t = 0; t < triggers.length; t ++) {
+			StringBuilder csv = new StringBuilder();
+			for (ForkJoinTask<Chunk> task : tasks) {
+				Chunk chunk = task.get();
+				csv.append(chunk.csvs[t]);
+				if (chunk.stopped[t]) { break; }
+			}
+			csvs[t] = csv.toString();
+		}
+		return csvs;
+	}
+
+	//The feature vectors of each trigger for one run of candles, and whether processing the stock stopped within it
+	private static class Chunk {
+		private final String[] csvs;
+		private final boolean[] stopped;
+
+		private Chunk(String[] csvs, boolean[] stopped) {
+			this.csvs = csvs;
+			this.stopped = stopped;
+		}
+	}
+
+	//Processes the candles from from up to but not including to with new triggers reading their series from series. The
+	//triggers share the basic features of each candle through a cache, so they are only calculated by the first trigger
+	//to need them
+	private static Chunk processChunk(Candlestick[] candles, Candlestick[] btcCandles, SeriesCache series, Trigger[] templates, String ticker, int from, int to) throws Exception {
+		Trigger[] triggers = new Trigger[templates.length];
+		StringWriter[] sws = new StringWriter[templates.length];
+		BufferedWriter[] bws = new BufferedWriter[templates.length];
+		for (int t = 0; t < templates.length; t ++) {
+			triggers[t] = templates[t].newInstance();
+			triggers[t].useSeries(series);
+			sws[t] = new StringWriter();
+			bws[t] = new BufferedWriter(sws[t]);
+		}
+		FeatureCache cache = new FeatureCache();
+		boolean[] stopped = new boolean[templates.length];
+		for (int i = from; i < to; i ++) {
+			for (int t = 0; t < triggers.length; t ++) {
+				if (stopped[t]) { continue; }
+				try {
+					triggers[t].addIfTriggered(candles, btcCandles, i, Stock.POLONIEX, ticker, cache);
+				} catch (Exception e) {
+					e.printStackTrace();
+					stopped[t] = true;
+				}
+				triggers[t].getDataSet().flush(bws[t]);
+			}
+			cache.clear();
+		}
+		String[] csvs = new String[templates.length];
+		for (int t = 0; t < templates.length; t ++) {
+			bws[t].close();
+			csvs[t] = sws[t].toString();
+		}
+		return new Chunk(csvs, stopped);
+	}
+
+	//The candles from the first which bitcoin also has a candle for, and the bitcoin candles lined up with them
+	private static Candlestick[][] align(Candlestick[] candles, Candlestick[] btcCandles) {
+		long start = btcCandles[0].getDate();
+
+		int candleStart = 0;
+		int btcStart = 0;
+
+		for (int i = 0; i < candles.length; i ++) {
+			if (candles[i].getDate() >= start) {
+				candleStart = i;
+				break;
+			}
+		}
+
+		for (int i = 0; i < btcCandles.length; i ++) {
+			if (candles[candleStart].getDate() == btcCandles[i].getDate()) {
+				btcStart = i;
+				break;
+			}
+		}
+		return new Candlestick[][] { Arrays.copyOfRange(candles, candleStart, candles.length), Arrays.copyOfRange(btcCandles, btcStart, btcCandles.length) };
+	}
+}
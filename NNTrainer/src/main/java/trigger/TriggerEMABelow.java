@@ -1,14 +1,18 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
+import stocks.CandleExtremes;
 import stocks.Candlestick;
+import stocks.CrossoverSeries;
 import stocks.Numerics;
 
 public class TriggerEMABelow extends Trigger {
 
+	private static final int EMA_LENGTH = 10;
+
+	private CrossoverSeries crossovers;
+
 	public TriggerEMABelow() throws Exception { super("emabelow", Trigger.HALF_HOUR); }
 
 	protected void addFeaturesToDataSet(DataSet set) throws Exception {
@@ -16,7 +20,7 @@ public class TriggerEMABelow extends Trigger {
 	}
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double ema = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, index + 1)), 10);
+		double ema = getCrossovers(candles).slow(index);
 		if (Numerics.pc(ema, candles[index].getClose()) < -2 &&
 			candles[index - 1].getClose() < candles[index].getClose() &&
 			candles[index - 2].getClose() > candles[index - 1].getClose()) {
@@ -26,22 +30,30 @@ public class TriggerEMABelow extends Trigger {
 		}
 	}
 
+	//The closes against their 10 period EMA, only recalculated when different candles are passed in
+	private CrossoverSeries getCrossovers(Candlestick[] candles) {
+		CrossoverSeries series = crossovers;
+		if (series == null || !series.isFor(candles)) {
+			series = CrossoverSeries.closeOverEMA(candles, EMA_LENGTH);
+			crossovers = series;
+		}
+		return series;
+	}
+
 	@Override
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv,
 			String ticker, boolean future) throws Exception {
 		if (future) {
-			int sellsIndex = index + 1;
-			while (Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, sellsIndex + 1)), 10) > candles[sellsIndex].getClose()) {
-				sellsIndex ++;
-			}
-
-			double highBeforeSell = Candlestick.high(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowBeforeSell = Candlestick.low(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-
-			double highOpenIndex = Candlestick.highOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpenIndex = Candlestick.lowOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double highOpen = Candlestick.highOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpen = Candlestick.lowOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			int sellsIndex = getCrossovers(candles).nextNotBelow(index);
+
+			CandleExtremes extremes = getCandleExtremes(candles);
+			double highBeforeSell = extremes.high(index + 1, sellsIndex + 1);
+			double lowBeforeSell = extremes.low(index + 1, sellsIndex + 1);
+
+			double highOpenIndex = extremes.highOpenIndex(index + 1, sellsIndex + 1);
+			double lowOpenIndex = extremes.lowOpenIndex(index + 1, sellsIndex + 1);
+			double highOpen = extremes.highOpen(index + 1, sellsIndex + 1);
+			double lowOpen = extremes.lowOpen(index + 1, sellsIndex + 1);
 
 			double sellApprox = candles[sellsIndex + 1].getOpen();
 			double purchaseApprox = candles[index + 1].getOpen();
@@ -1,10 +1,10 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
+import stocks.CandleExtremes;
 import stocks.Candlestick;
+import stocks.CrossoverSeries;
 import stocks.Numerics;
 
 public class TriggerMACross extends Trigger {
@@ -13,6 +13,8 @@ public class TriggerMACross extends Trigger {
 
 	private static final int EMA_LENGTH = 30;
 	private static final int SMA_LENGTH = 50;
+
+	private CrossoverSeries crossovers;
 	
 	protected void addFeaturesToDataSet(DataSet set) throws Exception {
 		addDefinedEndFeatures(set);
@@ -20,41 +22,33 @@ public class TriggerMACross extends Trigger {
 
 	@Override
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double lastEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, index)), EMA_LENGTH);
-		double curEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, index + 1)), EMA_LENGTH);
-		double lastSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, index - SMA_LENGTH, index)));
-		double curSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, index + 1 - SMA_LENGTH, index + 1)));
-		
-		if (lastEMA < lastSMA && curEMA > curSMA) {
-			return true;
-		} else {
-			return false;
+		return getCrossovers(candles).crossedUp(index);
+	}
+
+	//The EMA of the closes against their SMA, only recalculated when different candles are passed in
+	private CrossoverSeries getCrossovers(Candlestick[] candles) {
+		CrossoverSeries series = crossovers;
+		if (series == null || !series.isFor(candles)) {
+			series = CrossoverSeries.emaOverSMA(candles, EMA_LENGTH, SMA_LENGTH);
+			crossovers = series;
 		}
+		return series;
 	}
 
 	@Override
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv,
 			String ticker, boolean future) throws Exception {
 		if (future) {
-			int sellsIndex = index;
-			while (true) {
-				sellsIndex++;
-				double lastEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, sellsIndex)), EMA_LENGTH);
-				double curEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, sellsIndex + 1)), EMA_LENGTH);
-				double lastSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, sellsIndex - SMA_LENGTH, sellsIndex)));
-				double curSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, sellsIndex + 1 - SMA_LENGTH, sellsIndex + 1)));
-				if (lastEMA > lastSMA && curEMA < curSMA) {
-					break;
-				}
-			}
-
-			double highBeforeSell = Candlestick.high(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowBeforeSell = Candlestick.low(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-
-			double highOpenIndex = Candlestick.highOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpenIndex = Candlestick.lowOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double highOpen = Candlestick.highOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpen = Candlestick.lowOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			int sellsIndex = getCrossovers(candles).nextCrossDown(index);
+
+			CandleExtremes extremes = getCandleExtremes(candles);
+			double highBeforeSell = extremes.high(index + 1, sellsIndex + 1);
+			double lowBeforeSell = extremes.low(index + 1, sellsIndex + 1);
+
+			double highOpenIndex = extremes.highOpenIndex(index + 1, sellsIndex + 1);
+			double lowOpenIndex = extremes.lowOpenIndex(index + 1, sellsIndex + 1);
+			double highOpen = extremes.highOpen(index + 1, sellsIndex + 1);
+			double lowOpen = extremes.lowOpen(index + 1, sellsIndex + 1);
 
 			double sellApprox = candles[sellsIndex + 1].getOpen();
 			double purchaseApprox = candles[index + 1].getOpen();
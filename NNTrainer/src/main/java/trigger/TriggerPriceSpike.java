@@ -1,7 +1,5 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
@@ -37,7 +35,7 @@ public class TriggerPriceSpike extends Trigger {
 			String ticker, boolean future) throws Exception {
 		calculateDidPumpImmediate(candles, btcCandles, index, fv, ticker, future);
 
-		double dailyVolume = Candlestick.getVolSum(Arrays.copyOfRange(candles, index - (Trigger.ONE_DAY * 2) / getTimePeriod(), index));
+		double dailyVolume = Candlestick.getVolSum(candles, index - (Trigger.ONE_DAY * 2) / getTimePeriod(), index);
 
 		fv.setFeature("percentagebuyvolunproductive", Numerics.perc(Trade.getUnproductiveBuyVolume(thirty, candles[index - 1].getClose()), candles[index].volume));
 		fv.setFeature("percbuyvolunprodtotwodayvol", Numerics.perc(Trade.getUnproductiveBuyVolume(thirty, candles[index - 1].getClose()), dailyVolume));
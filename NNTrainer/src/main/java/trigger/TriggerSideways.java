@@ -1,7 +1,5 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
@@ -19,7 +17,7 @@ public class TriggerSideways extends Trigger {
 
 	@Override
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double weightedAverage = Candlestick.weightedAverage(Arrays.copyOfRange(candles, index - (Trigger.ONE_DAY * 3) / getTimePeriod(), index + 1));
+		double weightedAverage = Candlestick.weightedAverage(candles, index - (Trigger.ONE_DAY * 3) / getTimePeriod(), index + 1);
 		for (int i = index - 1; i > index - ((Trigger.ONE_DAY * 3) / getTimePeriod()) - 1; i --) {
 			if (Math.abs(Numerics.pc(weightedAverage, candles[i].weightedAverage)) >= 3.5F) {
 				return false;
@@ -1,8 +1,7 @@
 package trigger;
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
+import stocks.CandleExtremes;
 import stocks.Candlestick;
 import stocks.Numerics;
 
@@ -38,13 +37,14 @@ public class TriggerSuddenDump extends Trigger {
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future) throws Exception {
 		if (future) {
 			int sellsIndex = index + 6;
-			double highBeforeSell = Candlestick.high(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowBeforeSell = Candlestick.low(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-
-			double highOpenIndex = Candlestick.highOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpenIndex = Candlestick.lowOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double highOpen = Candlestick.highOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpen = Candlestick.lowOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			CandleExtremes extremes = getCandleExtremes(candles);
+			double highBeforeSell = extremes.high(index + 1, sellsIndex + 1);
+			double lowBeforeSell = extremes.low(index + 1, sellsIndex + 1);
+
+			double highOpenIndex = extremes.highOpenIndex(index + 1, sellsIndex + 1);
+			double lowOpenIndex = extremes.lowOpenIndex(index + 1, sellsIndex + 1);
+			double highOpen = extremes.highOpen(index + 1, sellsIndex + 1);
+			double lowOpen = extremes.lowOpen(index + 1, sellsIndex + 1);
 
 			double purchaseApprox = candles[index + 1].getOpen();
 
@@ -0,0 +1,105 @@
+package csvutils;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for finding features through the compiled schema.
+ */
+public class FeatureSchemaTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public FeatureSchemaTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( FeatureSchemaTest.class );
+    }
+
+    private static DataSet dataSet( int features ) throws Exception
+    {
+        DataSet set = new DataSet();
+        for ( int i = 0; i < features; i++ )
+        {
+            set.addFeature( "feature" + i );
+        }
+        return set;
+    }
+
+    /**
+     * Every feature is found in the slot it was added in, by an equal name as well as the same one
+     */
+    public void testSlots() throws Exception
+    {
+        DataSet set = dataSet( 300 );
+        FeatureSchema schema = set.getSchema();
+        assertEquals( 300, schema.size() );
+        for ( int i = 0; i < 300; i++ )
+        {
+            assertEquals( i, schema.slot( new String( "feature" + i ) ) );
+            assertEquals( "feature" + i, schema.name( i ) );
+        }
+        assertEquals( -1, schema.slot( "feature300" ) );
+        try
+        {
+            schema.handle( "feature300" );
+            fail( "there is no such feature" );
+        }
+        catch ( FeatureNonExistentException e )
+        {
+        }
+    }
+
+    /**
+     * Features set by name and by slot read back the same, and the first unset one is reported
+     */
+    public void testSetGetAndIncomplete() throws Exception
+    {
+        DataSet set = dataSet( 100 );
+        FeatureVector fv = set.genBlankVector();
+        FeatureSchema.Slot last = set.getSchema().handle( "feature99" );
+        for ( int i = 0; i < 99; i++ )
+        {
+            fv.setFeature( "feature" + i, i );
+        }
+        assertEquals( "feature99", fv.incomplete() );
+        try
+        {
+            fv.getFeature( last );
+            fail( "the feature has not been set" );
+        }
+        catch ( FeatureNotSetException e )
+        {
+        }
+        fv.setFeature( last, 99 );
+        assertNull( fv.incomplete() );
+        assertEquals( 99D, fv.getFeature( "feature99" ) );
+        assertEquals( 64D, fv.getFeature( set.getSchema().handle( "feature64" ) ) );
+        set.insertVector( fv );
+    }
+
+    /**
+     * A vector matches a DataSet with the same features and not one with different ones
+     */
+    public void testMatches() throws Exception
+    {
+        FeatureVector fv = dataSet( 10 ).genBlankVector();
+        assertTrue( fv.matches( dataSet( 10 ).getSchema() ) );
+        assertFalse( fv.matches( dataSet( 11 ).getSchema() ) );
+        DataSet other = dataSet( 9 );
+        other.addFeature( "other" );
+        assertFalse( fv.matches( other.getSchema() ) );
+    }
+}
@@ -0,0 +1,111 @@
+package csvutils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the Kernels against the scalar kernels, which are the vector ones when run with --add-modules jdk.incubator.vector.
+ */
+public class KernelsTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public KernelsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( KernelsTest.class );
+    }
+
+    private static final double[] SPECIALS = { Double.NaN, 0D, -0D, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+
+    private static double[] randomNums( Random r, int n, boolean specials )
+    {
+        double[] nums = new double[n];
+        for ( int i = 0; i < n; i++ )
+        {
+            nums[i] = specials && r.nextInt( 10 ) == 0 ? SPECIALS[r.nextInt( SPECIALS.length )] : r.nextInt( 20 ) - 10 + r.nextDouble();
+        }
+        return nums;
+    }
+
+    private static void assertSum( double expected, double actual, double scale )
+    {
+        if ( Double.isNaN( expected ) || Double.isInfinite( expected ) )
+        {
+            assertEquals( Double.valueOf( expected ), Double.valueOf( actual ) );
+        }
+        else
+        {
+            assertEquals( expected, actual, scale * 1e-12 );
+        }
+    }
+
+    /**
+     * The extremes and indexes are exactly the scalar ones, NaNs and signed zeros included, and the sums agree to within rounding
+     */
+    public void testMatchesScalar()
+    {
+        Random r = new Random( 3 );
+        double[] sums = new double[3];
+        double[] scalarSums = new double[3];
+        for ( int i = 0; i < 2000; i++ )
+        {
+            int n = r.nextInt( 200 );
+            boolean specials = i % 2 == 0;
+            double[] x = randomNums( r, n, specials );
+            double[] y = randomNums( r, n, specials );
+            int from = n == 0 ? 0 : r.nextInt( n );
+            int to = from + r.nextInt( n - from + 1 );
+            double scale = ( to - from ) * 100D;
+
+            assertEquals( ScalarKernels.maxIndex( x, from, to ), Kernels.maxIndex( x, from, to ) );
+            assertEquals( ScalarKernels.minIndex( x, from, to ), Kernels.minIndex( x, from, to ) );
+            assertEquals( Double.valueOf( ScalarKernels.max( x, from, to, 0D ) ), Double.valueOf( Kernels.max( x, from, to, 0D ) ) );
+            assertEquals( Double.valueOf( ScalarKernels.min( x, from, to, -0D ) ), Double.valueOf( Kernels.min( x, from, to, -0D ) ) );
+
+            assertSum( ScalarKernels.sum( x, from, to ), Kernels.sum( x, from, to ), scale );
+            assertSum( ScalarKernels.squaredDeviations( x, from, to, 1.5D ), Kernels.squaredDeviations( x, from, to, 1.5D ), scale * 100D );
+            assertSum( ScalarKernels.dot( x, y, from, to ), Kernels.dot( x, y, from, to ), scale * 10D );
+            ScalarKernels.deviationSums( x, y, from, to, 0.5D, -0.5D, scalarSums );
+            Kernels.deviationSums( x, y, from, to, 0.5D, -0.5D, sums );
+            for ( int j = 0; j < sums.length; j++ )
+            {
+                assertSum( scalarSums[j], sums[j], scale * 100D );
+            }
+        }
+    }
+
+    /**
+     * The first of equal extremes is returned, and ranges of only NaNs have no index
+     */
+    public void testIndexes()
+    {
+        double[] nums = new double[100];
+        nums[40] = 5D;
+        nums[70] = 5D;
+        nums[10] = -3D;
+        nums[90] = -3D;
+        assertEquals( 40, Kernels.maxIndex( nums, 0, nums.length ) );
+        assertEquals( 70, Kernels.maxIndex( nums, 41, nums.length ) );
+        assertEquals( 10, Kernels.minIndex( nums, 0, nums.length ) );
+        Arrays.fill( nums, Double.NaN );
+        assertEquals( -1, Kernels.maxIndex( nums, 0, nums.length ) );
+        assertEquals( -1, Kernels.minIndex( nums, 0, nums.length ) );
+        assertEquals( -1, Kernels.maxIndex( nums, 5, 5 ) );
+    }
+}
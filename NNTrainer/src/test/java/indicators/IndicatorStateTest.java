@@ -0,0 +1,324 @@
+package indicators;
+
+import java.util.Arrays;
+
+import csvutils.FeatureVector;
+import stocks.AroonSeries;
+import stocks.CandleExtremes;
+import stocks.CandleMoments;
+import stocks.Candlestick;
+import stocks.IchimokuSeries;
+import stocks.MACDHistSeries;
+import stocks.RSISeries;
+import stocks.StochasticSeries;
+import stocks.TMFSeries;
+import stocks.TestCandles;
+import trigger.Trigger;
+import trigger.TriggerRSI;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the streaming indicators against the batch series and features calculated from the whole candles.
+ */
+public class IndicatorStateTest
+    extends TestCase
+{
+    private static final int GRAPH_PERIODS = 48;
+
+    private static final int BAND_PERIODS = 48;
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public IndicatorStateTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( IndicatorStateTest.class );
+    }
+
+    /**
+     * Candles from candleWalk, half an hour apart
+     */
+    private static Candlestick[] datedCandles( long seed, int n )
+    {
+        Candlestick[] candles = TestCandles.candleWalk( seed, n );
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i].date = 1500000000L + (long) i * Trigger.HALF_HOUR;
+            candles[i].quoteVolume = candles[i].volume / candles[i].weightedAverage;
+        }
+        return candles;
+    }
+
+    private static void assertClose( String what, double expected, double actual )
+    {
+        assertEquals( what, expected, actual, Math.max( 1D, Math.abs( expected ) ) * 1e-9 );
+    }
+
+    private static void assertSameState( IndicatorState expected, IndicatorState actual )
+    {
+        for ( int lag = 0; lag < StreamingIndicator.DEFAULT_HISTORY; lag++ )
+        {
+            assertEquals( expected.rsi.get( lag ), actual.rsi.get( lag ) );
+            assertEquals( expected.rsi.getStochRSI( lag ), actual.rsi.getStochRSI( lag ) );
+            assertEquals( expected.macd.get( lag ), actual.macd.get( lag ) );
+            assertEquals( expected.tmf.get( lag ), actual.tmf.get( lag ) );
+            assertEquals( expected.aroon.getUp( lag ), actual.aroon.getUp( lag ) );
+            assertEquals( expected.aroon.getDown( lag ), actual.aroon.getDown( lag ) );
+            assertEquals( expected.stochastic.get( lag ), actual.stochastic.get( lag ) );
+            assertEquals( expected.stochastic.getHist( lag ), actual.stochastic.getHist( lag ) );
+            assertEquals( expected.ichimoku.get( lag ), actual.ichimoku.get( lag ) );
+        }
+        assertTrue( Arrays.equals( expected.tmf.graph( GRAPH_PERIODS ), actual.tmf.graph( GRAPH_PERIODS ) ) );
+        assertTrue( Arrays.equals( expected.ichimoku.graph( GRAPH_PERIODS ), actual.ichimoku.graph( GRAPH_PERIODS ) ) );
+        assertEquals( expected.bollinger.percOutside( BAND_PERIODS ), actual.bollinger.percOutside( BAND_PERIODS ) );
+    }
+
+    /**
+     * Fed one candle at a time, every indicator and its last few values match the batch series at every index
+     */
+    public void testIndicatorsMatchSeriesAtEveryIndex()
+    {
+        Candlestick[] candles = datedCandles( 1, 800 );
+        CandleExtremes extremes = new CandleExtremes( candles );
+        CandleMoments moments = new CandleMoments( candles );
+        RSISeries rsis = new RSISeries( candles );
+        MACDHistSeries macds = new MACDHistSeries( candles );
+        TMFSeries tmfs = new TMFSeries( candles );
+        AroonSeries aroons = new AroonSeries( candles );
+        StochasticSeries stochastics = new StochasticSeries( candles, extremes );
+        IchimokuSeries ichimokus = new IchimokuSeries( candles, extremes );
+        IndicatorState state = new IndicatorState( GRAPH_PERIODS, BAND_PERIODS );
+        for ( int i = 0; i < candles.length; i++ )
+        {
+            state.update( candles[i] );
+            assertTrue( state.isCurrent( candles[i] ) );
+            for ( int lag = 0; lag < StreamingIndicator.DEFAULT_HISTORY; lag++ )
+            {
+                int index = i - lag;
+                if ( index >= RSISeries.FIRST_RSI )
+                {
+                    assertClose( "rsi " + index, rsis.get( index ), state.rsi.get( lag ) );
+                }
+                if ( index >= RSISeries.FIRST_STOCH_RSI )
+                {
+                    assertClose( "stochrsi " + index, rsis.stochRSI( index ), state.rsi.getStochRSI( lag ) );
+                }
+                if ( index >= MACDHistSeries.FIRST_HIST )
+                {
+                    assertClose( "macd " + index, macds.getMACD( index ), state.macd.getMACD( lag ) );
+                    assertClose( "macdhist " + index, macds.get( index ), state.macd.get( lag ) );
+                }
+                if ( index >= TMFSeries.FIRST_TMF )
+                {
+                    assertClose( "tmf " + index, tmfs.get( index ), state.tmf.get( lag ) );
+                }
+                if ( index >= Candlestick.AROON_DEFAULT_PERIODS - 1 )
+                {
+                    assertClose( "aroonup " + index, aroons.up( index ), state.aroon.getUp( lag ) );
+                    assertClose( "aroondown " + index, aroons.down( index ), state.aroon.getDown( lag ) );
+                }
+                if ( index >= StochasticSeries.FIRST_SIGNAL )
+                {
+                    assertClose( "stochastic " + index, stochastics.get( index ), state.stochastic.get( lag ) );
+                    assertClose( "stochastichist " + index, stochastics.hist( index ), state.stochastic.getHist( lag ) );
+                }
+                if ( index >= IchimokuSeries.FIRST_SIGNAL )
+                {
+                    assertClose( "ichimoku " + index, ichimokus.get( index ), state.ichimoku.get( lag ) );
+                }
+            }
+            if ( i + 1 - GRAPH_PERIODS >= Math.max( TMFSeries.FIRST_TMF, IchimokuSeries.FIRST_SIGNAL ) )
+            {
+                double[] tmfGraph = tmfs.graph( i, GRAPH_PERIODS );
+                double[] ichimokuGraph = ichimokus.graph( i, GRAPH_PERIODS );
+                double[] liveTMFGraph = state.tmf.graph( GRAPH_PERIODS );
+                double[] liveIchimokuGraph = state.ichimoku.graph( GRAPH_PERIODS );
+                for ( int j = 0; j < GRAPH_PERIODS; j++ )
+                {
+                    assertClose( "tmf graph " + i, tmfGraph[j], liveTMFGraph[j] );
+                    assertClose( "ichimoku graph " + i, ichimokuGraph[j], liveIchimokuGraph[j] );
+                }
+            }
+            if ( i + 1 - BAND_PERIODS >= Candlestick.BOLLINGER_DEFAULT_PERIODS - 1 )
+            {
+                for ( int periods = 4; periods <= BAND_PERIODS; periods *= 2 )
+                {
+                    assertClose( "above " + i, Candlestick.percAboveBollingerBand( candles, moments, i, periods ), state.bollinger.percAbove( periods ) );
+                    assertClose( "below " + i, Candlestick.percBelowBollingerBand( candles, moments, i, periods ), state.bollinger.percBelow( periods ) );
+                    assertClose( "outside " + i, Candlestick.percOutsideBollingerBand( candles, moments, i, periods ), state.bollinger.percOutside( periods ) );
+                }
+            }
+        }
+    }
+
+    /**
+     * Flat candles have undefined accumulations, so the TMF of windows holding them is interpolated, and of windows they
+     * have only just left is worked out again while they are still in the sliding sums of the EMAs
+     */
+    public void testTMFWithUndefinedAccumulationsMatchesSeries()
+    {
+        for ( long seed = 7; seed < 10; seed++ )
+        {
+            Candlestick[] candles = TestCandles.flatCandleWalk( seed, 800 );
+            TMFSeries tmfs = new TMFSeries( candles );
+            StreamingTMF tmf = new StreamingTMF();
+            for ( int i = 0; i < candles.length; i++ )
+            {
+                tmf.update( candles[i] );
+                if ( i >= TMFSeries.FIRST_TMF )
+                {
+                    assertClose( "tmf " + i, tmfs.get( i ), tmf.get() );
+                }
+            }
+        }
+    }
+
+    /**
+     * With highs and lows often tied, the odd unset low and the odd NaN or negative high, the windows kept in deques give
+     * the aroon, stochastic and ichimoku of the batch series
+     */
+    public void testWindowsWithTiedAndUnsetPricesMatchSeries()
+    {
+        Candlestick[] candles = TestCandles.tiedHighsAndLows( 8, 800 );
+        for ( int i = 0; i < candles.length; i++ )
+        {
+            candles[i].close = ( candles[i].high + candles[i].low ) / 2;
+        }
+        CandleExtremes extremes = new CandleExtremes( candles );
+        AroonSeries aroons = new AroonSeries( candles );
+        StochasticSeries stochastics = new StochasticSeries( candles, extremes );
+        IchimokuSeries ichimokus = new IchimokuSeries( candles, extremes );
+        StreamingAroon aroon = new StreamingAroon();
+        StreamingStochastic stochastic = new StreamingStochastic();
+        StreamingIchimoku ichimoku = new StreamingIchimoku( StreamingIndicator.DEFAULT_HISTORY );
+        for ( int i = 0; i < candles.length; i++ )
+        {
+            aroon.update( candles[i] );
+            stochastic.update( candles[i] );
+            ichimoku.update( candles[i] );
+            if ( i >= Candlestick.AROON_DEFAULT_PERIODS - 1 )
+            {
+                assertEquals( "aroonup " + i, aroons.up( i ), aroon.getUp( 0 ), 0D );
+                assertEquals( "aroondown " + i, aroons.down( i ), aroon.getDown( 0 ), 0D );
+            }
+            if ( i >= StochasticSeries.FIRST_SIGNAL )
+            {
+                assertClose( "stochastic " + i, stochastics.get( i ), stochastic.get() );
+                assertClose( "stochastichist " + i, stochastics.hist( i ), stochastic.getHist( 0 ) );
+            }
+            if ( i >= IchimokuSeries.FIRST_SIGNAL )
+            {
+                assertClose( "ichimoku " + i, ichimokus.get( i ), ichimoku.get() );
+            }
+        }
+    }
+
+    /**
+     * The past features worked out from a live state, including the lagged and graph trend ones, are those worked out
+     * from the candles alone
+     */
+    public void testLiveFeaturesMatchBatchFeatures() throws Exception
+    {
+        Trigger trigger = new TriggerRSI();
+        int start = Trigger.ONE_MONTH / trigger.getTimePeriod() + 80;
+        Candlestick[] candles = datedCandles( 2, start + 120 );
+        Candlestick[] btcCandles = datedCandles( 3, candles.length );
+        IndicatorState state = trigger.newIndicatorState();
+        for ( int i = 0; i < candles.length; i++ )
+        {
+            state.update( candles[i] );
+            if ( i < start )
+            {
+                continue;
+            }
+            FeatureVector batch = trigger.getDataSet().genBlankVector();
+            FeatureVector live = trigger.getDataSet().genBlankVector();
+            trigger.calculatePastFeatures( candles, btcCandles, i, batch, "BTC_ABC" );
+            trigger.calculatePastFeatures( candles, btcCandles, i, live, "BTC_ABC", state );
+            double[] expected = batch.getFeatures();
+            double[] actual = live.getFeatures();
+            assertEquals( expected.length, actual.length );
+            for ( int j = 0; j < expected.length; j++ )
+            {
+                assertClose( trigger.getDataSet().getKeyAt( j ) + " at " + i, expected[j], actual[j] );
+            }
+        }
+    }
+
+    /**
+     * Updating from a growing array only consumes the candles appended since the last one seen, leaving the state as if
+     * it had been fed them one at a time
+     */
+    public void testUpdateResyncsOnAppendedCandles()
+    {
+        Candlestick[] candles = datedCandles( 4, 600 );
+        IndicatorState expected = new IndicatorState( GRAPH_PERIODS, BAND_PERIODS );
+        IndicatorState actual = new IndicatorState( GRAPH_PERIODS, BAND_PERIODS );
+        int seen = 0;
+        for ( int end = 150; end <= candles.length; end += 37 )
+        {
+            actual.update( Arrays.copyOfRange( candles, 0, end ) );
+            for ( ; seen < end; seen++ )
+            {
+                expected.update( candles[seen] );
+            }
+            assertTrue( actual.isCurrent( candles[end - 1] ) );
+            assertSameState( expected, actual );
+        }
+
+        //a window that has dropped its oldest candles but still holds the last one seen carries on from it
+        actual.update( Arrays.copyOfRange( candles, 300, candles.length ) );
+        for ( ; seen < candles.length; seen++ )
+        {
+            expected.update( candles[seen] );
+        }
+        assertTrue( actual.isCurrent( candles[candles.length - 1] ) );
+        assertSameState( expected, actual );
+    }
+
+    /**
+     * Updating from candles that do not hold the last one seen starts again from their first candle
+     */
+    public void testUpdateResetsWhenLastCandleMissing()
+    {
+        Candlestick[] candles = datedCandles( 5, 600 );
+        IndicatorState actual = new IndicatorState( GRAPH_PERIODS, BAND_PERIODS );
+        actual.update( Arrays.copyOfRange( candles, 0, 300 ) );
+
+        Candlestick[] later = Arrays.copyOfRange( candles, 350, candles.length );
+        actual.update( later );
+        IndicatorState expected = new IndicatorState( GRAPH_PERIODS, BAND_PERIODS );
+        expected.update( later );
+        assertTrue( actual.isCurrent( candles[candles.length - 1] ) );
+        assertSameState( expected, actual );
+
+        //a different stock whose dates skip over the last one seen
+        Candlestick[] other = datedCandles( 6, 400 );
+        for ( Candlestick c : other )
+        {
+            c.date += Trigger.HALF_HOUR / 2;
+        }
+        actual.update( other );
+        expected = new IndicatorState( GRAPH_PERIODS, BAND_PERIODS );
+        expected.update( other );
+        assertSameState( expected, actual );
+
+        actual.reset();
+        assertFalse( actual.isCurrent( other[other.length - 1] ) );
+        actual.update( other );
+        assertSameState( expected, actual );
+    }
+}
@@ -0,0 +1,88 @@
+package indicators;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the rolling extremes of a stream against scanning its latest values.
+ */
+public class RollingExtremeTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RollingExtremeTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( RollingExtremeTest.class );
+    }
+
+    /**
+     * With values often tied and the odd NaN, every window has the extreme Math.max or Math.min finds, the extreme of
+     * the values which are not NaN, the age of the latest of those, and its number of NaNs
+     */
+    public void testWindowsMatchScan()
+    {
+        for ( int length : new int[] { 1, 2, 9, 26 } )
+        {
+            for ( boolean max : new boolean[] { true, false } )
+            {
+                Random r = new Random( length );
+                RollingExtreme extreme = max ? RollingExtreme.max( length ) : RollingExtreme.min( length );
+                ArrayList<Double> added = new ArrayList<Double>();
+                for ( int i = 0; i < 600; i++ )
+                {
+                    double value = r.nextInt( 30 ) == 0 ? Double.NaN : r.nextInt( 6 );
+                    extreme.add( value );
+                    added.add( value );
+                    int from = Math.max( 0, added.size() - length );
+                    double all = added.get( from );
+                    double defined = Double.NaN;
+                    int age = -1;
+                    int undefined = 0;
+                    for ( int j = from; j < added.size(); j++ )
+                    {
+                        double v = added.get( j );
+                        all = max ? Math.max( v, all ) : Math.min( v, all );
+                        if ( Double.isNaN( v ) )
+                        {
+                            undefined++;
+                        }
+                        else if ( Double.isNaN( defined ) || ( max ? v >= defined : v <= defined ) )
+                        {
+                            defined = v;
+                            age = added.size() - 1 - j;
+                        }
+                    }
+                    assertEquals( added.size() - from, extreme.size() );
+                    assertEquals( "extreme at " + i, all, extreme.get(), 0D );
+                    assertEquals( "defined extreme at " + i, defined, extreme.extreme(), 0D );
+                    assertEquals( "undefined at " + i, undefined, extreme.undefined() );
+                    if ( age >= 0 )
+                    {
+                        assertEquals( "age at " + i, age, extreme.age() );
+                    }
+                }
+                extreme.clear();
+                assertEquals( 0, extreme.size() );
+                extreme.add( 3D );
+                assertEquals( 3D, extreme.get(), 0D );
+                assertEquals( 0, extreme.age() );
+            }
+        }
+    }
+}
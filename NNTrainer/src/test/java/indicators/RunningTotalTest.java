@@ -0,0 +1,90 @@
+package indicators;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the running totals of a stream against summing its latest values directly.
+ */
+public class RunningTotalTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RunningTotalTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( RunningTotalTest.class );
+    }
+
+    /**
+     * Every sum of the latest values matches summing them directly, across many resums and with the odd NaN or
+     * infinite value only affecting the sums which hold it
+     */
+    public void testSumsMatchDirectSums()
+    {
+        for ( int capacity : new int[] { 1, 3, 48 } )
+        {
+            Random r = new Random( capacity );
+            RunningTotal total = new RunningTotal( capacity );
+            ArrayList<Double> added = new ArrayList<Double>();
+            for ( int i = 0; i < 1000; i++ )
+            {
+                int odd = r.nextInt( 60 );
+                double value = odd == 0 ? Double.NaN : odd == 1 ? Double.POSITIVE_INFINITY : r.nextDouble() * 1e6;
+                total.add( value );
+                added.add( value );
+                assertEquals( Math.min( i + 1, capacity ), total.size() );
+                for ( int periods = 0; periods <= total.size(); periods++ )
+                {
+                    double expected = 0D;
+                    for ( int j = added.size() - periods; j < added.size(); j++ )
+                    {
+                        expected += added.get( j );
+                    }
+                    assertEquals( "sum of " + periods + " at " + i, expected, total.sum( periods ), Math.abs( expected ) * 1e-12 );
+                }
+            }
+            try
+            {
+                total.sum( capacity + 1 );
+                fail( "only capacity values are kept" );
+            }
+            catch ( ArrayIndexOutOfBoundsException e )
+            {
+            }
+        }
+    }
+
+    /**
+     * Once cleared, the totals start again from the next value
+     */
+    public void testClear()
+    {
+        RunningTotal total = new RunningTotal( 4 );
+        for ( int i = 0; i < 6; i++ )
+        {
+            total.add( i );
+        }
+        total.clear();
+        assertEquals( 0, total.size() );
+        total.add( 2D );
+        total.add( 3D );
+        assertEquals( 5D, total.sum( 2 ), 0D );
+        assertEquals( 3D, total.sum( 1 ), 0D );
+    }
+}
@@ -0,0 +1,58 @@
+package stocks;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the one pass aroon series against the Candlestick versions.
+ */
+public class AroonSeriesTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public AroonSeriesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( AroonSeriesTest.class );
+    }
+
+    /**
+     * Every lookup gives the same result, or runs out of candles in the same place, as the Candlestick version
+     */
+    public void testLookupsMatchCandlestick() throws Exception
+    {
+        for ( int length : new int[] { 1, 3, Candlestick.AROON_DEFAULT_PERIODS } )
+        {
+            final int periods = length;
+            final Candlestick[] candles = TestCandles.tiedHighsAndLows( length, 500 );
+            final AroonSeries series = new AroonSeries( candles, periods );
+            for ( int e = 0; e <= candles.length; e++ )
+            {
+                final int end = e;
+                final Candlestick[] past = Arrays.copyOfRange( candles, 0, end );
+                String up = TestCandles.result( () -> Candlestick.calculateAroonUp( past, periods ) );
+                String down = TestCandles.result( () -> Candlestick.calculateAroonDown( past, periods ) );
+                assertEquals( up, TestCandles.result( () -> series.up( end - 1 ) ) );
+                assertEquals( down, TestCandles.result( () -> series.down( end - 1 ) ) );
+                if ( !up.equals( "out of bounds" ) )
+                {
+                    assertEquals( Double.parseDouble( up ) - Double.parseDouble( down ), series.delta( end - 1 ) );
+                }
+            }
+        }
+    }
+}
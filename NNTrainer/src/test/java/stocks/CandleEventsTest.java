@@ -0,0 +1,78 @@
+package stocks;
+
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the event counts and volume peaks against scanning the candles.
+ */
+public class CandleEventsTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public CandleEventsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( CandleEventsTest.class );
+    }
+
+    /**
+     * The counts in every window match totalPumps and totalDumps
+     */
+    public void testCountsMatchTotals()
+    {
+        Candlestick[] candles = TestCandles.jumpyCandles( 1, 300 );
+        CandleEvents events = new CandleEvents( candles );
+        for ( int from = 0; from <= candles.length; from += 7 )
+        {
+            for ( int to = from; to <= candles.length; to += 5 )
+            {
+                assertEquals( Candlestick.totalPumps( candles, from, to ), events.pumps( from, to ) );
+                assertEquals( Candlestick.totalDumps( candles, from, to ), events.dumps( from, to ) );
+            }
+        }
+        try
+        {
+            events.pumps( -1, 10 );
+            fail( "a window before the first candle has no count" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+    }
+
+    /**
+     * The previous volume is the latest earlier candle with at least the volume, skipping NaNs
+     */
+    public void testPreviousVolumeMatchesScan()
+    {
+        Candlestick[] candles = TestCandles.jumpyCandles( 2, 500 );
+        CandleEvents events = new CandleEvents( candles );
+        for ( int i = 0; i < candles.length; i++ )
+        {
+            int expected = -1;
+            for ( int j = i - 1; j >= 0; j-- )
+            {
+                if ( candles[j].volume >= candles[i].volume )
+                {
+                    expected = j;
+                    break;
+                }
+            }
+            assertEquals( expected, events.previousVolume( i ) );
+        }
+    }
+}
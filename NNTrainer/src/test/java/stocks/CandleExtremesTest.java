@@ -0,0 +1,69 @@
+package stocks;
+
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the window extremes against scanning the candles.
+ */
+public class CandleExtremesTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public CandleExtremesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( CandleExtremesTest.class );
+    }
+
+    /**
+     * Every window matches high, low, highOpen, lowOpen, highOpenIndex and lowOpenIndex
+     */
+    public void testWindowsMatchScan()
+    {
+        Candlestick[] candles = TestCandles.tiedOpens( 1, 400 );
+        CandleExtremes extremes = new CandleExtremes( candles );
+        for ( int from = 0; from <= candles.length; from += 3 )
+        {
+            for ( int to = from; to <= candles.length; to += 2 )
+            {
+                assertEquals( Candlestick.high( candles, from, to ), extremes.high( from, to ) );
+                assertEquals( Candlestick.low( candles, from, to ), extremes.low( from, to ) );
+                assertEquals( Candlestick.highOpen( candles, from, to ), extremes.highOpen( from, to ) );
+                assertEquals( Candlestick.lowOpen( candles, from, to ), extremes.lowOpen( from, to ) );
+                assertEquals( Candlestick.highOpenIndex( candles, from, to ), extremes.highOpenIndex( from, to ) );
+                assertEquals( Candlestick.lowOpenIndex( candles, from, to ), extremes.lowOpenIndex( from, to ) );
+            }
+        }
+    }
+
+    /**
+     * A window running past the last candle fails as the scan does
+     */
+    public void testWindowPastEnd()
+    {
+        Candlestick[] candles = TestCandles.tiedOpens( 2, 50 );
+        CandleExtremes extremes = new CandleExtremes( candles );
+        try
+        {
+            extremes.highOpenIndex( 40, 51 );
+            fail( "there is no candle at 50" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package stocks;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the running volume totals against summing the candles directly.
+ */
+public class CandleSumsTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public CandleSumsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( CandleSumsTest.class );
+    }
+
+    private static void assertClose( double expected, double actual )
+    {
+        if ( Double.isNaN( expected ) || Double.isInfinite( expected ) )
+        {
+            assertEquals( expected, actual );
+        }
+        else
+        {
+            assertEquals( expected, actual, Math.max( 1, Math.abs( expected ) ) * 1e-12 );
+        }
+    }
+
+    /**
+     * Every window matches getVolSum and weightedAverage
+     */
+    private static void assertWindowsMatch( Candlestick[] candles )
+    {
+        CandleSums sums = new CandleSums( candles );
+        for ( int from = 0; from < candles.length; from += 3 )
+        {
+            for ( int to = from + 1; to <= candles.length; to += 4 )
+            {
+                assertClose( Candlestick.getVolSum( candles, from, to ), sums.volume( from, to ) );
+                assertClose( Candlestick.weightedAverage( candles, from, to ), sums.weightedAverage( from, to ) );
+            }
+        }
+    }
+
+    public void testWindowsMatchSums()
+    {
+        assertWindowsMatch( TestCandles.candleWalk( 1, 300 ) );
+    }
+
+    /**
+     * A NaN or infinite volume or weighted average only spoils the windows holding it, not every window after it
+     */
+    public void testUndefinedValuesStayInTheirWindows()
+    {
+        double[] specials = { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+        for ( double special : specials )
+        {
+            Candlestick[] candles = TestCandles.candleWalk( 2, 300 );
+            candles[10].volume = special;
+            candles[150].weightedAverage = special;
+            candles[151].volume = 0;
+            assertWindowsMatch( candles );
+            CandleSums sums = new CandleSums( candles );
+            assertFalse( Double.isNaN( sums.volume( 200, 250 ) ) || Double.isInfinite( sums.volume( 200, 250 ) ) );
+            assertFalse( Double.isNaN( sums.weightedAverage( 200, 250 ) ) );
+            assertEquals( Candlestick.getVolSum( candles, 200, 250 ), sums.volume( 200, 250 ), 1e-12 );
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package stocks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the range overloads of the Candlestick indicators against the indicators on a copy of the range.
+ */
+public class CandlestickTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public CandlestickTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( CandlestickTest.class );
+    }
+
+    private interface Indicator
+    {
+        Object get( Candlestick[] candles, int from, int to );
+    }
+
+    /**
+     * Every range overload gives the same result, or runs out of candles, as the indicator on a copy of the range
+     */
+    public void testRangesMatchCopies() throws Exception
+    {
+        Candlestick[] candles = TestCandles.candleWalk( 7, 200 );
+        Indicator[][] indicators = {
+            { ( c, f, t ) -> Candlestick.calculateRSI( c, f, t ), ( c, f, t ) -> Candlestick.calculateRSI( c ) },
+            { ( c, f, t ) -> Candlestick.calculateStochRSI( c, f, t ), ( c, f, t ) -> Candlestick.calculateStochRSI( c ) },
+            { ( c, f, t ) -> Candlestick.calculateAroonUp( c, f, t ), ( c, f, t ) -> Candlestick.calculateAroonUp( c ) },
+            { ( c, f, t ) -> Candlestick.calculateAroonDown( c, f, t ), ( c, f, t ) -> Candlestick.calculateAroonDown( c ) },
+            { ( c, f, t ) -> Candlestick.calculateTwiggsMoneyFlow( c, f, t ), ( c, f, t ) -> Candlestick.calculateTwiggsMoneyFlow( c ) },
+            { ( c, f, t ) -> Candlestick.calculateMACDHist( c, f, t ), ( c, f, t ) -> Candlestick.calculateMACDHist( c ) },
+            { ( c, f, t ) -> Candlestick.calculateStandardisedDPO( c, f, t ), ( c, f, t ) -> Candlestick.calculateStandardisedDPO( c ) },
+            { ( c, f, t ) -> Candlestick.percOutsideBollingerBand( c, f, t, 10 ), ( c, f, t ) -> Candlestick.percOutsideBollingerBand( c, 10 ) },
+            { ( c, f, t ) -> Candlestick.stability( c, f, t ), ( c, f, t ) -> Candlestick.stability( c ) },
+            { ( c, f, t ) -> Candlestick.weightedAverage( c, f, t ), ( c, f, t ) -> Candlestick.weightedAverage( c ) },
+            { ( c, f, t ) -> Candlestick.high( c, f, t ), ( c, f, t ) -> Candlestick.high( c ) },
+            { ( c, f, t ) -> Candlestick.lowOpen( c, f, t ), ( c, f, t ) -> Candlestick.lowOpen( c ) },
+            { ( c, f, t ) -> Candlestick.lowOpenIndex( c, f, t ), ( c, f, t ) -> Candlestick.lowOpenIndex( c ) },
+            { ( c, f, t ) -> Candlestick.ichimokuSignal( c, f, t, 9, 26 ), ( c, f, t ) -> Candlestick.ichimokuSignal( c ) },
+        };
+        Random r = new Random( 11 );
+        for ( int i = 0; i < 200; i++ )
+        {
+            int from = r.nextInt( candles.length );
+            int to = from + r.nextInt( candles.length - from + 1 );
+            Candlestick[] copy = Arrays.copyOfRange( candles, from, to );
+            for ( Indicator[] indicator : indicators )
+            {
+                assertEquals( TestCandles.result( () -> indicator[1].get( copy, 0, copy.length ) ), TestCandles.result( () -> indicator[0].get( candles, from, to ) ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package stocks;
+
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the crossings and next exits against walking forward with Numerics.EMA and Numerics.SMA.
+ */
+public class CrossoverSeriesTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public CrossoverSeriesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( CrossoverSeriesTest.class );
+    }
+
+    private static double ema( double[] closes, int index, int length )
+    {
+        return Numerics.EMA( closes, 0, index + 1, length );
+    }
+
+    private static double sma( double[] closes, int index, int length )
+    {
+        return Numerics.SMA( closes, index + 1 - length, index + 1 );
+    }
+
+    /**
+     * The EMA crosses over the SMA, and next drops below it, where walking forward finds it
+     */
+    public void testEMAOverSMAMatchesWalk()
+    {
+        final Candlestick[] candles = TestCandles.closeWalk( 1, 1000 );
+        double[] closes = Candlestick.closePrices( candles );
+        final CrossoverSeries series = CrossoverSeries.emaOverSMA( candles, 10, 15 );
+        int ups = 0;
+        for ( int e = 20; e < candles.length; e++ )
+        {
+            final int i = e;
+            boolean up = ema( closes, i - 1, 10 ) < sma( closes, i - 1, 15 ) && ema( closes, i, 10 ) > sma( closes, i, 15 );
+            boolean down = ema( closes, i - 1, 10 ) > sma( closes, i - 1, 15 ) && ema( closes, i, 10 ) < sma( closes, i, 15 );
+            assertEquals( up, series.crossedUp( i ) );
+            assertEquals( down, series.crossedDown( i ) );
+            if ( up )
+            {
+                assertEquals( i, series.crossUps()[ups++] );
+            }
+
+            int below = i + 1;
+            while ( below < candles.length && !( ema( closes, below, 10 ) < sma( closes, below, 15 ) ) )
+            {
+                below++;
+            }
+            int crossDown = i + 1;
+            while ( crossDown < candles.length && !( ema( closes, crossDown - 1, 10 ) > sma( closes, crossDown - 1, 15 )
+                && ema( closes, crossDown, 10 ) < sma( closes, crossDown, 15 ) ) )
+            {
+                crossDown++;
+            }
+            assertEquals( below, next( () -> series.nextBelow( i ), candles.length ) );
+            assertEquals( crossDown, next( () -> series.nextCrossDown( i ), candles.length ) );
+        }
+        assertEquals( ups, series.crossUps().length );
+    }
+
+    /**
+     * The closes next stop being above and below their EMA where walking forward finds it
+     */
+    public void testCloseOverEMAMatchesWalk()
+    {
+        final Candlestick[] candles = TestCandles.closeWalk( 2, 1000 );
+        double[] closes = Candlestick.closePrices( candles );
+        final CrossoverSeries series = CrossoverSeries.closeOverEMA( candles, 6 );
+        for ( int e = 11; e < candles.length; e++ )
+        {
+            final int i = e;
+            int notAbove = i + 1;
+            while ( notAbove < candles.length && ema( closes, notAbove, 6 ) < closes[notAbove] )
+            {
+                notAbove++;
+            }
+            int notBelow = i + 1;
+            while ( notBelow < candles.length && ema( closes, notBelow, 6 ) > closes[notBelow] )
+            {
+                notBelow++;
+            }
+            assertEquals( ema( closes, i, 6 ), series.slow( i ) );
+            assertEquals( notAbove, next( () -> series.nextNotAbove( i ), candles.length ) );
+            assertEquals( notBelow, next( () -> series.nextNotBelow( i ), candles.length ) );
+        }
+    }
+
+    private interface Next
+    {
+        int get();
+    }
+
+    /**
+     * The next index, or the number of candles if walking forward runs out of them
+     */
+    private static int next( Next next, int length )
+    {
+        try
+        {
+            return next.get();
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+            return length;
+        }
+    }
+}
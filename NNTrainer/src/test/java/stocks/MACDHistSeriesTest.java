@@ -0,0 +1,56 @@
+package stocks;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the precomputed MACD-histogram lookups against the Candlestick versions.
+ */
+public class MACDHistSeriesTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public MACDHistSeriesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( MACDHistSeriesTest.class );
+    }
+
+    /**
+     * Every lookup gives the same result, or runs out of candles in the same place, as the Candlestick version
+     */
+    public void testLookupsMatchCandlestick() throws Exception
+    {
+        final Candlestick[] candles = TestCandles.closeWalk( 3, 400 );
+        final MACDHistSeries series = new MACDHistSeries( candles );
+        for ( int e = MACDHistSeries.FIRST_MACD; e <= candles.length; e++ )
+        {
+            final int end = e;
+            final Candlestick[] past = Arrays.copyOfRange( candles, 0, end );
+            assertEquals( TestCandles.result( () -> Candlestick.calculateMACDHist( past ) ), TestCandles.result( () -> series.get( end - 1 ) ) );
+            assertEquals( TestCandles.result( () -> Candlestick.calculateStanMACDHist( past ) ), TestCandles.result( () -> series.stanMACDHist( end ) ) );
+            assertEquals( TestCandles.result( () -> Candlestick.calculateMACDHistSells( past ) ), TestCandles.result( () -> series.sells( end ) ) );
+            assertEquals( TestCandles.result( () -> Candlestick.calculateMACDHistBuys( past ) ), TestCandles.result( () -> series.buys( end ) ) );
+            assertEquals( TestCandles.result( () -> Candlestick.calculateMACDHistSellsOffset( past ) ), TestCandles.result( () -> series.sellsOffset( end ) ) );
+            assertEquals( TestCandles.result( () -> Candlestick.calculateMACDHistBuysOffset( past ) ), TestCandles.result( () -> series.buysOffset( end ) ) );
+            if ( end < candles.length - 40 )
+            {
+                assertEquals( TestCandles.result( () -> Candlestick.calculateMACDHistNextSellsIndex( candles, end - 1 ) ), TestCandles.result( () -> series.nextSellsIndex( end - 1 ) ) );
+            }
+        }
+    }
+}
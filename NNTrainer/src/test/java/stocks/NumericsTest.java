@@ -0,0 +1,136 @@
+package stocks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import csvutils.Kernels;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the EMA kernels in Numerics.
+ */
+public class NumericsTest 
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public NumericsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( NumericsTest.class );
+    }
+
+    /**
+     * The original recursive EMA, seeded with the SMA of the length values before the last length values
+     */
+    private static double recursiveEMA( double[] nums, int length, double remainder )
+    {
+        double k = 2D / ( (double) length + 1D );
+        if ( remainder != 1 ) {
+            return nums[nums.length - 1] * k + ( 1D - k ) * recursiveEMA( Arrays.copyOfRange( nums, 0, nums.length - 1 ), length, remainder - 1 );
+        } else {
+            return nums[nums.length - 1] * k + ( 1D - k ) * Numerics.SMA( Arrays.copyOfRange( nums, nums.length - 1 - length, nums.length - 1 ) );
+        }
+    }
+
+    private static double[] randomWalk( long seed, int size )
+    {
+        Random r = new Random( seed );
+        double[] nums = new double[size];
+        double price = 100D;
+        for ( int i = 0; i < size; i ++ ) {
+            price *= 1D + r.nextGaussian() * 0.02D;
+            nums[i] = price;
+        }
+        return nums;
+    }
+
+    /**
+     * The iterative EMA matches the recursive one exactly
+     */
+    public void testEMAMatchesRecursive()
+    {
+        double[] nums = randomWalk( 1L, 300 );
+        for ( int length : new int[] { 1, 2, 9, 10, 14, 21, 26 } ) {
+            for ( int end = 2 * length; end <= nums.length; end += 7 ) {
+                double[] prefix = Arrays.copyOfRange( nums, 0, end );
+                assertEquals( recursiveEMA( prefix, length, length ), Numerics.EMA( prefix, length ), 0D );
+            }
+        }
+    }
+
+    /**
+     * Too little history to seed the EMA fails the same way the recursive EMA did
+     */
+    public void testEMARequiresSeed()
+    {
+        try {
+            Numerics.EMA( randomWalk( 2L, 25 ), 13 );
+            fail( "Expected ArrayIndexOutOfBoundsException" );
+        } catch ( ArrayIndexOutOfBoundsException e ) { }
+    }
+
+    /**
+     * Every value in the EMA series matches the EMA of the prefix ending there
+     */
+    public void testEMASeriesMatchesEMA()
+    {
+        double[] nums = randomWalk( 3L, 2000 );
+        for ( int length : new int[] { 1, 9, 10, 26 } ) {
+            double[] emas = Numerics.EMASeries( nums, length );
+            assertEquals( nums.length, emas.length );
+            for ( int i = 0; i < nums.length; i ++ ) {
+                if ( i < 2 * length - 1 ) {
+                    assertTrue( Double.isNaN( emas[i] ) );
+                } else {
+                    double expected = Numerics.EMA( Arrays.copyOfRange( nums, 0, i + 1 ), length );
+                    assertEquals( expected, emas[i], Math.abs( expected ) * 1e-12 );
+                }
+            }
+        }
+    }
+
+    /**
+     * A series shorter than the seed window is all NaN
+     */
+    public void testEMASeriesShortInput()
+    {
+        double[] emas = Numerics.EMASeries( randomWalk( 4L, 5 ), 3 );
+        for ( double ema : emas ) {
+            assertTrue( Double.isNaN( ema ) );
+        }
+    }
+
+    /**
+     * The trend of a range is the pearsons correlation against time of a copy of the range, and the running totals agree with it.
+     * The vector kernels add up in a different order to trend, so only agree to within rounding
+     */
+    public void testTrendMatchesPearsons()
+    {
+        double[] nums = randomWalk( 5L, 600 );
+        Arrays.fill( nums, 200, 260, nums[200] );
+        RollingMoments moments = new RollingMoments( nums );
+        for ( int length : new int[] { 0, 1, 2, 12, 48, 300 } ) {
+            for ( int from = 0; from + length <= nums.length; from += 7 ) {
+                double[] range = Arrays.copyOfRange( nums, from, from + length );
+                double expected = Numerics.pearsons( Numerics.generateTime( range ), range );
+                assertEquals( expected, Numerics.trend( nums, from, from + length ), Kernels.VECTORISED ? 1e-12 : 0D );
+                assertEquals( expected, Numerics.pearsons( range, Numerics.generateTime( range ) ) );
+                assertEquals( expected, moments.trend( from, from + length ), 1e-12 );
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package stocks;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the stochastic, RVI and DPO series against the Candlestick versions.
+ */
+public class OscillatorSeriesTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public OscillatorSeriesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( OscillatorSeriesTest.class );
+    }
+
+    /**
+     * The stochastic and its histogram match the Candlestick versions exactly
+     */
+    public void testStochasticMatchesCandlestick()
+    {
+        Candlestick[] candles = TestCandles.flatCandleWalk( 1, 300 );
+        StochasticSeries series = new StochasticSeries( candles, new CandleExtremes( candles ) );
+        for ( int i = StochasticSeries.FIRST_STOCHASTIC; i < candles.length; i++ )
+        {
+            Candlestick[] past = Arrays.copyOfRange( candles, 0, i + 1 );
+            assertEquals( Candlestick.calculateStochastic( past ), series.get( i ) );
+            if ( i >= StochasticSeries.FIRST_SIGNAL )
+            {
+                assertEquals( Candlestick.calculateStochasticHist( past ), series.hist( i ) );
+            }
+        }
+        try
+        {
+            series.hist( StochasticSeries.FIRST_SIGNAL - 1 );
+            fail( "there are not enough stochastics for a signal" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+    }
+
+    /**
+     * The RVI, its histogram and the standardised DPO match the Candlestick versions
+     */
+    public void testRVIAndDPOMatchCandlestick()
+    {
+        Candlestick[] candles = TestCandles.flatCandleWalk( 2, 300 );
+        RVISeries rvis = new RVISeries( candles );
+        DPOSeries dpos = new DPOSeries( candles );
+        for ( int i = 0; i < candles.length; i++ )
+        {
+            Candlestick[] past = Arrays.copyOfRange( candles, 0, i + 1 );
+            assertEquals( Candlestick.calculateRVI( past ), rvis.get( i ) );
+            if ( i >= RVISeries.FIRST_HIST )
+            {
+                assertEquals( Candlestick.calculateRVIHist( past ), rvis.hist( i ), 1e-15 );
+            }
+            if ( i >= DPOSeries.FIRST_DPO )
+            {
+                assertEquals( Candlestick.calculateStandardisedDPO( past ), dpos.get( i ), 1e-12 );
+            }
+        }
+        try
+        {
+            dpos.get( DPOSeries.FIRST_DPO - 1 );
+            fail( "there are not enough closes for a DPO" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package stocks;
+
+import java.util.Random;
+
+import csvutils.Stat;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the rolling means and standard deviations against Numerics.getStat.
+ */
+public class RollingMomentsTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public RollingMomentsTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( RollingMomentsTest.class );
+    }
+
+    private static void assertStat( Stat expected, Stat actual )
+    {
+        assertEquals( expected.mean, actual.mean, Math.abs( expected.mean ) * 1e-12 );
+        assertEquals( expected.std, actual.std, Math.abs( expected.std ) * 1e-12 );
+    }
+
+    /**
+     * Every window of the closes, volumes and weighted averages matches getStat on the window
+     */
+    public void testCandleMomentsMatchGetStat()
+    {
+        Candlestick[] candles = TestCandles.candleWalk( 1, 2000 );
+        CandleMoments moments = new CandleMoments( candles );
+        double[] closes = Candlestick.closePrices( candles );
+        double[] volumes = Candlestick.volumes( candles );
+        double[] weightedAverages = Candlestick.weightedAverages( candles );
+        for ( int from = 0; from < candles.length; from += 37 )
+        {
+            for ( int to = from; to <= candles.length; to += 29 )
+            {
+                assertStat( Numerics.getStat( closes, from, to ), moments.closes.getStat( from, to ) );
+                assertStat( Numerics.getStat( volumes, from, to ), moments.volumes.getStat( from, to ) );
+                assertStat( Numerics.getStat( weightedAverages, from, to ), moments.weightedAverages.getStat( from, to ) );
+            }
+            assertStat( Numerics.getStat( closes, from, from + 1 ), moments.closes.getStat( from, from + 1 ) );
+        }
+    }
+
+    /**
+     * A flat run after large, varied values is too close together for the running totals, so is worked out directly,
+     * giving exactly what getStat does
+     */
+    public void testFlatWindowsWorkedOutDirectly()
+    {
+        Random r = new Random( 2 );
+        double[] nums = new double[1000];
+        for ( int i = 0; i < nums.length; i++ )
+        {
+            nums[i] = i < 500 ? r.nextDouble() * 1e6 : 0.01;
+        }
+        RollingMoments moments = new RollingMoments( nums );
+        for ( int from = 500; from < nums.length; from += 13 )
+        {
+            for ( int to = from + 2; to <= nums.length; to += 11 )
+            {
+                Stat expected = Numerics.getStat( nums, from, to );
+                Stat actual = moments.getStat( from, to );
+                assertEquals( expected.mean, actual.mean );
+                assertEquals( expected.std, actual.std );
+            }
+        }
+    }
+
+    /**
+     * Values wobbling in their last few digits around a large price keep their small deviation to within the bound
+     */
+    public void testNearConstantWindowsKeepTheirDeviation()
+    {
+        Random r = new Random( 3 );
+        double[] nums = new double[3000];
+        for ( int i = 0; i < nums.length; i++ )
+        {
+            nums[i] = 1e6 + r.nextDouble() * ( i < 1000 ? 1e3 : 1e-6 );
+        }
+        RollingMoments moments = new RollingMoments( nums );
+        for ( int from = 1000; from < nums.length; from += 41 )
+        {
+            for ( int to = from + 2; to <= nums.length; to += 53 )
+            {
+                Stat expected = Numerics.getStat( nums, from, to );
+                Stat actual = moments.getStat( from, to );
+                assertTrue( actual.std > 0D );
+                assertEquals( expected.std, actual.std, expected.std * 1e-9 );
+                assertEquals( expected.mean, actual.mean, expected.mean * 1e-15 );
+            }
+        }
+    }
+}
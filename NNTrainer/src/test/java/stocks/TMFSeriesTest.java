@@ -0,0 +1,106 @@
+package stocks;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for the twiggs money flow series against the Candlestick versions.
+ */
+public class TMFSeriesTest
+    extends TestCase
+{
+    private static final int GRAPH_PERIODS = 24;
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public TMFSeriesTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( TMFSeriesTest.class );
+    }
+
+    private static void assertMatchesCandlestick( Candlestick[] candles )
+    {
+        TMFSeries series = new TMFSeries( candles );
+        for ( int i = TMFSeries.FIRST_TMF; i < candles.length; i++ )
+        {
+            Candlestick[] past = Arrays.copyOfRange( candles, 0, i + 1 );
+            assertEquals( "tmf " + i, Candlestick.calculateTwiggsMoneyFlow( past ), series.get( i ), 1e-12 );
+            if ( i + 1 - GRAPH_PERIODS >= TMFSeries.FIRST_TMF )
+            {
+                double[] expected = Candlestick.calculateTMFGraph( past, GRAPH_PERIODS );
+                double[] actual = series.graph( i, GRAPH_PERIODS );
+                assertEquals( expected.length, actual.length );
+                for ( int j = 0; j < expected.length; j++ )
+                {
+                    assertEquals( "tmf graph " + i, expected[j], actual[j], 1e-12 );
+                }
+            }
+        }
+    }
+
+    /**
+     * With every accumulation defined, the TMFs worked out from the sliding EMAs match the Candlestick versions
+     */
+    public void testTMFMatchesCandlestick()
+    {
+        assertMatchesCandlestick( TestCandles.candleWalk( 1, 600 ) );
+    }
+
+    /**
+     * Flat candles have undefined accumulations, which are interpolated in windows holding them and must not affect the
+     * TMFs of windows they have left
+     */
+    public void testTMFWithUndefinedAccumulationsMatchesCandlestick()
+    {
+        for ( long seed = 2; seed < 5; seed++ )
+        {
+            assertMatchesCandlestick( TestCandles.flatCandleWalk( seed, 600 ) );
+        }
+    }
+
+    /**
+     * There is no TMF without enough history, nor past the end of the candles
+     */
+    public void testTMFOutOfRange()
+    {
+        TMFSeries series = new TMFSeries( TestCandles.candleWalk( 5, 200 ) );
+        try
+        {
+            series.get( TMFSeries.FIRST_TMF - 1 );
+            fail( "there is not enough history for a TMF" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+        try
+        {
+            series.graph( TMFSeries.FIRST_TMF, 2 );
+            fail( "the graph starts before the first TMF" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+        try
+        {
+            series.get( 200 );
+            fail( "there are only 200 candles" );
+        }
+        catch ( ArrayIndexOutOfBoundsException e )
+        {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package stocks;
+
+import java.util.Random;
+
+/**
+ * Candle streams and lookup helpers shared by the unit tests comparing precomputed series against the Candlestick versions.
+ */
+public class TestCandles
+{
+    private TestCandles()
+    {
+    }
+
+    /**
+     * Closes only, wandering around a small price
+     */
+    public static Candlestick[] closeWalk( long seed, int n )
+    {
+        Random r = new Random( seed );
+        Candlestick[] candles = new Candlestick[n];
+        double price = 0.01;
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i] = new Candlestick();
+            candles[i].close = price = price * ( 1 + r.nextGaussian() * 0.01 );
+        }
+        return candles;
+    }
+
+    /**
+     * Whole candles wandering around a small price, with volumes and weighted averages
+     */
+    public static Candlestick[] candleWalk( long seed, int n )
+    {
+        Random r = new Random( seed );
+        Candlestick[] candles = new Candlestick[n];
+        double price = 0.01;
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i] = new Candlestick();
+            candles[i].open = price;
+            candles[i].close = price = price * ( 1 + r.nextGaussian() * 0.03 );
+            candles[i].high = Math.max( candles[i].open, candles[i].close ) * ( 1 + r.nextDouble() * 0.01 );
+            candles[i].low = Math.min( candles[i].open, candles[i].close ) * ( 1 - r.nextDouble() * 0.01 );
+            candles[i].volume = r.nextDouble() * 100;
+            candles[i].weightedAverage = ( candles[i].high + candles[i].low ) / 2;
+        }
+        return candles;
+    }
+
+    /**
+     * Candles wandering around a small price, with the odd flat candle and the odd candle with no volume
+     */
+    public static Candlestick[] flatCandleWalk( long seed, int n )
+    {
+        Random r = new Random( seed );
+        Candlestick[] candles = new Candlestick[n];
+        double price = 0.01;
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i] = new Candlestick();
+            candles[i].open = price;
+            candles[i].close = price = price * ( 1 + r.nextGaussian() * 0.01 );
+            boolean flat = r.nextInt( 20 ) == 0;
+            candles[i].high = flat ? candles[i].open : Math.max( candles[i].open, candles[i].close ) * ( 1 + r.nextDouble() * 0.005 );
+            candles[i].low = flat ? candles[i].open : Math.min( candles[i].open, candles[i].close ) * ( 1 - r.nextDouble() * 0.005 );
+            candles[i].volume = r.nextInt( 10 ) == 0 ? 0 : r.nextDouble() * 100;
+        }
+        return candles;
+    }
+
+    /**
+     * Highs and lows rounded to a few ticks so they are often tied, with the odd zero or NaN low and NaN or negative high
+     */
+    public static Candlestick[] tiedHighsAndLows( long seed, int n )
+    {
+        Random r = new Random( seed );
+        Candlestick[] candles = new Candlestick[n];
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i] = new Candlestick();
+            candles[i].high = r.nextInt( 8 ) + 1;
+            candles[i].low = r.nextInt( 8 ) + 1;
+            int odd = r.nextInt( 40 );
+            if ( odd == 0 ) candles[i].low = 0D;
+            if ( odd == 1 ) candles[i].low = Double.NaN;
+            if ( odd == 2 ) candles[i].high = Double.NaN;
+            if ( odd == 3 ) candles[i].high = -1D;
+        }
+        return candles;
+    }
+
+    /**
+     * Opens rounded so they are often tied, with highs and lows a few ticks either side, the odd zero and the odd NaN
+     */
+    public static Candlestick[] tiedOpens( long seed, int n )
+    {
+        Random r = new Random( seed );
+        Candlestick[] candles = new Candlestick[n];
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i] = new Candlestick();
+            candles[i].open = r.nextInt( 40 ) == 0 ? Double.NaN : r.nextInt( 8 );
+            candles[i].high = candles[i].open + r.nextInt( 3 );
+            candles[i].low = r.nextInt( 50 ) == 0 ? Double.NaN : Math.max( candles[i].open - r.nextInt( 3 ), 0 );
+            candles[i].close = candles[i].open;
+        }
+        return candles;
+    }
+
+    /**
+     * Candles jumping by up to 10% either way, with volumes rounded so they are often tied and the odd NaN volume
+     */
+    public static Candlestick[] jumpyCandles( long seed, int n )
+    {
+        Random r = new Random( seed );
+        Candlestick[] candles = new Candlestick[n];
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i] = new Candlestick();
+            candles[i].open = 1 + r.nextDouble();
+            candles[i].close = candles[i].open * ( 0.9 + r.nextDouble() * 0.2 );
+            candles[i].volume = r.nextInt( 30 ) == 0 ? Double.NaN : r.nextInt( 10 );
+        }
+        return candles;
+    }
+
+    public interface Lookup
+    {
+        Object get() throws Exception;
+    }
+
+    /**
+     * The lookup as a string, or "out of bounds" if it runs out of candles, so two versions can be compared in one assert
+     */
+    public static String result( Lookup lookup ) throws Exception
+    {
+        try
+        {
+            return String.valueOf( lookup.get() );
+        }
+        catch ( ArrayIndexOutOfBoundsException | NullPointerException e )
+        {
+            return "out of bounds";
+        }
+    }
+}
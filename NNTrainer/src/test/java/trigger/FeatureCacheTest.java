@@ -0,0 +1,129 @@
+package trigger;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for sharing the basic features of a candle between triggers.
+ */
+public class FeatureCacheTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public FeatureCacheTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( FeatureCacheTest.class );
+    }
+
+    private static double[] features( double first, int count )
+    {
+        double[] features = new double[count];
+        for ( int i = 0; i < count; i++ )
+        {
+            features[i] = first + i;
+        }
+        return features;
+    }
+
+    /**
+     * A stored block is copied back to the same slots of another vector
+     */
+    public void testHit()
+    {
+        FeatureCache cache = new FeatureCache();
+        cache.store( "poloniex", "BTC_ETH", 1800, 100L, features( 0, 6 ), 2, 4 );
+        double[] filled = new double[6];
+        assertTrue( cache.fill( "poloniex", "BTC_ETH", 1800, 100L, filled, 2, 4 ) );
+        assertEquals( 0D, filled[1] );
+        assertEquals( 2D, filled[2] );
+        assertEquals( 5D, filled[5] );
+        assertEquals( 1, cache.getHits() );
+        assertEquals( 4, cache.size() );
+    }
+
+    /**
+     * Another exchange, ticker, time period, date or block size is not filled
+     */
+    public void testMiss()
+    {
+        FeatureCache cache = new FeatureCache();
+        cache.store( "poloniex", "BTC_ETH", 1800, 100L, features( 0, 4 ), 0, 4 );
+        double[] filled = new double[4];
+        assertFalse( cache.fill( "bittrex", "BTC_ETH", 1800, 100L, filled, 0, 4 ) );
+        assertFalse( cache.fill( "poloniex", "BTC_XMR", 1800, 100L, filled, 0, 4 ) );
+        assertFalse( cache.fill( "poloniex", "BTC_ETH", 900, 100L, filled, 0, 4 ) );
+        assertFalse( cache.fill( "poloniex", "BTC_ETH", 1800, 101L, filled, 0, 4 ) );
+        assertFalse( cache.fill( "poloniex", "BTC_ETH", 1800, 100L, filled, 0, 3 ) );
+        assertEquals( 0D, filled[3] );
+        assertEquals( 5, cache.getMisses() );
+        assertEquals( 0, cache.getHits() );
+    }
+
+    /**
+     * The capacity counts values, and the least recently used candles are dropped first
+     */
+    public void testEvictsLeastRecentlyUsed()
+    {
+        FeatureCache cache = new FeatureCache( 10 );
+        double[] filled = new double[4];
+        cache.store( "poloniex", "BTC_ETH", 1800, 1L, features( 10, 4 ), 0, 4 );
+        cache.store( "poloniex", "BTC_ETH", 1800, 2L, features( 20, 4 ), 0, 4 );
+        assertEquals( 8, cache.size() );
+        assertTrue( cache.fill( "poloniex", "BTC_ETH", 1800, 1L, filled, 0, 4 ) );
+        cache.store( "poloniex", "BTC_ETH", 1800, 3L, features( 30, 4 ), 0, 4 );
+        assertEquals( 8, cache.size() );
+        assertFalse( cache.fill( "poloniex", "BTC_ETH", 1800, 2L, filled, 0, 4 ) );
+        assertTrue( cache.fill( "poloniex", "BTC_ETH", 1800, 1L, filled, 0, 4 ) );
+        assertEquals( 10D, filled[0] );
+        assertTrue( cache.fill( "poloniex", "BTC_ETH", 1800, 3L, filled, 0, 4 ) );
+        assertEquals( 33D, filled[3] );
+
+        cache.store( "poloniex", "BTC_ETH", 1800, 4L, features( 40, 11 ), 0, 11 );
+        assertEquals( 8, cache.size() );
+        assertFalse( cache.fill( "poloniex", "BTC_ETH", 1800, 4L, new double[11], 0, 11 ) );
+    }
+
+    /**
+     * Storing a candle again replaces its block without counting the old one
+     */
+    public void testRestoreReplaces()
+    {
+        FeatureCache cache = new FeatureCache( 10 );
+        cache.store( "poloniex", "BTC_ETH", 1800, 1L, features( 10, 4 ), 0, 4 );
+        cache.store( "poloniex", "BTC_ETH", 1800, 1L, features( 50, 4 ), 0, 4 );
+        assertEquals( 4, cache.size() );
+        double[] filled = new double[4];
+        assertTrue( cache.fill( "poloniex", "BTC_ETH", 1800, 1L, filled, 0, 4 ) );
+        assertEquals( 50D, filled[0] );
+    }
+
+    /**
+     * Clearing empties the cache and its counts, ready for the next cycle
+     */
+    public void testClear()
+    {
+        FeatureCache cache = new FeatureCache();
+        double[] filled = new double[4];
+        cache.store( "poloniex", "BTC_ETH", 1800, 1L, features( 0, 4 ), 0, 4 );
+        cache.fill( "poloniex", "BTC_ETH", 1800, 1L, filled, 0, 4 );
+        cache.fill( "poloniex", "BTC_ETH", 1800, 2L, filled, 0, 4 );
+        cache.clear();
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getHits() );
+        assertEquals( 0, cache.getMisses() );
+        assertFalse( cache.fill( "poloniex", "BTC_ETH", 1800, 1L, filled, 0, 4 ) );
+    }
+}
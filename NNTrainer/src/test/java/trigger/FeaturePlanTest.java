@@ -0,0 +1,69 @@
+package trigger;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for planning which of the registered features to calculate.
+ */
+public class FeaturePlanTest
+    extends TestCase
+{
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public FeaturePlanTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( FeaturePlanTest.class );
+    }
+
+    /**
+     * Everything is needed when training, looking back a month
+     */
+    public void testAllNeedsEverything()
+    {
+        assertTrue( FeaturePlan.ALL.needs( "pmmcichimokumonth" ) );
+        assertTrue( FeaturePlan.ALL.needs( "pmmctmfsix" ) );
+        assertEquals( Trigger.ONE_MONTH, FeaturePlan.ALL.getLookback() );
+    }
+
+    /**
+     * A planned feature brings in what it is worked out from, but nothing else that is registered
+     */
+    public void testDependenciesArePlanned()
+    {
+        FeaturePlan plan = FeaturePlan.of( Arrays.asList( "pmmcdifftmfpriceday", "rsi" ) );
+        assertTrue( plan.needs( "pmmcdifftmfpriceday" ) );
+        assertTrue( plan.needs( "pmmctmfday" ) );
+        assertTrue( plan.needs( "rsi" ) );
+        assertTrue( plan.needs( "pmmcpriceday" ) );
+        assertFalse( plan.needs( "pmmctmfmonth" ) );
+        assertFalse( plan.needs( "pmmcichimokuday" ) );
+        assertEquals( Trigger.ONE_DAY, plan.getLookback() );
+    }
+
+    /**
+     * Unregistered features are always needed, and a plan of none of the registered ones looks back over nothing
+     */
+    public void testUnregisteredAlwaysNeeded()
+    {
+        FeaturePlan plan = FeaturePlan.of( Collections.<String>emptyList() );
+        assertTrue( plan.needs( "volume" ) );
+        assertFalse( plan.needs( "pmmcichimokusix" ) );
+        assertEquals( 0, plan.getLookback() );
+    }
+}
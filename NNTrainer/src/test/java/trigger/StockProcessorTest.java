@@ -0,0 +1,273 @@
+package trigger;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+
+import csvutils.DataSet;
+import csvutils.FeatureVector;
+import stocks.Candlestick;
+import stocks.TestCandles;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Unit tests for extracting the feature vectors of several triggers from a stock in chunks against one pass per trigger.
+ */
+public class StockProcessorTest
+    extends TestCase
+{
+    private static final int CANDLES = 7000;
+
+    private static final long FIRST_DATE = 1500000000L / Trigger.HALF_HOUR * Trigger.HALF_HOUR;
+
+    private static final int[] MARKERS = { 2000, 4700 };
+
+    /**
+     * Create the test case
+     *
+     * @param testName name of the test case
+     */
+    public StockProcessorTest( String testName )
+    {
+        super( testName );
+    }
+
+    /**
+     * @return the suite of tests being tested
+     */
+    public static Test suite()
+    {
+        return new TestSuite( StockProcessorTest.class );
+    }
+
+    private static long date( int i )
+    {
+        return FIRST_DATE + (long) i * Trigger.HALF_HOUR;
+    }
+
+    /**
+     * Candles from candleWalk, half an hour apart from skip candles in, with no volume only on the markers
+     */
+    private static Candlestick[] datedCandles( long seed, int skip, int n )
+    {
+        Candlestick[] candles = TestCandles.candleWalk( seed, n );
+        for ( int i = 0; i < n; i++ )
+        {
+            candles[i].date = date( skip + i );
+            candles[i].volume += 1;
+            candles[i].quoteVolume = candles[i].volume / candles[i].weightedAverage;
+        }
+        for ( int marker : MARKERS )
+        {
+            candles[marker - skip].volume = 0;
+            candles[marker - skip].quoteVolume = 0;
+        }
+        return candles;
+    }
+
+    /**
+     * Fires every fifth candle, looking back 1000 candles and ahead to the next candle with no volume, which is often
+     * past the end of its chunk. Candles after the last marker run off the end and are dropped
+     */
+    public static class TriggerMarker
+        extends Trigger
+    {
+        public TriggerMarker() throws Exception
+        {
+            super( "marker", Trigger.HALF_HOUR, false );
+        }
+
+        protected void addFeaturesToDataSet( DataSet set ) throws Exception
+        {
+            set.addFeature( "close" );
+            set.addFeature( "lookback" );
+            set.addFeature( "tonextmarker" );
+        }
+
+        public boolean isTriggered( Candlestick[] candles, Candlestick[] btcCandles, int index )
+        {
+            return candles[index].date / Trigger.HALF_HOUR % 5 == 0;
+        }
+
+        protected void _calculateFeatures( Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future ) throws Exception
+        {
+            int next = index + 1;
+            while ( candles[next].volume != 0 )
+            {
+                next++;
+            }
+            fv.setFeature( "close", candles[index].close );
+            fv.setFeature( "lookback", candles[index - 1000].close );
+            fv.setFeature( "tonextmarker", next - index );
+        }
+
+        protected void _load( DataSet ds ) throws Exception
+        {
+        }
+
+        protected void _loadMax( DataSet ds ) throws Exception
+        {
+        }
+    }
+
+    /**
+     * Fires every third candle, failing only on the candle at stopDate, which stops the rest of the stock
+     */
+    public static abstract class TriggerStop
+        extends Trigger
+    {
+        private final long stopDate;
+
+        protected TriggerStop( String name, long stopDate ) throws Exception
+        {
+            super( name, Trigger.HALF_HOUR, false );
+            this.stopDate = stopDate;
+        }
+
+        protected void addFeaturesToDataSet( DataSet set ) throws Exception
+        {
+            set.addFeature( "close" );
+        }
+
+        public boolean isTriggered( Candlestick[] candles, Candlestick[] btcCandles, int index )
+        {
+            return candles[index].date / Trigger.HALF_HOUR % 3 == 0;
+        }
+
+        protected void _calculateFeatures( Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future ) throws Exception
+        {
+            if ( candles[index].date == stopDate )
+            {
+                throw new IllegalStateException( "stopped at " + candles[index].date );
+            }
+            fv.setFeature( "close", candles[index].close );
+        }
+
+        protected void _load( DataSet ds ) throws Exception
+        {
+        }
+
+        protected void _loadMax( DataSet ds ) throws Exception
+        {
+        }
+    }
+
+    /**
+     * Stops in the middle of the stock, in a chunk before the last
+     */
+    public static class TriggerStopEarly
+        extends TriggerStop
+    {
+        public TriggerStopEarly() throws Exception
+        {
+            super( "stopearly", date( 4003 ) );
+        }
+    }
+
+    /**
+     * Stops in the last chunk
+     */
+    public static class TriggerStopLate
+        extends TriggerStop
+    {
+        public TriggerStopLate() throws Exception
+        {
+            super( "stoplate", date( 6502 ) );
+        }
+    }
+
+    /**
+     * Only the basic features, on the odd candle
+     */
+    public static class TriggerBasic
+        extends Trigger
+    {
+        public TriggerBasic() throws Exception
+        {
+            this( "basic" );
+        }
+
+        protected TriggerBasic( String name ) throws Exception
+        {
+            super( name, Trigger.HALF_HOUR );
+        }
+
+        protected void addFeaturesToDataSet( DataSet set ) throws Exception
+        {
+            set.addFeature( "close" );
+        }
+
+        public boolean isTriggered( Candlestick[] candles, Candlestick[] btcCandles, int index )
+        {
+            return candles[index].date / Trigger.HALF_HOUR % 700 == 0;
+        }
+
+        protected void _calculateFeatures( Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future ) throws Exception
+        {
+            fv.setFeature( "close", candles[index].close );
+        }
+
+        protected void _load( DataSet ds ) throws Exception
+        {
+        }
+
+        protected void _loadMax( DataSet ds ) throws Exception
+        {
+        }
+    }
+
+    /**
+     * Triggers on the same candles as TriggerBasic, so shares their basic features through the cache
+     */
+    public static class TriggerBasicOther
+        extends TriggerBasic
+    {
+        public TriggerBasicOther() throws Exception
+        {
+            super( "basicother" );
+        }
+    }
+
+    /**
+     * The vectors of trigger from one pass over the candles, in csv format
+     */
+    private static String sequential( Candlestick[] candles, Candlestick[] btcCandles, Trigger trigger ) throws Exception
+    {
+        StockProcessor.processStocks( candles, btcCandles, trigger, "BTC_ABC" );
+        StringWriter sw = new StringWriter();
+        BufferedWriter bw = new BufferedWriter( sw );
+        trigger.getDataSet().flush( bw );
+        bw.close();
+        return sw.toString();
+    }
+
+    /**
+     * However many chunks the stock is split into, each trigger writes exactly the vectors it would in one pass over the
+     * stock, including candles needing to look past the end of their chunk and triggers stopping partway
+     */
+    public void testChunksMatchOnePass() throws Exception
+    {
+        Candlestick[] candles = datedCandles( 1, 0, CANDLES );
+        Candlestick[] btcCandles = datedCandles( 2, 10, CANDLES - 10 );
+        Trigger[] templates = { new TriggerMarker(), new TriggerStopEarly(), new TriggerStopLate(), new TriggerBasic(), new TriggerBasicOther() };
+        String[] expected = new String[templates.length];
+        for ( int t = 0; t < templates.length; t++ )
+        {
+            expected[t] = sequential( candles, btcCandles, templates[t].newInstance() );
+            assertTrue( expected[t].length() > 0 );
+        }
+        assertTrue( expected[1].split( "\n" ).length < expected[2].split( "\n" ).length );
+
+        for ( int chunks : new int[] { 1, 2, 3, 5, 8, 32 } )
+        {
+            String[] actual = StockProcessor.processStocks( candles, btcCandles, templates, "BTC_ABC", chunks );
+            assertEquals( templates.length, actual.length );
+            for ( int t = 0; t < templates.length; t++ )
+            {
+                assertEquals( templates[t].getName() + " in " + chunks + " chunks", expected[t], actual[t] );
+            }
+        }
+    }
+}
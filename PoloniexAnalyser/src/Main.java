@@ -1,26 +1,34 @@
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import stocks.Candlestick;
+import trigger.StockProcessor;
 import trigger.Trigger;
 import trigger.TriggerIchimoku;
 import trigger.TriggerIchimokuShort;
+import trigger.TriggerIchimokuTiny;
 import trigger.TriggerMACDShort;
 import trigger.TriggerMACDThirty;
+import trigger.TriggerMACross;
+import trigger.TriggerMACrossShort;
+import trigger.TriggerMACrossTiny;
 
 public class Main {
 	public static void main(String[] args) {
 		try {
-			/*processForStock(new TriggerMACross());
-			processForStock(new TriggerMACrossShort());
-			processForStock(new TriggerMACrossTiny());*/
-			//processForStock(new TriggerIchimoku());
-			//processForStock(new TriggerIchimokuShort());
-			processForStock(new TriggerMACDThirty());
-			//processForStock(new TriggerMACDShort());
-			//processForStock(new TriggerIchimokuTiny());
+			processForStocks(Runtime.getRuntime().availableProcessors(),
+					new TriggerMACross(), new TriggerMACrossShort(), new TriggerMACrossTiny(),
+					new TriggerIchimoku(), new TriggerIchimokuShort(), new TriggerIchimokuTiny(),
+					new TriggerMACDThirty(), new TriggerMACDShort());
 		} catch (Exception e) { e.printStackTrace(); }
 	}
 	
@@ -30,58 +38,100 @@ public class Main {
 		processStocksInDir(inputDir, t);
 	}
 
+	//As processForStock, but processing the stocks on threads threads
+	public static void processForStock(Trigger t, int threads) throws Exception {
+		processForStocks(threads, t);
+	}
+
+	//Processes the stocks once for every time period of the triggers, on threads threads, writing each trigger's vectors to
+	//its own file. Triggers at the same time period calculate the basic features of a candle they trigger on only once
+	public static void processForStocks(int threads, Trigger... triggers) throws Exception {
+		LinkedHashMap<Integer, ArrayList<Trigger>> periods = new LinkedHashMap<Integer, ArrayList<Trigger>>();
+		for (Trigger t : triggers) {
+			if (!periods.containsKey(t.getTimePeriod())) { periods.put(t.getTimePeriod(), new ArrayList<Trigger>()); }
+			periods.get(t.getTimePeriod()).add(t);
+		}
+		for (Map.Entry<Integer, ArrayList<Trigger>> period : periods.entrySet()) {
+			for (Trigger t : period.getValue()) { System.out.println("Calculating for " + t.getName()); }
+			File inputDir = new File("polo/" + period.getKey());
+			processStocksInDir(inputDir, period.getValue().toArray(new Trigger[period.getValue().size()]), threads);
+		}
+	}
+
 	public static void processStocksInDir(File inputDir, Trigger trigger) throws Exception {
 		File output = new File(trigger.getFileName());
 		ArrayList<Candlestick> btcCandles = Candlestick.loadFromFile(new File(inputDir.getPath() + "/USDT_BTC.dat"));
 		ArrayList<Candlestick> candles;
 		String ticker;
 		trigger.getDataSet().outputHeadersToFile(output);
-		for (File input : inputDir.listFiles()) {
-			if (input.getName().startsWith("BTC")) {
-				candles = Candlestick.loadFromFile(input);
-				ticker = input.getName().substring(0, input.getName().lastIndexOf("."));
-				System.out.println("Processing for: " + ticker);
-				processStocks(candles.toArray(new Candlestick[candles.size()]), btcCandles.toArray(new Candlestick[btcCandles.size()]), trigger, ticker);
-				trigger.getDataSet().flushToFile(output);
-			}
+		for (File input : tickerFiles(inputDir)) {
+			candles = Candlestick.loadFromFile(input);
+			ticker = input.getName().substring(0, input.getName().lastIndexOf("."));
+			System.out.println("Processing for: " + ticker);
+			StockProcessor.processStocks(candles.toArray(new Candlestick[candles.size()]), btcCandles.toArray(new Candlestick[btcCandles.size()]), trigger, ticker);
+			trigger.getDataSet().flushToFile(output);
 		}
 	}
 
-	public static void processStocks(Candlestick[] candles, Candlestick[] btcCandles, Trigger trigger, String ticker) {
-		if (candles.length == 0) { return; }
-		long start = btcCandles[0].getDate();
-
-		int candleStart = 0;
-		int btcStart = 0;
+	//As processStocksInDir, but processing up to threads stocks at once on a work stealing pool, each split into up to
+	//threads chunks so a long stock is spread over the threads too. The stocks are written out in the same order as
+	//processStocksInDir, and only twice as many stocks as threads are held at once, waiting on the earliest before
+	//starting any more
+	public static void processStocksInDir(File inputDir, Trigger trigger, int threads) throws Exception {
+		processStocksInDir(inputDir, new Trigger[] { trigger }, threads);
+	}
 
-		for (int i = 0; i < candles.length; i ++) {
-			if (candles[i].getDate() >= start) {
-				candleStart = i;
-				break;
+	//As above, loading each stock once for all of triggers, which must be at the same time period as the stocks
+	public static void processStocksInDir(File inputDir, final Trigger[] triggers, final int threads) throws Exception {
+		ArrayList<Candlestick> btc = Candlestick.loadFromFile(new File(inputDir.getPath() + "/USDT_BTC.dat"));
+		final Candlestick[] btcCandles = btc.toArray(new Candlestick[btc.size()]);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		ArrayDeque<Future<String[]>> pending = new ArrayDeque<Future<String[]>>();
+		BufferedWriter[] bws = new BufferedWriter[triggers.length];
+		try {
+			for (int t = 0; t < triggers.length; t ++) {
+				File output = new File(triggers[t].getFileName());
+				triggers[t].getDataSet().outputHeadersToFile(output);
+				bws[t] = new BufferedWriter(new FileWriter(output, true));
+			}
+			for (final File input : tickerFiles(inputDir)) {
+				if (pending.size() == threads * 2) { write(bws, pending.removeFirst().get()); }
+				pending.addLast(pool.submit(new Callable<String[]>() {
+					public String[] call() throws Exception { return processTicker(input, btcCandles, triggers, threads); }
+				}));
 			}
+			while (!pending.isEmpty()) { write(bws, pending.removeFirst().get()); }
+		} finally {
+			for (BufferedWriter bw : bws) {
+				if (bw != null) { bw.close(); }
+			}
+			pool.shutdownNow();
 		}
+	}
 
-		for (int i = 0; i < btcCandles.length; i ++) {
-			if (candles[candleStart].getDate() == btcCandles[i].getDate()) {
-				btcStart = i;
-				break;
-			}
+	//Writes the vectors of each trigger in csvs to its file
+	private static void write(BufferedWriter[] bws, String[] csvs) throws Exception {
+		for (int t = 0; t < bws.length; t ++) {
+			bws[t].write(csvs[t]);
 		}
-		candles = Arrays.copyOfRange(candles, candleStart, candles.length);
-		btcCandles = Arrays.copyOfRange(btcCandles, btcStart, btcCandles.length);
+	}
 
-		int periods = Trigger.ONE_MONTH / trigger.getTimePeriod() + 50;
-		try {
-			double perc = 0;
-			double lastPerc = 0;
-			for (int i = periods; i < candles.length; i ++) {
-				trigger.addIfTriggered(candles, btcCandles, i, ticker);
-				perc = ((double) (i + 1 - periods) / (double) (candles.length - periods)) * 100D;
-				if (perc % 10 < lastPerc) {
-					System.out.println((int)Math.floor(perc) + "% " + Calendar.getInstance().get(Calendar.HOUR_OF_DAY) + ":" + Calendar.getInstance().get(Calendar.MINUTE));
-				}
-				lastPerc = perc % 10;
-			}
-		} catch (Exception e) { e.printStackTrace(); }
+	//The feature vectors of one stock in csv format for each of triggers
+	private static String[] processTicker(File input, Candlestick[] btcCandles, Trigger[] triggers, int chunks) throws Exception {
+		ArrayList<Candlestick> candles = Candlestick.loadFromFile(input);
+		String ticker = input.getName().substring(0, input.getName().lastIndexOf("."));
+		System.out.println("Processing for: " + ticker);
+		return StockProcessor.processStocks(candles.toArray(new Candlestick[candles.size()]), btcCandles, triggers, ticker, chunks);
+	}
+
+	//The files of the BTC markets in inputDir, sorted by name so stocks are always processed in the same order
+	private static File[] tickerFiles(File inputDir) {
+		ArrayList<File> files = new ArrayList<File>();
+		for (File input : inputDir.listFiles()) {
+			if (input.getName().startsWith("BTC")) { files.add(input); }
+		}
+		File[] sorted = files.toArray(new File[files.size()]);
+		Arrays.sort(sorted);
+		return sorted;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package csvutils;
+
+import java.util.BitSet;
+import java.util.List;
+
+//The features of a DataSet compiled to their slots in a FeatureVector. A name is found by probing a table on the hash
+//code the string already keeps, and the names are nearly always the same string constants the features were added
+//with, so finding one is a reference comparison rather than a map lookup
+public class FeatureSchema {
+	private final String[] names; //the name of the feature in each slot
+	private final String[] table; //the names, open addressed by hash code
+	private final int[] slots; //the slot of the name at the same place in table
+	private final int mask;
+
+	FeatureSchema(List<String> names) {
+		this.names = names.toArray(new String[names.size()]);
+		int capacity = 2;
+		while (capacity < this.names.length * 2) { capacity *= 2; }
+		table = new String[capacity];
+		slots = new int[capacity];
+		mask = capacity - 1;
+		for (int slot = 0; slot < this.names.length; slot ++) {
+			int i = this.names[slot].hashCode() & mask;
+			while (table[i] != null) { i = (i + 1) & mask; }
+			table[i] = this.names[slot];
+			slots[i] = slot;
+		}
+	}
+
+	//A feature resolved to its slot, to set and get it without finding the name again
+	public static class Slot {
+		public final int index;
+		public final String name;
+
+		private Slot(int index, String name) {
+			this.index = index;
+			this.name = name;
+		}
+	}
+
+	public int size() { return names.length; }
+
+	public String name(int slot) { return names[slot]; }
+
+	//The slot of the feature name, or -1 if there is no such feature
+	public int slot(String name) {
+		int i = name.hashCode() & mask;
+		for (String key; (key = table[i]) != null; i = (i + 1) & mask) {
+			if (key == name || key.equals(name)) { return slots[i]; }
+		}
+		return -1;
+	}
+
+	//The feature name resolved to its slot
+	public Slot handle(String name) throws FeatureNonExistentException {
+		int slot = slot(name);
+		if (slot == -1) { throw new FeatureNonExistentException(); }
+		return new Slot(slot, name);
+	}
+
+	//Whether other has the same features, which a vector of one can be inserted into a DataSet of the other for
+	public boolean matches(FeatureSchema other) {
+		if (other == this) { return true; }
+		if (other.size() != size()) { return false; }
+		for (String name : other.names) {
+			if (slot(name) == -1) { return false; }
+		}
+		return true;
+	}
+
+	//The slots of the values which have not been set, found in one pass over them
+	public BitSet missing(double[] values) {
+		long[] words = new long[(values.length + 63) >>> 6];
+		for (int i = 0; i < values.length; i ++) {
+			if (Double.isNaN(values[i])) { words[i >>> 6] |= 1L << i; }
+		}
+		return BitSet.valueOf(words);
+	}
+}
@@ -9,23 +9,13 @@ public class Stat implements Serializable {
 	public double max;
 
 	public void fillStat(double[] nums) {
-		mean = 0D;
-		min = Double.MAX_VALUE;
-		max = -Double.MAX_VALUE;
-		for (double d : nums) {
-			mean += d;
-			if (d > max) {
-				max = d;
-			}
-			if (d < min) {
-				min = d;
-			}
-		}
-		mean /= (double) nums.length;
+		mean = Kernels.mean(nums, 0, nums.length);
+		int maxIndex = Kernels.maxIndex(nums, 0, nums.length);
+		max = maxIndex >= 0 && nums[maxIndex] > -Double.MAX_VALUE ? nums[maxIndex] : -Double.MAX_VALUE;
+		int minIndex = Kernels.minIndex(nums, 0, nums.length);
+		min = minIndex >= 0 && nums[minIndex] < Double.MAX_VALUE ? nums[minIndex] : Double.MAX_VALUE;
 
-		for(double d : nums) {
-			std += (d-mean)*(d-mean);
-		}
+		std += Kernels.squaredDeviations(nums, 0, nums.length, mean);
 		std = Math.pow(std/(double)(nums.length-1), 0.5);
 
 		if (Double.isNaN(std)) { std = 0; }
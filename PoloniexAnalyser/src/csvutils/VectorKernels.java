@@ -0,0 +1,139 @@
+package csvutils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+//The Kernels a vector of lanes at a time, each lane keeping its own running total or extreme which are combined at the
+//end, with the values left over after the last whole vector done one at a time. Only loaded, by name, when the JVM has
+//the jdk.incubator.vector module, and only compiled with it
+public class VectorKernels implements VectorReductions {
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	public double sum(double[] nums, int from, int to) {
+		DoubleVector sums = DoubleVector.zero(SPECIES);
+		int i = from;
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+			sums = sums.add(DoubleVector.fromArray(SPECIES, nums, i));
+		}
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < to; i ++) { sum += nums[i]; }
+		return sum;
+	}
+
+	public double squaredDeviations(double[] nums, int from, int to, double mean) {
+		DoubleVector sums = DoubleVector.zero(SPECIES);
+		int i = from;
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+			DoubleVector deviations = DoubleVector.fromArray(SPECIES, nums, i).sub(mean);
+			sums = sums.add(deviations.mul(deviations));
+		}
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < to; i ++) { sum += (nums[i] - mean) * (nums[i] - mean); }
+		return sum;
+	}
+
+	//Lanewise max follows Math.max, so the order the lanes are combined in cannot change the result
+	public double max(double[] nums, int from, int to, double start) {
+		DoubleVector maxes = DoubleVector.broadcast(SPECIES, start);
+		int i = from;
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+			maxes = maxes.max(DoubleVector.fromArray(SPECIES, nums, i));
+		}
+		double max = maxes.reduceLanes(VectorOperators.MAX);
+		for (; i < to; i ++) { max = Math.max(nums[i], max); }
+		return max;
+	}
+
+	public double min(double[] nums, int from, int to, double start) {
+		DoubleVector mins = DoubleVector.broadcast(SPECIES, start);
+		int i = from;
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+			mins = mins.min(DoubleVector.fromArray(SPECIES, nums, i));
+		}
+		double min = mins.reduceLanes(VectorOperators.MIN);
+		for (; i < to; i ++) { min = Math.min(nums[i], min); }
+		return min;
+	}
+
+	//Finds the largest value with comparisons, which NaNs never win, then the first index holding it
+	public int maxIndex(double[] nums, int from, int to) {
+		DoubleVector maxes = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+		int i = from;
+		int end = from + SPECIES.loopBound(to - from);
+		for (; i < end; i += SPECIES.length()) {
+			DoubleVector values = DoubleVector.fromArray(SPECIES, nums, i);
+			maxes = maxes.blend(values, values.compare(VectorOperators.GT, maxes));
+		}
+		double max = maxes.reduceLanes(VectorOperators.MAX);
+		for (; i < to; i ++) {
+			if (nums[i] > max) { max = nums[i]; }
+		}
+		return firstIndexOf(nums, from, to, end, max);
+	}
+
+	public int minIndex(double[] nums, int from, int to) {
+		DoubleVector mins = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+		int i = from;
+		int end = from + SPECIES.loopBound(to - from);
+		for (; i < end; i += SPECIES.length()) {
+			DoubleVector values = DoubleVector.fromArray(SPECIES, nums, i);
+			mins = mins.blend(values, values.compare(VectorOperators.LT, mins));
+		}
+		double min = mins.reduceLanes(VectorOperators.MIN);
+		for (; i < to; i ++) {
+			if (nums[i] < min) { min = nums[i]; }
+		}
+		return firstIndexOf(nums, from, to, end, min);
+	}
+
+	public double dot(double[] x, double[] y, int from, int to) {
+		DoubleVector sums = DoubleVector.zero(SPECIES);
+		int i = from;
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+			sums = sums.add(DoubleVector.fromArray(SPECIES, x, i).mul(DoubleVector.fromArray(SPECIES, y, i)));
+		}
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+		for (; i < to; i ++) { sum += x[i] * y[i]; }
+		return sum;
+	}
+
+	public void deviationSums(double[] x, double[] y, int from, int to, double meanX, double meanY, double[] sums) {
+		DoubleVector xys = DoubleVector.zero(SPECIES);
+		DoubleVector xxs = DoubleVector.zero(SPECIES);
+		DoubleVector yys = DoubleVector.zero(SPECIES);
+		int i = from;
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+			DoubleVector dx = DoubleVector.fromArray(SPECIES, x, i).sub(meanX);
+			DoubleVector dy = DoubleVector.fromArray(SPECIES, y, i).sub(meanY);
+			xys = xys.add(dx.mul(dy));
+			xxs = xxs.add(dx.mul(dx));
+			yys = yys.add(dy.mul(dy));
+		}
+		double rXY = xys.reduceLanes(VectorOperators.ADD);
+		double rXX = xxs.reduceLanes(VectorOperators.ADD);
+		double rYY = yys.reduceLanes(VectorOperators.ADD);
+		for (; i < to; i ++) {
+			rXY += (x[i] - meanX) * (y[i] - meanY);
+			rXX += (x[i] - meanX) * (x[i] - meanX);
+			rYY += (y[i] - meanY) * (y[i] - meanY);
+		}
+		sums[0] = rXY;
+		sums[1] = rXX;
+		sums[2] = rYY;
+	}
+
+	//The first index from from holding value, where the values before end are checked a vector at a time, or -1
+	private static int firstIndexOf(double[] nums, int from, int to, int end, double value) {
+		int i = from;
+		for (; i < end; i += SPECIES.length()) {
+			VectorMask<Double> equal = DoubleVector.fromArray(SPECIES, nums, i).compare(VectorOperators.EQ, value);
+			if (equal.anyTrue()) { return i + equal.firstTrue(); }
+		}
+		for (; i < to; i ++) {
+			if (nums[i] == value) { return i; }
+		}
+		return -1;
+	}
+}
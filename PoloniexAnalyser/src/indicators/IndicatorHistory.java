@@ -0,0 +1,43 @@
+package indicators;
+
+//A fixed number of the most recent values of an indicator, newest first
+public class IndicatorHistory {
+	private double[] values;
+	private int next;
+	private int size;
+
+	public IndicatorHistory(int capacity) {
+		values = new double[capacity];
+	}
+
+	public int size() { return size; }
+
+	public int capacity() { return values.length; }
+
+	//Adds the latest value, dropping the oldest if full
+	public void add(double value) {
+		values[next] = value;
+		next = (next + 1) % values.length;
+		size = Math.min(size + 1, values.length);
+	}
+
+	//Returns the value lag periods ago, 0 being the latest
+	public double get(int lag) {
+		if (lag < 0 || lag >= size) { throw new ArrayIndexOutOfBoundsException(lag); }
+		return values[(next - 1 - lag + values.length) % values.length];
+	}
+
+	//Returns the last periods values oldest first
+	public double[] graph(int periods) {
+		double[] graph = new double[periods];
+		for (int i = 0; i < periods; i ++) {
+			graph[periods - 1 - i] = get(i);
+		}
+		return graph;
+	}
+
+	public void clear() {
+		next = 0;
+		size = 0;
+	}
+}
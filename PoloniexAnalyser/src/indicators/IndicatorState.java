@@ -0,0 +1,78 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//The streaming indicators for one stock at one time period. Each update only consumes the candles not yet seen
+public class IndicatorState {
+	public final StreamingRSI rsi;
+	public final StreamingMACD macd;
+	public final StreamingTMF tmf;
+	public final StreamingAroon aroon;
+	public final StreamingBollinger bollinger;
+	public final StreamingStochastic stochastic;
+	public final StreamingIchimoku ichimoku;
+
+	private long lastDate;
+	private boolean started;
+
+	//graphPeriods is the longest TMF or ichimoku graph needed, bandPeriods the longest bollinger percentage window
+	public IndicatorState(int graphPeriods, int bandPeriods) {
+		rsi = new StreamingRSI();
+		macd = new StreamingMACD();
+		tmf = new StreamingTMF(Candlestick.TMF_DEFAULT_PERIODS, Math.max(graphPeriods, StreamingIndicator.DEFAULT_HISTORY));
+		aroon = new StreamingAroon();
+		bollinger = new StreamingBollinger(Math.max(bandPeriods, StreamingIndicator.DEFAULT_HISTORY));
+		stochastic = new StreamingStochastic();
+		ichimoku = new StreamingIchimoku(Math.max(graphPeriods, StreamingIndicator.DEFAULT_HISTORY));
+	}
+
+	//Consumes the candles after the last one seen. Starts again from the first candle if the last one seen is missing
+	public void update(Candlestick[] candles) {
+		int start = 0;
+		if (started) {
+			start = -1;
+			for (int i = candles.length - 1; i >= 0 && candles[i].date >= lastDate; i --) {
+				if (candles[i].date == lastDate) {
+					start = i + 1;
+					break;
+				}
+			}
+			if (start == -1) {
+				reset();
+				start = 0;
+			}
+		}
+		for (int i = start; i < candles.length; i ++) {
+			update(candles[i]);
+		}
+	}
+
+	//Consumes the next candle
+	public void update(Candlestick c) {
+		rsi.update(c);
+		macd.update(c);
+		tmf.update(c);
+		aroon.update(c);
+		bollinger.update(c);
+		stochastic.update(c);
+		ichimoku.update(c);
+		lastDate = c.date;
+		started = true;
+	}
+
+	//Whether the latest candle consumed is c
+	public boolean isCurrent(Candlestick c) {
+		return started && c.date == lastDate;
+	}
+
+	public void reset() {
+		rsi.reset();
+		macd.reset();
+		tmf.reset();
+		aroon.reset();
+		bollinger.reset();
+		stochastic.reset();
+		ichimoku.reset();
+		started = false;
+	}
+}
@@ -0,0 +1,77 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//The aroon up and down as calculated by Candlestick.calculateAroonUp and calculateAroonDown. The value is the delta (up - down)
+//The latest high and low are kept in deques as AroonSeries does, so each candle is O(1) unless the window holds a low
+//periodsSinceLow treats as unset
+public class StreamingAroon extends StreamingIndicator {
+	private int length;
+	private CandleWindow window;
+	private RollingExtreme highs;
+	private RollingExtreme lows; //the lows which are set, the unset ones counted as undefined
+	private IndicatorHistory ups;
+	private IndicatorHistory downs;
+
+	public StreamingAroon() {
+		this(Candlestick.AROON_DEFAULT_PERIODS, DEFAULT_HISTORY);
+	}
+
+	public StreamingAroon(int length, int history) {
+		super(history);
+		this.length = length;
+		window = new CandleWindow(length);
+		highs = RollingExtreme.max(length);
+		lows = RollingExtreme.min(length);
+		ups = new IndicatorHistory(history);
+		downs = new IndicatorHistory(history);
+	}
+
+	public void update(Candlestick c) {
+		window.add(c);
+		highs.add(c.high);
+		lows.add(c.low == 0 ? Double.NaN : c.low);
+		if (!window.isFull()) { return; }
+
+		//as periodsSinceHigh, highs only count above 0
+		double highDay = highs.extreme() > 0 ? highs.age() : 0D;
+		double lowDay = lows.undefined() > 0 ? scanLowDay() : lows.age();
+		double up = (((double)length - highDay) / (double)length) * 100D;
+		double down = (((double)length - lowDay) / (double)length) * 100D;
+		ups.add(up);
+		downs.add(down);
+		values.add(up - down);
+	}
+
+	//The age of the low as periodsSinceLow finds it, starting again from the next candle after a low of 0
+	private double scanLowDay() {
+		double low = 0D;
+		double lowDay = 0D;
+		Candlestick candle;
+		for (int i = 0; i < length; i ++) {
+			candle = window.get(i);
+			if (low == 0) {
+				low = candle.low;
+			} else if (candle.low < low) {
+				lowDay = i;
+				low = candle.low;
+			}
+		}
+		return lowDay;
+	}
+
+	//The aroon up lag periods ago
+	public double getUp(int lag) { return ups.get(lag); }
+
+	//The aroon down lag periods ago
+	public double getDown(int lag) { return downs.get(lag); }
+
+	public void reset() {
+		super.reset();
+		window.clear();
+		highs.clear();
+		lows.clear();
+		ups.clear();
+		downs.clear();
+	}
+}
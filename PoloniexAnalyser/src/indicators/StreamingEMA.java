@@ -0,0 +1,61 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//An EMA with the same seeding as Numerics.EMA, updated in O(1) per value
+public class StreamingEMA extends StreamingIndicator {
+	private int length;
+	private double k;
+	private double decay;
+	private double[] window; //the last 2 * length + 1 values
+	private long count;
+	private double weighted;
+	private double seed;
+
+	public StreamingEMA(int length) {
+		this(length, DEFAULT_HISTORY);
+	}
+
+	public StreamingEMA(int length, int history) {
+		super(history);
+		this.length = length;
+		k = 2D / ((double)length + 1D);
+		decay = Math.pow(1D - k, length);
+		window = new double[2 * length + 1];
+	}
+
+	public void update(Candlestick c) {
+		update(c.close);
+	}
+
+	//Consumes the next value. Follows Numerics.EMASeries step for step
+	public void update(double num) {
+		window[(int)(count % window.length)] = num;
+		count ++;
+		if (count < 2 * length) { return; }
+		if (count % length == 0) {
+			weighted = 0D;
+			seed = 0D;
+			for (int age = length - 1; age >= 0; age --) {
+				weighted = weighted * (1D-k) + at(age);
+				seed += at(age + length);
+			}
+		} else {
+			weighted = weighted * (1D-k) + num - decay * at(length);
+			seed += at(length) - at(2 * length);
+		}
+		values.add(k * weighted + decay * seed / (double) length);
+	}
+
+	//the value age updates ago
+	private double at(int age) {
+		return window[(int)((count - 1 - age) % window.length)];
+	}
+
+	public void reset() {
+		super.reset();
+		count = 0;
+		weighted = 0D;
+		seed = 0D;
+	}
+}
@@ -0,0 +1,59 @@
+package indicators;
+
+import stocks.Candlestick;
+
+//The ichimoku signal as calculated by Candlestick.ichimokuSignal, updated in O(1) per candle
+public class StreamingIchimoku extends StreamingIndicator {
+	private int conversionLength;
+	private int baseLength;
+	private RunningTotal closes;
+	private RollingExtreme conversionHighs;
+	private RollingExtreme conversionLows;
+	private RollingExtreme baseHighs;
+	private RollingExtreme baseLows;
+	private long count;
+
+	public StreamingIchimoku(int history) {
+		this(Candlestick.ICHIMOKU_CONVERSION_LENGTH, Candlestick.ICHIMOKU_BASE_LENGTH, history);
+	}
+
+	public StreamingIchimoku(int conversionLength, int baseLength, int history) {
+		super(history);
+		this.conversionLength = conversionLength;
+		this.baseLength = baseLength;
+		closes = new RunningTotal(baseLength);
+		conversionHighs = RollingExtreme.max(conversionLength);
+		conversionLows = RollingExtreme.min(conversionLength);
+		baseHighs = RollingExtreme.max(baseLength);
+		baseLows = RollingExtreme.min(baseLength);
+	}
+
+	public void update(Candlestick c) {
+		closes.add(c.close);
+		conversionHighs.add(c.high);
+		conversionLows.add(c.low);
+		baseHighs.add(c.high);
+		baseLows.add(c.low);
+		count ++;
+		if (count < Math.max(conversionLength, baseLength)) { return; }
+
+		double SMA = closes.sum(baseLength) / (double) baseLength;
+		double conversion = (Math.max(conversionHighs.get(), 0D) + conversionLows.get()) / 2;
+		double base = (Math.max(baseHighs.get(), 0D) + baseLows.get()) / 2;
+		if (SMA == 0) {
+			values.add(conversion - base);
+		} else {
+			values.add((conversion - base) / SMA);
+		}
+	}
+
+	public void reset() {
+		super.reset();
+		closes.clear();
+		conversionHighs.clear();
+		conversionLows.clear();
+		baseHighs.clear();
+		baseLows.clear();
+		count = 0;
+	}
+}
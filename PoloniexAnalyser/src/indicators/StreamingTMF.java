@@ -0,0 +1,68 @@
+package indicators;
+
+import stocks.Candlestick;
+import stocks.Numerics;
+
+//The twiggs money flow as calculated by Candlestick.calculateTwiggsMoneyFlow, from EMAs of the volumes and accumulations
+//updated in O(1) per candle. As in TMFSeries, only a window holding an undefined accumulation, which has to be
+//interpolated, is worked out from the whole window
+public class StreamingTMF extends StreamingIndicator {
+	private StreamingEMA volumeEMA;
+	private StreamingEMA adEMA;
+	private IndicatorHistory volumes;
+	private IndicatorHistory ads;
+	private int undefined; //the number of undefined accumulations in ads
+	private double[] volume;
+	private double[] ad;
+	private Candlestick last;
+
+	public StreamingTMF() {
+		this(Candlestick.TMF_DEFAULT_PERIODS, DEFAULT_HISTORY);
+	}
+
+	public StreamingTMF(int length, int history) {
+		super(history);
+		volumeEMA = new StreamingEMA(length, 1);
+		adEMA = new StreamingEMA(length, 1);
+		volumes = new IndicatorHistory(length * 2);
+		ads = new IndicatorHistory(length * 2);
+		volume = new double[length * 2];
+		ad = new double[length * 2];
+	}
+
+	public void update(Candlestick c) {
+		if (last != null) {
+			double accumulation = Candlestick.accumulation(c, last.close);
+			if (ads.size() == ad.length && Double.isNaN(ads.get(ad.length - 1))) { undefined --; }
+			if (Double.isNaN(accumulation)) { undefined ++; }
+			volumes.add(c.volume);
+			ads.add(accumulation);
+			volumeEMA.update(c.volume);
+			adEMA.update(accumulation);
+		}
+		last = c;
+		if (ads.size() < ad.length) { return; }
+
+		//an undefined accumulation stays in the sliding sums of the EMAs until they are next resummed, which can be after
+		//it has left the window
+		if (undefined == 0 && !Double.isNaN(volumeEMA.get()) && !Double.isNaN(adEMA.get())) {
+			values.add(Numerics.lockRange(-1, adEMA.get() / volumeEMA.get(), 1));
+			return;
+		}
+		for (int i = 0; i < ad.length; i ++) {
+			volume[i] = volumes.get(ad.length - 1 - i);
+			ad[i] = ads.get(ad.length - 1 - i);
+		}
+		values.add(Candlestick.calculateTwiggsMoneyFlow(volume, ad));
+	}
+
+	public void reset() {
+		super.reset();
+		volumeEMA.reset();
+		adEMA.reset();
+		volumes.clear();
+		ads.clear();
+		undefined = 0;
+		last = null;
+	}
+}
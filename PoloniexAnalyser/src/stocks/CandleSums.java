@@ -0,0 +1,37 @@
+package stocks;
+
+//Running volume totals over a set of candles, giving the volume and volume weighted average of any window in O(1)
+public class CandleSums {
+	private final Candlestick[] candles;
+	private final PrefixSums volumes;
+	private final PrefixSums quoteVolumes;
+	private final PrefixSums weightedVolumes;
+
+	public CandleSums(Candlestick[] candles) {
+		this.candles = candles;
+		double[] weighted = new double[candles.length];
+		for (int i = 0; i < candles.length; i ++) {
+			weighted[i] = candles[i].volume * candles[i].weightedAverage;
+		}
+		volumes = new PrefixSums(Candlestick.volumes(candles));
+		quoteVolumes = new PrefixSums(Candlestick.quoteVolumes(candles));
+		weightedVolumes = new PrefixSums(weighted);
+	}
+
+	//Whether these sums were calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	//As Candlestick.getVolSum on the candles from from up to but not including to
+	public double volume(int from, int to) { return volumes.sum(from, to); }
+
+	//The quote volume of the candles from from up to but not including to
+	public double quoteVolume(int from, int to) { return quoteVolumes.sum(from, to); }
+
+	//As Candlestick.weightedAverage on the candles from from up to but not including to
+	public double weightedAverage(int from, int to) {
+		if (from == to) { throw new ArrayIndexOutOfBoundsException(-1); }
+		double vol = volumes.sum(from, to);
+		if (vol == 0) { return candles[to - 1].weightedAverage; }
+		return weightedVolumes.sum(from, to) / vol;
+	}
+}
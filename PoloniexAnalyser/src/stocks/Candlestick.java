@@ -4,7 +4,6 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import csvutils.Stat;
 
@@ -75,42 +74,85 @@ public class Candlestick {
 	}
 
 	public static double calculateStandardisedDPO(Candlestick[] candles) {
-		double price = candles[candles.length - 1].close;
-		double SMA = Numerics.SMA(closePrices(Arrays.copyOfRange(candles, candles.length - 11 - 21, candles.length - 11)));
+		return calculateStandardisedDPO(candles, 0, candles.length);
+	}
+
+	//As calculateStandardisedDPO on the candles from from up to but not including to
+	public static double calculateStandardisedDPO(Candlestick[] candles, int from, int to) {
+		double price = last(candles, from, to).close;
+		double SMA = Numerics.SMA(closePrices(candles, start(from, to - 11, 21), to - 11));
 		if (SMA == 0) { return 0D; }
 		return (price - SMA) / SMA;
 	}
 
 	//Calculates the stochastic oscillator
 	public static double calculateStochastic(Candlestick[] candles) {
-		double lowest = Candlestick.low(Arrays.copyOfRange(candles, candles.length - STOCHASTIC_DEFAULT_LENGTH, candles.length));
-		double highest = Candlestick.high(Arrays.copyOfRange(candles, candles.length - STOCHASTIC_DEFAULT_LENGTH, candles.length));
-		return Numerics.lockRange(0, 100 * (candles[candles.length - 1].close - lowest) / (highest - lowest), 100);
+		return calculateStochastic(candles, 0, candles.length);
+	}
+
+	//As calculateStochastic on the candles from from up to but not including to
+	public static double calculateStochastic(Candlestick[] candles, int from, int to) {
+		int start = start(from, to, STOCHASTIC_DEFAULT_LENGTH);
+		double lowest = Candlestick.low(candles, start, to);
+		double highest = Candlestick.high(candles, start, to);
+		return Numerics.lockRange(0, 100 * (candles[to - 1].close - lowest) / (highest - lowest), 100);
 	}
 
 	//Calculates the stochastic oscillator histogram
 	public static double calculateStochasticHist(Candlestick[] candles) {
+		return calculateStochasticHist(candles, 0, candles.length);
+	}
+
+	//As calculateStochasticHist on the candles from from up to but not including to
+	public static double calculateStochasticHist(Candlestick[] candles, int from, int to) {
 		double stochastics = 0;
 		for (int i = 0; i < STOCHASTIC_SIGNAL_DEFAULT_LENGTH; i ++) {
-			stochastics += calculateStochastic(Arrays.copyOfRange(candles, 0, candles.length - i));
+			stochastics += calculateStochastic(candles, from, to - i);
 		}
 		double signal = stochastics / STOCHASTIC_SIGNAL_DEFAULT_LENGTH;
-		return calculateStochastic(Arrays.copyOfRange(candles, 0, candles.length)) - signal;
+		return calculateStochastic(candles, from, to) - signal;
+	}
+
+	//Calculates the stochastic oscillator ending at index, reading the highs and lows from extremes
+	public static double calculateStochastic(Candlestick[] candles, CandleExtremes extremes, int index) {
+		double lowest = extremes.low(index + 1 - STOCHASTIC_DEFAULT_LENGTH, index + 1);
+		double highest = extremes.high(index + 1 - STOCHASTIC_DEFAULT_LENGTH, index + 1);
+		return Numerics.lockRange(0, 100 * (candles[index].close - lowest) / (highest - lowest), 100);
+	}
+
+	//Calculates the stochastic oscillator histogram ending at index, reading the highs and lows from extremes
+	public static double calculateStochasticHist(Candlestick[] candles, CandleExtremes extremes, int index) {
+		double stochastics = 0;
+		for (int i = 0; i < STOCHASTIC_SIGNAL_DEFAULT_LENGTH; i ++) {
+			stochastics += calculateStochastic(candles, extremes, index - i);
+		}
+		double signal = stochastics / STOCHASTIC_SIGNAL_DEFAULT_LENGTH;
+		return calculateStochastic(candles, extremes, index) - signal;
 	}
 
 	//Calculates the relative vigor index
 	public static double calculateRVI(Candlestick[] candles) {
-		Candlestick last = candles[candles.length - 1];
+		return calculateRVI(candles, 0, candles.length);
+	}
+
+	//As calculateRVI on the candles from from up to but not including to
+	public static double calculateRVI(Candlestick[] candles, int from, int to) {
+		Candlestick last = last(candles, from, to);
 		if (last.high == last.low) { return 0; }
 		return (last.close - last.open) / (last.high - last.low);
 	}
 
 	//Calculates the relative vigor index histogram
 	public static double calculateRVIHist(Candlestick[] candles) {
-		double green = Numerics.SMA(closePrices(Arrays.copyOfRange(candles, candles.length - RVI_GREEN_DEFAULT_LENGTH, candles.length)));
+		return calculateRVIHist(candles, 0, candles.length);
+	}
+
+	//As calculateRVIHist on the candles from from up to but not including to
+	public static double calculateRVIHist(Candlestick[] candles, int from, int to) {
+		double green = Numerics.SMA(closePrices(candles, start(from, to, RVI_GREEN_DEFAULT_LENGTH), to));
 		double red = 0;
 		double vol = 0;
-		for (int i = candles.length - 1; i > candles.length - RVI_RED_DEFAULT_LENGTH - 1; i --) {
+		for (int i = to - 1; i > to - RVI_RED_DEFAULT_LENGTH - 1; i --) {
 			red += candles[i].close * candles[i].volume;
 			vol += candles[i].volume;
 		}
@@ -128,8 +170,13 @@ public class Candlestick {
 
 	//Calculates the lower bollinger band
 	public static double calculateBollingerLower(Candlestick[] candles, int length) {
-		double middle = calculateBollingerMiddle(candles, length);
-		Stat s = Numerics.getStat(closePrices(Arrays.copyOfRange(candles, candles.length - length, candles.length)));
+		return calculateBollingerLower(candles, 0, candles.length, length);
+	}
+
+	//As calculateBollingerLower on the candles from from up to but not including to
+	public static double calculateBollingerLower(Candlestick[] candles, int from, int to, int length) {
+		double middle = calculateBollingerMiddle(candles, from, to, length);
+		Stat s = Numerics.getStat(closePrices(candles, start(from, to, length), to));
 		return middle - s.std * 2;
 	}
 
@@ -140,8 +187,13 @@ public class Candlestick {
 
 	//Calculates the upper bollinger band
 	public static double calculateBollingerUpper(Candlestick[] candles, int length) {
-		double middle = calculateBollingerMiddle(candles, length);
-		Stat s = Numerics.getStat(closePrices(Arrays.copyOfRange(candles, candles.length - length, candles.length)));
+		return calculateBollingerUpper(candles, 0, candles.length, length);
+	}
+
+	//As calculateBollingerUpper on the candles from from up to but not including to
+	public static double calculateBollingerUpper(Candlestick[] candles, int from, int to, int length) {
+		double middle = calculateBollingerMiddle(candles, from, to, length);
+		Stat s = Numerics.getStat(closePrices(candles, start(from, to, length), to));
 		return middle + s.std * 2;
 	}
 
@@ -152,24 +204,40 @@ public class Candlestick {
 
 	//Calculates the middle bollinger band
 	public static double calculateBollingerMiddle(Candlestick[] candles, int length) {
-		return Numerics.SMA(closePrices(Arrays.copyOfRange(candles, candles.length - length, candles.length)));
+		return calculateBollingerMiddle(candles, 0, candles.length, length);
+	}
+
+	//As calculateBollingerMiddle on the candles from from up to but not including to
+	public static double calculateBollingerMiddle(Candlestick[] candles, int from, int to, int length) {
+		return Numerics.SMA(closePrices(candles, start(from, to, length), to));
 	}
 
 	//Calculates the percentage of time the stock has spend outside it's bollinger band
 	public static double percOutsideBollingerBand(Candlestick[] candles, int length) {
-		return Numerics.lockRange(0, percAboveBollingerBand(candles, length) + percBelowBollingerBand(candles, length), 100);
+		return percOutsideBollingerBand(candles, 0, candles.length, length);
+	}
+
+	//As percOutsideBollingerBand on the candles from from up to but not including to
+	public static double percOutsideBollingerBand(Candlestick[] candles, int from, int to, int length) {
+		return Numerics.lockRange(0, percAboveBollingerBand(candles, from, to, length) + percBelowBollingerBand(candles, from, to, length), 100);
 	}
 
 	//Calculates the percentage of time the stock has spent above it's bollinger band
 	public static double percAboveBollingerBand(Candlestick[] candles, int length) {
+		return percAboveBollingerBand(candles, 0, candles.length, length);
+	}
+
+	//As percAboveBollingerBand on the candles from from up to but not including to
+	public static double percAboveBollingerBand(Candlestick[] candles, int from, int to, int length) {
 		double outside = 0;
 		double inside = 0;
 		double upper;
 		Candlestick c;
 		double stickSize;
+		int start = start(from, to, length);
 		for (int i = 0; i < length; i ++) {
-			c = candles[candles.length - length + i];
-			upper = calculateBollingerUpper(Arrays.copyOfRange(candles, 0, candles.length + 1 - length + i));
+			c = candles[start + i];
+			upper = calculateBollingerUpper(candles, from, start + 1 + i, BOLLINGER_DEFAULT_PERIODS);
 			upper = Math.min(c.high, upper);
 			stickSize = c.high - c.low;
 			if (stickSize != 0) {
@@ -190,14 +258,20 @@ public class Candlestick {
 
 	//Calculates the percentage of time the stock has spend below it's bollinger band
 	public static double percBelowBollingerBand(Candlestick[] candles, int length) {
+		return percBelowBollingerBand(candles, 0, candles.length, length);
+	}
+
+	//As percBelowBollingerBand on the candles from from up to but not including to
+	public static double percBelowBollingerBand(Candlestick[] candles, int from, int to, int length) {
 		double outside = 0;
 		double inside = 0;
 		double lower;
 		Candlestick c;
 		double stickSize;
+		int start = start(from, to, length);
 		for (int i = 0; i < length; i ++) {
-			c = candles[candles.length - length + i];
-			lower = calculateBollingerLower(Arrays.copyOfRange(candles, 0, candles.length + 1 - length + i));
+			c = candles[start + i];
+			lower = calculateBollingerLower(candles, from, start + 1 + i, BOLLINGER_DEFAULT_PERIODS);
 			lower = Math.max(lower, 0);
 			lower = Math.max(c.low, lower);
 			stickSize = c.high - c.low;
@@ -217,10 +291,90 @@ public class Candlestick {
 		return Numerics.lockRange(0, outside * 100D / (outside + inside), 100);
 	}
 
+	//Calculates the middle bollinger band ending at index from the rolling close moments
+	public static double calculateBollingerMiddle(CandleMoments moments, int index, int length) {
+		return moments.closes.getStat(index + 1 - length, index + 1).mean;
+	}
+
+	//Calculates the upper bollinger band ending at index from the rolling close moments
+	public static double calculateBollingerUpper(CandleMoments moments, int index, int length) {
+		Stat s = moments.closes.getStat(index + 1 - length, index + 1);
+		return s.mean + s.std * 2;
+	}
+
+	//Calculates the lower bollinger band ending at index from the rolling close moments
+	public static double calculateBollingerLower(CandleMoments moments, int index, int length) {
+		Stat s = moments.closes.getStat(index + 1 - length, index + 1);
+		return s.mean - s.std * 2;
+	}
+
+	//As percOutsideBollingerBand for the length candles up to index, reading the bands from moments
+	public static double percOutsideBollingerBand(Candlestick[] candles, CandleMoments moments, int index, int length) {
+		return Numerics.lockRange(0, percAboveBollingerBand(candles, moments, index, length) + percBelowBollingerBand(candles, moments, index, length), 100);
+	}
+
+	//As percAboveBollingerBand for the length candles up to index, reading the bands from moments
+	public static double percAboveBollingerBand(Candlestick[] candles, CandleMoments moments, int index, int length) {
+		double outside = 0;
+		double inside = 0;
+		double upper;
+		Candlestick c;
+		double stickSize;
+		for (int i = index + 1 - length; i <= index; i ++) {
+			c = candles[i];
+			upper = calculateBollingerUpper(moments, i, BOLLINGER_DEFAULT_PERIODS);
+			upper = Math.min(c.high, upper);
+			stickSize = c.high - c.low;
+			if (stickSize != 0) {
+				outside += (c.high - upper) / stickSize;
+				inside += (upper - c.low) / stickSize;
+			} else {
+				if (c.high > upper) {
+					outside += 1;
+				} else {
+					inside += 1;
+				}
+			}
+		}
+		return Numerics.lockRange(0, outside * 100D / (outside + inside), 100);
+	}
+
+	//As percBelowBollingerBand for the length candles up to index, reading the bands from moments
+	public static double percBelowBollingerBand(Candlestick[] candles, CandleMoments moments, int index, int length) {
+		double outside = 0;
+		double inside = 0;
+		double lower;
+		Candlestick c;
+		double stickSize;
+		for (int i = index + 1 - length; i <= index; i ++) {
+			c = candles[i];
+			lower = calculateBollingerLower(moments, i, BOLLINGER_DEFAULT_PERIODS);
+			lower = Math.max(lower, 0);
+			lower = Math.max(c.low, lower);
+			stickSize = c.high - c.low;
+			if (stickSize != 0) {
+				outside += (lower - c.low) / stickSize;
+				inside += (c.high - lower) / stickSize;
+			} else {
+				if (c.low < lower) {
+					outside += 1;
+				} else {
+					inside += 1;
+				}
+			}
+		}
+		return Numerics.lockRange(0, outside * 100D / (outside + inside), 100);
+	}
+
 	public static double[] calculateTMFGraph(Candlestick[] candles, int periods) {
+		return calculateTMFGraph(candles, 0, candles.length, periods);
+	}
+
+	//As calculateTMFGraph on the candles from from up to but not including to
+	public static double[] calculateTMFGraph(Candlestick[] candles, int from, int to, int periods) {
 		double[] tmfs = new double[periods];
 		for (int i = 0; i < tmfs.length; i ++) {
-			tmfs[tmfs.length - 1 - i] = calculateTwiggsMoneyFlow(Arrays.copyOfRange(candles, 0, candles.length - i));
+			tmfs[tmfs.length - 1 - i] = calculateTwiggsMoneyFlow(candles, from, to - i);
 		}
 		return tmfs;
 	}
@@ -230,29 +384,39 @@ public class Candlestick {
 		return calculateTwiggsMoneyFlow(candles, TMF_DEFAULT_PERIODS);
 	}
 
+	//As calculateTwiggsMoneyFlow on the candles from from up to but not including to
+	public static double calculateTwiggsMoneyFlow(Candlestick[] candles, int from, int to) {
+		return calculateTwiggsMoneyFlow(candles, from, to, TMF_DEFAULT_PERIODS);
+	}
+
 	//Calculates the TMF
 	public static double calculateTwiggsMoneyFlow(Candlestick[] candles, int length) {
+		return calculateTwiggsMoneyFlow(candles, 0, candles.length, length);
+	}
+
+	//As calculateTwiggsMoneyFlow on the candles from from up to but not including to
+	public static double calculateTwiggsMoneyFlow(Candlestick[] candles, int from, int to, int length) {
 		double volume[] = new double[length * 2];
 		double ad[] = new double[length * 2];
-
-		double lastClose;
-		double close;
-		double high;
-		double trh;
-		double low;
-		double trl;
+		int start = start(from, to, volume.length + 1) + 1; //the true range of the first candle needs the close before it
 
 		for(int i = 0; i < volume.length; i ++) {
-			volume[i] = candles[candles.length - volume.length + i].volume;
-			lastClose = candles[candles.length - volume.length + i - 1].close;
-			high = candles[candles.length - volume.length + i].high;
-			close = candles[candles.length - volume.length + i].close;
-			trh = Math.max(lastClose, high);
-			low = candles[candles.length - volume.length + i].low;
-			trl = Math.min(lastClose, low);
-			ad[i] = volume[i] * (((close - trl) - (trh - close)) / (trh - trl));
+			volume[i] = candles[start + i].volume;
+			ad[i] = accumulation(candles[start + i], candles[start + i - 1].close);
 		}
 
+		return calculateTwiggsMoneyFlow(volume, ad);
+	}
+
+	//The accumulation/distribution of a candle using the true range from the last close
+	public static double accumulation(Candlestick candle, double lastClose) {
+		double trh = Math.max(lastClose, candle.high);
+		double trl = Math.min(lastClose, candle.low);
+		return candle.volume * (((candle.close - trl) - (trh - candle.close)) / (trh - trl));
+	}
+
+	//Calculates the TMF from a window of volumes and accumulations. Undefined accumulations in ad are interpolated in place
+	public static double calculateTwiggsMoneyFlow(double[] volume, double[] ad) {
 		if (Double.isNaN(ad[0])) {
 			for (int i = 1; i < ad.length; i ++) {
 				if (!Double.isNaN(ad[i])) {
@@ -297,9 +461,14 @@ public class Candlestick {
 
 	//Calculates the stochastic RSI using default RSI period
 	public static double calculateStochRSI(Candlestick[] candles) {
-		double rsi = calculateRSI(candles);
-		double highestRSI = highestRSI(candles);
-		double lowestRSI = lowestRSI(candles);
+		return calculateStochRSI(candles, 0, candles.length);
+	}
+
+	//As calculateStochRSI on the candles from from up to but not including to
+	public static double calculateStochRSI(Candlestick[] candles, int from, int to) {
+		double rsi = calculateRSI(candles, from, to);
+		double highestRSI = highestRSI(candles, from, to);
+		double lowestRSI = lowestRSI(candles, from, to);
 		double rsiDiff = (highestRSI - lowestRSI);
 		if (rsiDiff == 0) { rsiDiff = Double.MIN_VALUE; }
 		return Numerics.lockRange(0, (rsi - lowestRSI) / rsiDiff, 1);
@@ -307,10 +476,15 @@ public class Candlestick {
 
 	//Finds the lowest RSI in a period
 	public static double lowestRSI(Candlestick[] candles) {
+		return lowestRSI(candles, 0, candles.length);
+	}
+
+	//As lowestRSI on the candles from from up to but not including to
+	public static double lowestRSI(Candlestick[] candles, int from, int to) {
 		double min = 100D;
 		double rsi;
 		for (int i = 0; i < 14; i ++) {
-			rsi = calculateRSI(Arrays.copyOfRange(candles, 0, candles.length - i));
+			rsi = calculateRSI(candles, from, to - i);
 			min = Math.min(rsi, min);
 		}
 		return min;
@@ -318,10 +492,15 @@ public class Candlestick {
 
 	//Finds the highest RSI in a period
 	public static double highestRSI(Candlestick[] candles) {
+		return highestRSI(candles, 0, candles.length);
+	}
+
+	//As highestRSI on the candles from from up to but not including to
+	public static double highestRSI(Candlestick[] candles, int from, int to) {
 		double max = 0D;
 		double rsi;
 		for (int i = 0; i < 14; i ++) {
-			rsi = calculateRSI(Arrays.copyOfRange(candles, 0, candles.length - i));
+			rsi = calculateRSI(candles, from, to - i);
 			max = Math.max(rsi, max);
 		}
 		return max;
@@ -332,26 +511,48 @@ public class Candlestick {
 		return calculateRSI(candles, RSI_DEFAULT_PERIODS);
 	}
 
+	//As calculateRSI on the candles from from up to but not including to
+	public static double calculateRSI(Candlestick[] candles, int from, int to) {
+		return calculateRSI(candles, from, to, RSI_DEFAULT_PERIODS);
+	}
+
 	//Calculates the RSI
 	public static double calculateRSI(Candlestick[] candles, int length) {
-		double rs = calculateAverageGain(candles, length) / calculateAverageLoss(candles, length);
+		return calculateRSI(candles, 0, candles.length, length);
+	}
+
+	//As calculateRSI on the candles from from up to but not including to
+	public static double calculateRSI(Candlestick[] candles, int from, int to, int length) {
+		double rs = calculateAverageGain(candles, from, to, length) / calculateAverageLoss(candles, from, to, length);
 		return Numerics.lockRange(0, 100D - (100D / (1D + rs)), 100);
 	}
 
 	//Calculates the average gains over a period
 	public static double calculateAverageGain(Candlestick[] candles, int length) {
+		return calculateAverageGain(candles, 0, candles.length, length);
+	}
+
+	//As calculateAverageGain on the candles from from up to but not including to
+	public static double calculateAverageGain(Candlestick[] candles, int from, int to, int length) {
 		double diffs[] = new double[length*2];
+		start(from, to, diffs.length + 1);
 		for (int i = 0; i < diffs.length; i++) {
-			diffs[diffs.length - 1 - i] = Math.max(0, candles[candles.length - i - 1].close - candles[candles.length - i - 2].close);
+			diffs[diffs.length - 1 - i] = Math.max(0, candles[to - i - 1].close - candles[to - i - 2].close);
 		}
 		return Numerics.EMA(diffs, length);
 	}
 
 	//Calculates the average losses over a period
 	public static double calculateAverageLoss(Candlestick[] candles, int length) {
+		return calculateAverageLoss(candles, 0, candles.length, length);
+	}
+
+	//As calculateAverageLoss on the candles from from up to but not including to
+	public static double calculateAverageLoss(Candlestick[] candles, int from, int to, int length) {
 		double diffs[] = new double[length*2];
+		start(from, to, diffs.length + 1);
 		for (int i = 0; i < diffs.length; i++) {
-			diffs[diffs.length - 1 - i] = Math.abs(Math.min(0, candles[candles.length - i - 1].close - candles[candles.length - i - 2].close));
+			diffs[diffs.length - 1 - i] = Math.abs(Math.min(0, candles[to - i - 1].close - candles[to - i - 2].close));
 		}
 		return Numerics.EMA(diffs, length);
 	}
@@ -363,7 +564,17 @@ public class Candlestick {
 
 	//Calculates the aroon up
 	public static double calculateAroonUp(Candlestick[] candles, int length) {
-		return (((double)length - periodsSinceHigh(Arrays.copyOfRange(candles, candles.length - length, candles.length))) / (double)length) * 100D;
+		return calculateAroonUp(candles, 0, candles.length, length);
+	}
+
+	//As calculateAroonUp on the candles from from up to but not including to
+	public static double calculateAroonUp(Candlestick[] candles, int from, int to) {
+		return calculateAroonUp(candles, from, to, AROON_DEFAULT_PERIODS);
+	}
+
+	//As calculateAroonUp on the candles from from up to but not including to
+	public static double calculateAroonUp(Candlestick[] candles, int from, int to, int length) {
+		return (((double)length - periodsSinceHigh(candles, start(from, to, length), to)) / (double)length) * 100D;
 	}
 
 	//Calculates the aroon down with default aroon period
@@ -373,16 +584,31 @@ public class Candlestick {
 
 	//Calculates the aroon down
 	public static double calculateAroonDown(Candlestick[] candles, int length) {
-		return (((double)length- periodsSinceLow(Arrays.copyOfRange(candles, candles.length - length, candles.length))) / (double)length) * 100D;
+		return calculateAroonDown(candles, 0, candles.length, length);
+	}
+
+	//As calculateAroonDown on the candles from from up to but not including to
+	public static double calculateAroonDown(Candlestick[] candles, int from, int to) {
+		return calculateAroonDown(candles, from, to, AROON_DEFAULT_PERIODS);
+	}
+
+	//As calculateAroonDown on the candles from from up to but not including to
+	public static double calculateAroonDown(Candlestick[] candles, int from, int to, int length) {
+		return (((double)length- periodsSinceLow(candles, start(from, to, length), to)) / (double)length) * 100D;
 	}
 
 	//The number of periods since the last high
 	public static double periodsSinceHigh(Candlestick[] candles) {
+		return periodsSinceHigh(candles, 0, candles.length);
+	}
+
+	//As periodsSinceHigh on the candles from from up to but not including to
+	public static double periodsSinceHigh(Candlestick[] candles, int from, int to) {
 		double high = 0D;
 		double day = 0D;
 		Candlestick c;
-		for (int i = 0; i < candles.length; i ++) {
-			c = candles[candles.length - i - 1];
+		for (int i = 0; i < to - from; i ++) {
+			c = candles[to - i - 1];
 			if (c.high > high) {
 				day = i;
 				high = c.high;
@@ -393,11 +619,16 @@ public class Candlestick {
 
 	//The number of periods since the last low
 	public static double periodsSinceLow(Candlestick[] candles) {
+		return periodsSinceLow(candles, 0, candles.length);
+	}
+
+	//As periodsSinceLow on the candles from from up to but not including to
+	public static double periodsSinceLow(Candlestick[] candles, int from, int to) {
 		double low = 0D;
 		double day = 0D;
 		Candlestick c;
-		for (int i = 0; i < candles.length; i ++) {
-			c = candles[candles.length - i - 1];
+		for (int i = 0; i < to - from; i ++) {
+			c = candles[to - i - 1];
 			if (low == 0) {
 				low = c.low;
 			} else {
@@ -417,14 +648,19 @@ public class Candlestick {
 
 	//On average how many std deviations is everything from the mean. Weighted
 	public static double stability(Candlestick[] candles) {
-		Stat stat = Numerics.getStat(weightedAverages(candles));
+		return stability(candles, 0, candles.length);
+	}
+
+	//As stability on the candles from from up to but not including to
+	public static double stability(Candlestick[] candles, int from, int to) {
+		Stat stat = Numerics.getStat(weightedAverages(candles, from, to));
 		if (stat.std == 0) { return 0; }
 		double distance = 0;
 		double total = 0;
 
-		for (Candlestick c : candles) {
-			distance += Math.abs((c.weightedAverage - stat.mean) / stat.std) * c.volume;
-			total += c.volume;
+		for (int i = from; i < to; i ++) {
+			distance += Math.abs((candles[i].weightedAverage - stat.mean) / stat.std) * candles[i].volume;
+			total += candles[i].volume;
 		}
 
 		if (Double.isNaN(distance / total)) { return 0; }
@@ -468,67 +704,122 @@ public class Candlestick {
 
 	//returns the total number of pumps in a set of candlesticks
 	public static double totalPumps(Candlestick[] candles) {
+		return totalPumps(candles, 0, candles.length);
+	}
+
+	//As totalPumps on the candles from from up to but not including to
+	public static double totalPumps(Candlestick[] candles, int from, int to) {
 		double total = 0D;
-		for (Candlestick c : candles) {
-			total += c.delta() >= PUMP_DELTA ? 1D : 0D;
+		for (int i = from; i < to; i ++) {
+			total += candles[i].delta() >= PUMP_DELTA ? 1D : 0D;
 		}
 		return total;
 	}
 
 	//returns the total number of dumps in a set of candlesticks
 	public static double totalDumps(Candlestick[] candles) {
+		return totalDumps(candles, 0, candles.length);
+	}
+
+	//As totalDumps on the candles from from up to but not including to
+	public static double totalDumps(Candlestick[] candles, int from, int to) {
 		double total = 0D;
-		for (Candlestick c : candles) {
-			total += c.delta() <= DUMP_DELTA ? 1D : 0D;
+		for (int i = from; i < to; i ++) {
+			total += candles[i].delta() <= DUMP_DELTA ? 1D : 0D;
 		}
 		return total;
 	}
 
+	//As stability on the candles from from up to but not including to, reading the weighted average mean and std from moments
+	public static double stability(Candlestick[] candles, CandleMoments moments, int from, int to) {
+		Stat stat = moments.weightedAverages.getStat(from, to);
+		if (stat.std == 0) { return 0; }
+		double distance = 0;
+		double total = 0;
+
+		for (int i = from; i < to; i ++) {
+			distance += Math.abs((candles[i].weightedAverage - stat.mean) / stat.std) * candles[i].volume;
+			total += candles[i].volume;
+		}
+
+		if (Double.isNaN(distance / total)) { return 0; }
+		return distance / total;
+	}
+
 	//Returns a Stan object (mean, std) for the volumes of a set of candles
 	public static Stat getVolStat(Candlestick[] candles) {
-		return Numerics.getStat(volumes(candles));
+		return getVolStat(candles, 0, candles.length);
+	}
+
+	//As getVolStat on the candles from from up to but not including to
+	public static Stat getVolStat(Candlestick[] candles, int from, int to) {
+		return Numerics.getStat(volumes(candles, from, to));
 	}
 
 	//The sum of volumes over a period of time
 	public static double getVolSum(Candlestick[] candles) {
-		return Numerics.sum(volumes(candles));
+		return getVolSum(candles, 0, candles.length);
+	}
+
+	//As getVolSum on the candles from from up to but not including to
+	public static double getVolSum(Candlestick[] candles, int from, int to) {
+		double sum = 0;
+		for (int i = from; i < to; i ++) { sum += candles[i].volume; }
+		return sum;
 	}
 
 	//Returns the weighted average for a set of Candles
 	public static double weightedAverage(Candlestick[] candles) {
+		return weightedAverage(candles, 0, candles.length);
+	}
+
+	//As weightedAverage on the candles from from up to but not including to
+	public static double weightedAverage(Candlestick[] candles, int from, int to) {
 		double vol = 0D;
 		double total = 0D;
-		for (Candlestick c : candles) {
-			total += c.volume * c.weightedAverage;
-			vol += c.volume;
+		for (int i = from; i < to; i ++) {
+			total += candles[i].volume * candles[i].weightedAverage;
+			vol += candles[i].volume;
 		}
-		if (vol == 0) { return candles[candles.length - 1].weightedAverage; }
+		if (vol == 0) { return last(candles, from, to).weightedAverage; }
 		return total / vol;
 	}
 
 	//Calculates a standardised MACD giving a picture of momentum that is unbiased by price
 	public static double calculateStanMACDHist(Candlestick[] candles) {
+		return calculateStanMACDHist(candles, 0, candles.length);
+	}
+
+	//As calculateStanMACDHist on the candles from from up to but not including to
+	public static double calculateStanMACDHist(Candlestick[] candles, int from, int to) {
+		double[] closePrices = closePrices(candles, from, to);
 		double[] macds = new double[18];
 		for (int i = 0; i < macds.length; i ++) {
-			macds[macds.length - i - 1] = MACD(Arrays.copyOfRange(candles, 0, candles.length - i)) / candles[candles.length - 1].close;
+			macds[macds.length - i - 1] = MACD(closePrices, closePrices.length - i) / candles[to - 1].close;
 		}
 		return macds[macds.length - 1] - Numerics.SMA(macds);
 	}
 
 	//The number of buy signals generated in a certain MACD peak
 	public static int calculateMACDHistSells(Candlestick[] candles) {
+		return calculateMACDHistSells(candles, 0, candles.length);
+	}
+
+	//As calculateMACDHistSells on the candles from from up to but not including to
+	public static int calculateMACDHistSells(Candlestick[] candles, int from, int to) {
+		double[] closePrices = closePrices(candles, from, to);
 		boolean up = false;
 		int peaks = 0;
 		int index = 0;
 		double curHist;
 		double prevHist;
 		double lastHist;
-		while (!(up && calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index)) < 0)) {
-			curHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index));
+		while (!(up && calculateMACDHist(closePrices, closePrices.length - index) < 0)) {
+			curHist = calculateMACDHist(closePrices, closePrices.length - index);
 			if (curHist > 0) {
 				up = true;
-				prevHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 1));
-				lastHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 2));
+				prevHist = calculateMACDHist(closePrices, closePrices.length - index - 1);
+				lastHist = calculateMACDHist(closePrices, closePrices.length - index - 2);
 				if (curHist > 0 && prevHist > 0 && lastHist > 0) {
 					if (curHist < prevHist && prevHist > lastHist) {
 						peaks++;
@@ -542,15 +833,21 @@ public class Candlestick {
 
 	//The number of buy signals generated in a certain MACD trough
 	public static int calculateMACDHistBuys(Candlestick[] candles) {
+		return calculateMACDHistBuys(candles, 0, candles.length);
+	}
+
+	//As calculateMACDHistBuys on the candles from from up to but not including to
+	public static int calculateMACDHistBuys(Candlestick[] candles, int from, int to) {
+		double[] closePrices = closePrices(candles, from, to);
 		int troughs = 0;
 		int index = 0;
 		double curHist;
 		double prevHist;
 		double lastHist;
-		while ((curHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index))) < 0) {
-			curHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index));
-			prevHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 1));
-			lastHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 2));
+		while ((curHist = calculateMACDHist(closePrices, closePrices.length - index)) < 0) {
+			curHist = calculateMACDHist(closePrices, closePrices.length - index);
+			prevHist = calculateMACDHist(closePrices, closePrices.length - index - 1);
+			lastHist = calculateMACDHist(closePrices, closePrices.length - index - 2);
 			if (curHist < 0 && prevHist < 0 && lastHist < 0) {
 				if (curHist > prevHist && prevHist < lastHist) {
 					troughs++;
@@ -563,15 +860,21 @@ public class Candlestick {
 
 	//Finds the offset where a previous MACD histogram  trough is found
 	public static int calculateMACDHistBuysOffset(Candlestick[] candles) {
+		return calculateMACDHistBuysOffset(candles, 0, candles.length);
+	}
+
+	//As calculateMACDHistBuysOffset on the candles from from up to but not including to
+	public static int calculateMACDHistBuysOffset(Candlestick[] candles, int from, int to) {
+		double[] closePrices = closePrices(candles, from, to);
 		int trough = 0;
 		int index = 0;
 		double curHist;
 		double prevHist;
 		double lastHist;
 		while (trough == 0) {
-			curHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index));
-			prevHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 1));
-			lastHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 2));
+			curHist = calculateMACDHist(closePrices, closePrices.length - index);
+			prevHist = calculateMACDHist(closePrices, closePrices.length - index - 1);
+			lastHist = calculateMACDHist(closePrices, closePrices.length - index - 2);
 			if (curHist < 0 && prevHist < 0 && lastHist < 0) {
 				if (curHist > prevHist && prevHist < lastHist) {
 					trough = index;
@@ -584,16 +887,22 @@ public class Candlestick {
 
 	//Finds the offset where a previous MACD histogram peak is found
 	public static int calculateMACDHistSellsOffset(Candlestick[] candles) {
+		return calculateMACDHistSellsOffset(candles, 0, candles.length);
+	}
+
+	//As calculateMACDHistSellsOffset on the candles from from up to but not including to
+	public static int calculateMACDHistSellsOffset(Candlestick[] candles, int from, int to) {
+		double[] closePrices = closePrices(candles, from, to);
 		int peak = 0;
 		int index = 0;
 		double curHist;
 		double prevHist;
 		double lastHist;
 		while (peak == 0) {
-			curHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index));
+			curHist = calculateMACDHist(closePrices, closePrices.length - index);
 			if (curHist > 0) {
-				prevHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 1));
-				lastHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, candles.length - index - 2));
+				prevHist = calculateMACDHist(closePrices, closePrices.length - index - 1);
+				lastHist = calculateMACDHist(closePrices, closePrices.length - index - 2);
 				if (curHist > 0 && prevHist > 0 && lastHist > 0) {
 					if (curHist < prevHist && prevHist > lastHist) {
 						peak = index;
@@ -607,6 +916,7 @@ public class Candlestick {
 
 	//Finds the next index where a MACD histogram peak is found
 	public static int calculateMACDHistNextSellsIndex(Candlestick[] candles, int startIndex) {
+		double[] closePrices = closePrices(candles);
 		boolean found = false;
 		double curHist;
 		double prevHist;
@@ -614,11 +924,11 @@ public class Candlestick {
 
 		while (!found) {
 			startIndex++;
-			lastHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, startIndex + 1));
+			lastHist = calculateMACDHist(closePrices, startIndex + 1);
 			if (lastHist > 0) {
-				prevHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, startIndex + 2));
+				prevHist = calculateMACDHist(closePrices, startIndex + 2);
 				if (prevHist > 0 && prevHist > lastHist) {
-					curHist = calculateMACDHist(Arrays.copyOfRange(candles, 0, startIndex + 3));
+					curHist = calculateMACDHist(closePrices, startIndex + 3);
 					if (curHist > 0 && prevHist > 0 && lastHist > 0) {
 						if (curHist < prevHist && prevHist > lastHist) {
 							found = true;
@@ -637,7 +947,7 @@ public class Candlestick {
 
 		while (!found) {
 			startIndex++;
-			rsi = calculateRSI(Arrays.copyOfRange(candles, 0, startIndex + 1));
+			rsi = calculateRSI(candles, 0, startIndex + 1);
 			if (rsi > sellRSI) { found = true; }
 		}
 		return startIndex;
@@ -645,125 +955,257 @@ public class Candlestick {
 
 	//Returns the lowest sell price for a set of candles
 	public static double low(Candlestick[] candles) {
-		return Numerics.low(lowPrices(candles));
+		return low(candles, 0, candles.length);
+	}
+
+	//As low on the candles from from up to but not including to
+	public static double low(Candlestick[] candles, int from, int to) {
+		double low = 0D;
+		for (int i = from; i < to; i ++) {
+			low = i == from ? candles[i].low : Math.min(candles[i].low, low);
+		}
+		return low;
 	}
 
 	//Returns the highest sell price for a set of candles
 	public static double high(Candlestick[] candles) {
-		return Numerics.high(highPrices(candles));
+		return high(candles, 0, candles.length);
+	}
+
+	//As high on the candles from from up to but not including to
+	public static double high(Candlestick[] candles, int from, int to) {
+		double high = 0D;
+		for (int i = from; i < to; i ++) {
+			high = Math.max(candles[i].high, high);
+		}
+		return high;
 	}
 
 	//Returns the highest opening price for a set of candles
 	public static double highOpen(Candlestick[] candles) {
-		return Numerics.high(openPrices(candles));
+		return highOpen(candles, 0, candles.length);
+	}
+
+	//As highOpen on the candles from from up to but not including to
+	public static double highOpen(Candlestick[] candles, int from, int to) {
+		double high = 0D;
+		for (int i = from; i < to; i ++) {
+			high = Math.max(candles[i].open, high);
+		}
+		return high;
 	}
 
 	//Returns the lowest opening price for a set of candles
 	public static double lowOpen(Candlestick[] candles) {
-		return Numerics.low(openPrices(candles));
+		return lowOpen(candles, 0, candles.length);
+	}
+
+	//As lowOpen on the candles from from up to but not including to
+	public static double lowOpen(Candlestick[] candles, int from, int to) {
+		double low = 0D;
+		for (int i = from; i < to; i ++) {
+			low = i == from ? candles[i].open : Math.min(candles[i].open, low);
+		}
+		return low;
 	}
 
 	//Returns the index of the highest opening price for a set of candles
 	public static int highOpenIndex(Candlestick[] candles) {
-		return Numerics.highIndex(openPrices(candles));
+		return highOpenIndex(candles, 0, candles.length);
+	}
+
+	//As highOpenIndex on the candles from from up to but not including to, counting the index from from
+	public static int highOpenIndex(Candlestick[] candles, int from, int to) {
+		double high = 0D;
+		int index = 0;
+		for (int i = from; i < to; i ++) {
+			if (candles[i].open > high) {
+				index = i - from;
+				high = candles[i].open;
+			}
+		}
+		return index;
 	}
 
 	//Returns the index of the lowest opening price for a set of candles
 	public static int lowOpenIndex(Candlestick[] candles) {
-		return Numerics.lowIndex(openPrices(candles));
+		return lowOpenIndex(candles, 0, candles.length);
+	}
+
+	//As lowOpenIndex on the candles from from up to but not including to, counting the index from from
+	public static int lowOpenIndex(Candlestick[] candles, int from, int to) {
+		double low = 0D;
+		int index = 0;
+		for (int i = from; i < to; i ++) {
+			if (i == from || candles[i].open < low) {
+				low = candles[i].open;
+				index = i - from;
+			}
+		}
+		return index;
 	}
 
 	//Calculates the MACD-histogram (distance between MACD and signal line)
 	public static double calculateMACDHist(Candlestick[] candles) {
+		return calculateMACDHist(candles, 0, candles.length);
+	}
+
+	//As calculateMACDHist on the candles from from up to but not including to
+	public static double calculateMACDHist(Candlestick[] candles, int from, int to) {
+		return calculateMACDHist(closePrices(candles, from, to), to - from);
+	}
+
+	//calculates the MACD-histogram from the first to close prices
+	public static double calculateMACDHist(double[] closePrices, int to) {
 		double[] macds = new double[18];
 		for (int i = 0; i < macds.length; i ++) {
-			macds[macds.length - i - 1] = MACD(Arrays.copyOfRange(candles, 0, candles.length - i));
+			macds[macds.length - i - 1] = MACD(closePrices, to - i);
 		}
 		return macds[macds.length - 1] - Numerics.EMA(macds, 9);
 	}
 
 	//calculates the MACD from an array of candles
 	public static double MACD(Candlestick[] candles) {
-		double[] closePrices = closePrices(candles);
+		return MACD(candles, 0, candles.length);
+	}
+
+	//As MACD on the candles from from up to but not including to
+	public static double MACD(Candlestick[] candles, int from, int to) {
+		double[] closePrices = closePrices(candles, from, to);
 		return Numerics.EMA(closePrices, 10) - Numerics.EMA(closePrices, 26);
 	}
 
+	//calculates the MACD from the first to close prices
+	public static double MACD(double[] closePrices, int to) {
+		return Numerics.EMA(closePrices, 0, to, 10) - Numerics.EMA(closePrices, 0, to, 26);
+	}
+
 	//returns an array of the close prices of a set of candlesticks
 	public static double[] closePrices(Candlestick[] candles) {
-		double[] closePrices = new double[candles.length];
-		for (int i = 0; i < candles.length; i ++) {
-			closePrices[i] = candles[i].close;
+		return closePrices(candles, 0, candles.length);
+	}
+
+	//As closePrices on the candles from from up to but not including to
+	public static double[] closePrices(Candlestick[] candles, int from, int to) {
+		double[] closePrices = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			closePrices[i - from] = candles[i].close;
 		}
 		return closePrices;
 	}
 
 	//returns an array of the low prices of a set of candlesticks
 	public static double[] lowPrices(Candlestick[] candles) {
-		double[] lowPrices = new double[candles.length];
-		for (int i = 0; i < candles.length; i ++) {
-			lowPrices[i] = candles[i].low;
+		return lowPrices(candles, 0, candles.length);
+	}
+
+	//As lowPrices on the candles from from up to but not including to
+	public static double[] lowPrices(Candlestick[] candles, int from, int to) {
+		double[] lowPrices = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			lowPrices[i - from] = candles[i].low;
 		}
 		return lowPrices;
 	}
 
 	//returns an array of the high prices of a set of candlesticks
 	public static double[] highPrices(Candlestick[] candles) {
-		double[] highPrices = new double[candles.length];
-		for (int i = 0; i < candles.length; i ++) {
-			highPrices[i] = candles[i].high;
+		return highPrices(candles, 0, candles.length);
+	}
+
+	//As highPrices on the candles from from up to but not including to
+	public static double[] highPrices(Candlestick[] candles, int from, int to) {
+		double[] highPrices = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			highPrices[i - from] = candles[i].high;
 		}
 		return highPrices;
 	}
 
 	//returns an array of the open prices of a set of candlesticks
 	public static double[] openPrices(Candlestick[] candles) {
-		double[] openPrices = new double[candles.length];
-		for (int i = 0; i < candles.length; i ++) {
-			openPrices[i] = candles[i].open;
+		return openPrices(candles, 0, candles.length);
+	}
+
+	//As openPrices on the candles from from up to but not including to
+	public static double[] openPrices(Candlestick[] candles, int from, int to) {
+		double[] openPrices = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			openPrices[i - from] = candles[i].open;
 		}
 		return openPrices;
 	}
 
 	//returns an array of volumes for a set of candlesticks
 	public static double[] volumes(Candlestick[] candles) {
-		double[] volumes = new double[candles.length];
-		for (int i = 0; i < candles.length; i ++) {
-			volumes[i] = candles[i].volume;
+		return volumes(candles, 0, candles.length);
+	}
+
+	//As volumes on the candles from from up to but not including to
+	public static double[] volumes(Candlestick[] candles, int from, int to) {
+		double[] volumes = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			volumes[i - from] = candles[i].volume;
 		}
 		return volumes;
 	}
 
+	//returns an array of the quote volumes of a set of candlesticks
+	public static double[] quoteVolumes(Candlestick[] candles) {
+		return quoteVolumes(candles, 0, candles.length);
+	}
+
+	//As quoteVolumes on the candles from from up to but not including to
+	public static double[] quoteVolumes(Candlestick[] candles, int from, int to) {
+		double[] quoteVolumes = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			quoteVolumes[i - from] = candles[i].quoteVolume;
+		}
+		return quoteVolumes;
+	}
+
 	//returns an array of weighted averages
 	public static double[] weightedAverages(Candlestick[] candles) {
-		double[] weightedAverages = new double[candles.length];
-		for (int i = 0; i < candles.length; i ++) {
-			weightedAverages[i] = candles[i].weightedAverage;
+		return weightedAverages(candles, 0, candles.length);
+	}
+
+	//As weightedAverages on the candles from from up to but not including to
+	public static double[] weightedAverages(Candlestick[] candles, int from, int to) {
+		double[] weightedAverages = new double[to - from];
+		for (int i = from; i < to; i ++) {
+			weightedAverages[i - from] = candles[i].weightedAverage;
 		}
 		return weightedAverages;
 	}
 	
 	public static double[] calculateIchimokuSignalGraph(Candlestick[] candles, int periods) {
+		return calculateIchimokuSignalGraph(candles, 0, candles.length, periods);
+	}
+
+	//As calculateIchimokuSignalGraph on the candles from from up to but not including to
+	public static double[] calculateIchimokuSignalGraph(Candlestick[] candles, int from, int to, int periods) {
 		double[] ichimokus = new double[periods];
 		for (int i = 0; i < ichimokus.length; i ++) {
-			ichimokus[ichimokus.length - 1 - i] = ichimokuSignal(Arrays.copyOfRange(candles, 0, candles.length - i));
+			ichimokus[ichimokus.length - 1 - i] = ichimokuSignal(candles, from, to - i, Candlestick.ICHIMOKU_CONVERSION_LENGTH, Candlestick.ICHIMOKU_BASE_LENGTH);
 		}
 		return ichimokus;
 	}
 	
 	public static double ichimokuSignal(Candlestick[] candles) {
-		double SMA = Numerics.SMA(closePrices(Arrays.copyOfRange(candles, candles.length - Candlestick.ICHIMOKU_BASE_LENGTH, candles.length)));
-		if (SMA == 0) {
-			return ichimokuConversion(candles) - ichimokuBase(candles);
-		}
-		return (ichimokuConversion(candles) - ichimokuBase(candles)) / SMA;
+		return ichimokuSignal(candles, Candlestick.ICHIMOKU_CONVERSION_LENGTH, Candlestick.ICHIMOKU_BASE_LENGTH);
 	}
 	
 	public static double ichimokuSignal(Candlestick[] candles, int conversionLength, int baseLength) {
-		double SMA = Numerics.SMA(closePrices(Arrays.copyOfRange(candles, candles.length - baseLength, candles.length)));
+		return ichimokuSignal(candles, 0, candles.length, conversionLength, baseLength);
+	}
+
+	//As ichimokuSignal on the candles from from up to but not including to
+	public static double ichimokuSignal(Candlestick[] candles, int from, int to, int conversionLength, int baseLength) {
+		double SMA = Numerics.SMA(closePrices(candles, start(from, to, baseLength), to));
 		if (SMA == 0) {
-			return ichimoku(candles, conversionLength) - ichimoku(candles, baseLength);
+			return ichimoku(candles, from, to, conversionLength) - ichimoku(candles, from, to, baseLength);
 		}
-		return (ichimoku(candles, conversionLength) - ichimoku(candles, baseLength)) / SMA;
+		return (ichimoku(candles, from, to, conversionLength) - ichimoku(candles, from, to, baseLength)) / SMA;
 	}
 	
 	public static double ichimokuConversion(Candlestick[] candles) { return ichimoku(candles, Candlestick.ICHIMOKU_CONVERSION_LENGTH); }
@@ -771,6 +1213,49 @@ public class Candlestick {
 	public static double ichimokuBase(Candlestick[] candles) { return ichimoku(candles, Candlestick.ICHIMOKU_BASE_LENGTH); }
 	
 	public static double ichimoku(Candlestick[] candles, int length) {
-		return (Candlestick.high(Arrays.copyOfRange(candles, candles.length - length, candles.length)) + Candlestick.low(Arrays.copyOfRange(candles, candles.length - length, candles.length))) / 2;
+		return ichimoku(candles, 0, candles.length, length);
+	}
+
+	//As ichimoku on the candles from from up to but not including to
+	public static double ichimoku(Candlestick[] candles, int from, int to, int length) {
+		int start = start(from, to, length);
+		return (Candlestick.high(candles, start, to) + Candlestick.low(candles, start, to)) / 2;
+	}
+
+	public static double[] calculateIchimokuSignalGraph(Candlestick[] candles, CandleExtremes extremes, int index, int periods) {
+		double[] ichimokus = new double[periods];
+		for (int i = 0; i < ichimokus.length; i ++) {
+			ichimokus[ichimokus.length - 1 - i] = ichimokuSignal(candles, extremes, index - i);
+		}
+		return ichimokus;
+	}
+
+	//The ichimoku signal ending at index, reading the highs and lows from extremes
+	public static double ichimokuSignal(Candlestick[] candles, CandleExtremes extremes, int index) {
+		double total = 0D;
+		for (int i = index + 1 - Candlestick.ICHIMOKU_BASE_LENGTH; i <= index; i ++) {
+			total += candles[i].close;
+		}
+		double SMA = total / (double) Candlestick.ICHIMOKU_BASE_LENGTH;
+		double signal = ichimoku(extremes, index, Candlestick.ICHIMOKU_CONVERSION_LENGTH) - ichimoku(extremes, index, Candlestick.ICHIMOKU_BASE_LENGTH);
+		if (SMA == 0) {
+			return signal;
+		}
+		return signal / SMA;
+	}
+
+	public static double ichimoku(CandleExtremes extremes, int index, int length) {
+		return (extremes.high(index + 1 - length, index + 1) + extremes.low(index + 1 - length, index + 1)) / 2;
+	}
+
+	//The start of the last length candles before to, which must all come from from onwards as they would in a copy
+	private static int start(int from, int to, int length) {
+		if (to - length < from) { throw new ArrayIndexOutOfBoundsException(to - length); }
+		return to - length;
+	}
+
+	//The last candle before to, which there must be one of from from onwards
+	private static Candlestick last(Candlestick[] candles, int from, int to) {
+		return candles[start(from, to, 1)];
 	}
-}
\ No newline at end of file
+}
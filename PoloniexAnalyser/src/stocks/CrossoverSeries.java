@@ -0,0 +1,132 @@
+package stocks;
+
+import java.util.Arrays;
+
+//Where a fast line of a stock crosses a slow one, such as an EMA of the closes over their SMA, or the closes over an EMA
+//of them. Both lines are worked out once for every candle, and where the fast line next stops being above or below the
+//slow one after each candle is found in one pass back along them. The lines are the same as Numerics.EMA and
+//Numerics.SMA called on the closes up to each candle, so the crossings are the same as comparing those
+public class CrossoverSeries {
+	private final Candlestick[] candles;
+	private final double[] fast;
+	private final double[] slow;
+	private final int first; //the first index where both lines are defined
+	private final int[] nextBelows; //the first index after each where the fast line is below the slow one, or -1
+	private final int[] nextNotAboves; //the first index after each where the fast line is not above the slow one, or -1
+	private final int[] nextNotBelows; //the first index after each where the fast line is not below the slow one, or -1
+	private final int[] nextCrossDowns; //the first index after each where the fast line crosses below the slow one, or -1
+
+	private CrossoverSeries(Candlestick[] candles, double[] fast, double[] slow, int first) {
+		this.candles = candles;
+		this.fast = fast;
+		this.slow = slow;
+		this.first = first;
+		int n = candles.length;
+		nextBelows = new int[n];
+		nextNotAboves = new int[n];
+		nextNotBelows = new int[n];
+		nextCrossDowns = new int[n];
+		int below = -1;
+		int notAbove = -1;
+		int notBelow = -1;
+		int crossDown = -1;
+		for (int i = n - 1; i >= 0; i --) {
+			nextBelows[i] = below;
+			nextNotAboves[i] = notAbove;
+			nextNotBelows[i] = notBelow;
+			nextCrossDowns[i] = crossDown;
+			if (i < first) { continue; }
+			if (fast[i] < slow[i]) { below = i; }
+			if (!(fast[i] > slow[i])) { notAbove = i; }
+			if (!(fast[i] < slow[i])) { notBelow = i; }
+			if (i > first && crossedDown(i)) { crossDown = i; }
+		}
+	}
+
+	//The EMA of the closes against their SMA
+	public static CrossoverSeries emaOverSMA(Candlestick[] candles, int emaLength, int smaLength) {
+		double[] closes = Candlestick.closePrices(candles);
+		return new CrossoverSeries(candles, emas(closes, emaLength), smas(closes, smaLength), Math.max(2 * emaLength, smaLength) - 1);
+	}
+
+	//The closes against their EMA
+	public static CrossoverSeries closeOverEMA(Candlestick[] candles, int emaLength) {
+		double[] closes = Candlestick.closePrices(candles);
+		return new CrossoverSeries(candles, closes, emas(closes, emaLength), 2 * emaLength - 1);
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return fast.length; }
+
+	public double fast(int index) {
+		SeriesChecks.require(index >= first && index < fast.length, index);
+		return fast[index];
+	}
+
+	public double slow(int index) {
+		SeriesChecks.require(index >= first && index < slow.length, index);
+		return slow[index];
+	}
+
+	//Whether the fast line went from below the slow one at the candle before index to above it at index
+	public boolean crossedUp(int index) {
+		SeriesChecks.require(index > first && index < fast.length, index - 1);
+		return fast[index - 1] < slow[index - 1] && fast[index] > slow[index];
+	}
+
+	//Whether the fast line went from above the slow one at the candle before index to below it at index
+	public boolean crossedDown(int index) {
+		SeriesChecks.require(index > first && index < fast.length, index - 1);
+		return fast[index - 1] > slow[index - 1] && fast[index] < slow[index];
+	}
+
+	//Every index where the fast line crossed above the slow one
+	public int[] crossUps() {
+		int[] ups = new int[fast.length];
+		int count = 0;
+		for (int i = first + 1; i < fast.length; i ++) {
+			if (crossedUp(i)) { ups[count ++] = i; }
+		}
+		return Arrays.copyOf(ups, count);
+	}
+
+	//The first index after index where the fast line is below the slow one
+	public int nextBelow(int index) { return next(nextBelows, index); }
+
+	//The first index after index where the fast line is not above the slow one
+	public int nextNotAbove(int index) { return next(nextNotAboves, index); }
+
+	//The first index after index where the fast line is not below the slow one
+	public int nextNotBelow(int index) { return next(nextNotBelows, index); }
+
+	//The first index after index where the fast line crosses below the slow one
+	public int nextCrossDown(int index) { return next(nextCrossDowns, index); }
+
+	//Walking forward from index for an end runs out of candles, as scanning the candles does, when there is none
+	private int next(int[] nexts, int index) {
+		SeriesChecks.require(index + 1 >= first && index < nexts.length, index + 1);
+		if (nexts[index] == -1) { throw new ArrayIndexOutOfBoundsException(nexts.length); }
+		return nexts[index];
+	}
+
+	//As Numerics.EMA ending at every index with enough history, NaN before. Each reads a fixed 2 * length closes so this
+	//stays linear, and unlike Numerics.EMASeries it cannot be a rounding error away from the EMA a crossing is judged on
+	private static double[] emas(double[] closes, int length) {
+		double[] emas = new double[closes.length];
+		for (int i = 0; i < closes.length; i ++) {
+			emas[i] = i + 1 < 2 * length ? Double.NaN : Numerics.EMA(closes, 0, i + 1, length);
+		}
+		return emas;
+	}
+
+	//As Numerics.SMA ending at every index with enough history, NaN before
+	private static double[] smas(double[] closes, int length) {
+		double[] smas = new double[closes.length];
+		for (int i = 0; i < closes.length; i ++) {
+			smas[i] = i + 1 < length ? Double.NaN : Numerics.SMA(closes, i + 1 - length, i + 1);
+		}
+		return smas;
+	}
+}
@@ -2,6 +2,7 @@ package stocks;
 
 import java.util.Arrays;
 
+import csvutils.Kernels;
 import csvutils.Stat;
 
 public class Numerics {
@@ -14,17 +15,14 @@ public class Numerics {
 	
 	//Returns the stat (mean, std) for an array of nums
 	public static Stat getStat(double[] nums) {
-		Stat s = new Stat();
-		s.mean = 0D;
-		for (double d : nums) {
-			s.mean += d;
-		}
-		s.mean /= (double) nums.length;
+		return getStat(nums, 0, nums.length);
+	}
 
-		for(double d : nums) {
-			s.std += (d-s.mean)*(d-s.mean);
-		}
-		s.std = Math.pow(s.std/(double)(nums.length-1), 0.5);
+	//Returns the stat (mean, std) for the nums from from up to but not including to
+	public static Stat getStat(double[] nums, int from, int to) {
+		Stat s = new Stat();
+		s.mean = Kernels.mean(nums, from, to);
+		s.std = Math.pow(Kernels.squaredDeviations(nums, from, to, s.mean)/(double)(to - from - 1), 0.5);
 		
 		if (Double.isNaN(s.std)) { s.std = 0; }
 		if (Double.isNaN(s.mean)) { s.mean = 0; }
@@ -34,81 +32,101 @@ public class Numerics {
 
 	//Returns the index of the maximum number in an array
 	public static int highIndex(double[] nums) {
-		double high = 0D;
-		int index = 0;
-		for (int i = 0; i < nums.length; i ++) {
-			if (nums[i] > high) {
-				index = i;
-				high = nums[i];
-			}
-		}
-		return index;
+		return highIndex(nums, 0, nums.length);
+	}
+
+	//Returns the index, counted from from, of the maximum number from from up to but not including to
+	public static int highIndex(double[] nums, int from, int to) {
+		int index = Kernels.maxIndex(nums, from, to);
+		return index >= 0 && nums[index] > 0D ? index - from : 0; //the maximum starts from 0
 	}
 
 	//Returns the index of the minimum number in an array
 	public static int lowIndex(double[] nums) {
-		double low = 0D;
-		int index = 0;
-		boolean start = false;
-		for (int i = 0; i < nums.length; i ++) {
-			if (!start) {
-				low = nums[i];
-				index = i;
-				start = true;
-			} else if (nums[i] < low) {
-				low = nums[i];
-				index = i;
-			}
-		}
-		return index;
+		return lowIndex(nums, 0, nums.length);
+	}
+
+	//Returns the index, counted from from, of the minimum number from from up to but not including to
+	public static int lowIndex(double[] nums, int from, int to) {
+		if (to <= from || Double.isNaN(nums[from])) { return 0; } //the minimum starts from the first num, which nothing is below if NaN
+		return Kernels.minIndex(nums, from, to) - from;
 	}
 
 	//Returns the maximum number in an array
 	public static double high(double[] nums) {
-		double high = 0D;
-		for (double d : nums) {
-			high = Math.max(d, high);
-		}
-		return high;
+		return high(nums, 0, nums.length);
+	}
+
+	//Returns the maximum number from from up to but not including to
+	public static double high(double[] nums, int from, int to) {
+		return Kernels.max(nums, from, to, 0D);
 	}
 
 	//Returns the minimum number in an array
 	public static double low(double[] nums) {
-		double low = 0D;
-		int i = 0;
-		for (double d : nums) {
-			if (i == 0) {
-				i ++;
-				low = d;
-			} else {
-				low = Math.min(d, low);
-			}
-		}
-		return low;
+		return low(nums, 0, nums.length);
+	}
+
+	//Returns the minimum number from from up to but not including to
+	public static double low(double[] nums, int from, int to) {
+		if (to <= from) { return 0D; }
+		return Kernels.min(nums, from + 1, to, nums[from]);
 	}
 
-	//base call for calculating EMA. Calls recursive method below
+	//calculates the EMA of the last length values, seeded with the SMA of the length values before them
 	public static double EMA(double[] nums, int length) {
-		return EMA(nums, length, length);
+		return EMA(nums, 0, nums.length, length);
 	}
 
-	//recursive EMA
-	private static double EMA(double[] nums, int length, double remainder) {
+	//calculates the EMA of the length values before to, as if nums only held the values from from to to
+	public static double EMA(double[] nums, int from, int to, int length) {
+		if (to - 2 * length < from) { throw new ArrayIndexOutOfBoundsException(to - 2 * length); }
 		double k = 2D / ((double)length + 1D);
-		if (remainder != 1) {
-			return nums[nums.length - 1] * k + (1D-k) * EMA(Arrays.copyOfRange(nums, 0, nums.length - 1), length, remainder - 1);
-		} else {
-			return nums[nums.length - 1] * k + (1D-k) * SMA(Arrays.copyOfRange(nums, nums.length - 1 - length, nums.length - 1));
+		int start = to - length;
+		double ema = 0D;
+		for (int i = start - length; i < start; i ++) {
+			ema += nums[i];
+		}
+		ema /= (double) length;
+		for (int i = start; i < to; i ++) {
+			ema = nums[i] * k + (1D-k) * ema;
+		}
+		return ema;
+	}
+
+	//calculates the EMA ending at every index in one pass. Indexes without 2 * length values of history are NaN
+	public static double[] EMASeries(double[] nums, int length) {
+		double[] emas = new double[nums.length];
+		Arrays.fill(emas, Double.NaN);
+		double k = 2D / ((double)length + 1D);
+		double decay = Math.pow(1D - k, length);
+		double weighted = 0D; //the last length values, each weighted by (1-k)^age
+		double seed = 0D; //the sum of the length values before them
+		for (int i = 2 * length - 1; i < nums.length; i ++) {
+			if ((i + 1) % length == 0) { //resum every length steps so sliding errors cannot build up
+				weighted = 0D;
+				seed = 0D;
+				for (int j = i + 1 - length; j <= i; j ++) {
+					weighted = weighted * (1D-k) + nums[j];
+					seed += nums[j - length];
+				}
+			} else {
+				weighted = weighted * (1D-k) + nums[i] - decay * nums[i - length];
+				seed += nums[i - length] - nums[i - 2 * length];
+			}
+			emas[i] = k * weighted + decay * seed / (double) length;
 		}
+		return emas;
 	}
 
 	//calculates a simple moving average
 	public static double SMA(double[] nums) {
-		double total = 0D;
-		for (int i = 0; i < nums.length; i ++) {
-			total += nums[i];
-		}
-		return total / (double) nums.length;
+		return SMA(nums, 0, nums.length);
+	}
+
+	//calculates a simple moving average of the nums from from up to but not including to
+	public static double SMA(double[] nums, int from, int to) {
+		return Kernels.mean(nums, from, to);
 	}
 
 	//percentage change
@@ -125,9 +143,12 @@ public class Numerics {
 
 	//Sums an array
 	public static double sum(double[] nums) {
-		double sum = 0;
-		for (double d : nums) { sum += d; }
-		return sum;
+		return sum(nums, 0, nums.length);
+	}
+
+	//Sums the nums from from up to but not including to
+	public static double sum(double[] nums, int from, int to) {
+		return Kernels.sum(nums, from, to);
 	}
 	
 	public static double[] generateTime(double[] input) {
@@ -137,23 +158,44 @@ public class Numerics {
 	}
 	
 	public static double mean(double[] input) {
-		double sum = 0;
-		for (Double d : input) { sum += d; }
-		return sum / (double)input.length;
+		return mean(input, 0, input.length);
+	}
+
+	//The mean of the input from from up to but not including to
+	public static double mean(double[] input, int from, int to) {
+		return Kernels.mean(input, from, to);
 	}
 	
 	public static double pearsons(double[] x, double[] y) {
-		double meanX = mean(x);
-		double meanY = mean(y);
+		return pearsons(x, y, 0, x.length);
+	}
+
+	//The pearsons correlation of x and y from from up to but not including to
+	public static double pearsons(double[] x, double[] y, int from, int to) {
+		double[] sums = new double[3];
+		Kernels.deviationSums(x, y, from, to, mean(x, from, to), mean(y, from, to), sums);
+		return pearsons(sums[0], sums[1], sums[2]);
+	}
+
+	//As pearsons(generateTime(y), y) on the nums from from up to but not including to, without generating the times
+	public static double trend(double[] nums, int from, int to) {
+		double meanX = 0;
+		for (int i = from; i < to; i ++) { meanX += i - from; }
+		meanX /= (double)(to - from);
+		double meanY = mean(nums, from, to);
 		double rXY = 0;
 		double rXX = 0;
 		double rYY = 0;
-		for (int i = 0; i < x.length; i ++) {
-			rXY += (x[i] - meanX) * (y[i] - meanY);
-			rXX += (x[i] - meanX) * (x[i] - meanX);
-			rYY += (y[i] - meanY) * (y[i] - meanY);
+		for (int i = from; i < to; i ++) {
+			rXY += (i - from - meanX) * (nums[i] - meanY);
+			rXX += (i - from - meanX) * (i - from - meanX);
+			rYY += (nums[i] - meanY) * (nums[i] - meanY);
 		}
+		return pearsons(rXY, rXX, rYY);
+	}
 
+	//The pearsons correlation from the summed products and squares of the deviations
+	public static double pearsons(double rXY, double rXX, double rYY) {
 		rXX = Math.pow(rXX, 0.5);
 		rYY = Math.pow(rYY, 0.5);
 		if (rXX == 0 && rYY == 0) {
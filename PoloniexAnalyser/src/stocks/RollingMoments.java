@@ -0,0 +1,150 @@
+package stocks;
+
+import csvutils.Stat;
+
+//Running totals of an array, of its squares and of its products with the index, giving the mean, standard deviation
+//and trend of any range in O(1). The totals are kept to twice double precision so the variance does not cancel away
+//over long arrays, and ranges where even that is not precise enough are worked out directly
+public class RollingMoments {
+	private static final double ROUNDING = 0x1p-104; //the square of the rounding error of a double
+	private static final double TOLERANCE = 1e-14; //the largest relative error allowed before a range is worked out directly
+
+	private final double[] nums;
+	private final double[] sums;
+	private final double[] sumErrors;
+	private final double[] squares;
+	private final double[] squareErrors;
+	private final double[] timeSums; //the running total of each value multiplied by its index
+	private final double[] timeSumErrors;
+
+	public RollingMoments(double[] nums) {
+		this.nums = nums;
+		sums = new double[nums.length + 1];
+		sumErrors = new double[nums.length + 1];
+		squares = new double[nums.length + 1];
+		squareErrors = new double[nums.length + 1];
+		timeSums = new double[nums.length + 1];
+		timeSumErrors = new double[nums.length + 1];
+		for (int i = 0; i < nums.length; i ++) {
+			double d = nums[i];
+			add(sums, sumErrors, i, d, 0D);
+			double square = d * d;
+			add(squares, squareErrors, i, square, Math.fma(d, d, -square));
+			double timed = i * d;
+			add(timeSums, timeSumErrors, i, timed, Math.fma(i, d, -timed));
+		}
+	}
+
+	public int length() { return nums.length; }
+
+	//The sum of the values from from up to but not including to
+	public double sum(int from, int to) {
+		if (from > to) { throw new ArrayIndexOutOfBoundsException(to); }
+		double sum = sums[to] - sums[from];
+		return sum + (addError(sums[to], -sums[from], sum) + (sumErrors[to] - sumErrors[from]));
+	}
+
+	//As Numerics.getStat on the values from from up to but not including to
+	public Stat getStat(int from, int to) {
+		check(from, to);
+		if (to - from < 2) { return Numerics.getStat(nums, from, to); }
+		double deviations = deviations(from, to);
+		if (!(deviationError(from, to) < TOLERANCE * deviations)) {
+			//the values are too close together for the running totals to tell them apart
+			return Numerics.getStat(nums, from, to);
+		}
+		double n = (double)(to - from);
+		Stat s = new Stat();
+		s.mean = sum(from, to) / n;
+		s.std = Math.pow(deviations / (n - 1D), 0.5);
+		if (Double.isNaN(s.std)) { s.std = 0; }
+		if (Double.isNaN(s.mean)) { s.mean = 0; }
+		return s;
+	}
+
+	//As Numerics.trend, the pearsons correlation of the values from from up to but not including to against time
+	public double trend(int from, int to) {
+		check(from, to);
+		if (to - from < 2) { return Numerics.trend(nums, from, to); }
+		double n = (double)(to - from);
+		double timeSquares = n * (n * n - 1D) / 12D;
+		double deviations = deviations(from, to);
+		if (!(deviationError(from, to) < TOLERANCE * deviations)
+				|| !(timeDeviationError(from, to) < TOLERANCE * Math.sqrt(timeSquares * deviations))) {
+			return Numerics.trend(nums, from, to);
+		}
+		return Numerics.pearsons(timeDeviations(from, to), timeSquares, deviations);
+	}
+
+	//The least squares slope of the values from from up to but not including to against time
+	public double slope(int from, int to) {
+		check(from, to);
+		if (to - from < 2) { return 0D; }
+		double n = (double)(to - from);
+		return timeDeviations(from, to) / (n * (n * n - 1D) / 12D);
+	}
+
+	//The sum of squared deviations from the mean, worked out as square - sum * sum / n in twice double precision
+	private double deviations(int from, int to) {
+		double n = (double)(to - from);
+		double sum = sums[to] - sums[from];
+		double sumError = addError(sums[to], -sums[from], sum) + (sumErrors[to] - sumErrors[from]);
+		double square = squares[to] - squares[from];
+		double squareError = addError(squares[to], -squares[from], square) + (squareErrors[to] - squareErrors[from]);
+
+		double sumSquared = sum * sum;
+		double sumSquaredError = Math.fma(sum, sum, -sumSquared) + 2D * sum * sumError;
+		double shift = sumSquared / n;
+		double shiftError = (Math.fma(-shift, n, sumSquared) + sumSquaredError) / n;
+		double deviation = square - shift;
+		double deviationError = addError(square, -shift, deviation) + squareError - shiftError;
+		return deviation + deviationError;
+	}
+
+	//The sum of the deviations of the values from their mean multiplied by the deviations of their times from theirs,
+	//worked out as timed - sum * (from + (n - 1) / 2) in twice double precision
+	private double timeDeviations(int from, int to) {
+		double sum = sums[to] - sums[from];
+		double sumError = addError(sums[to], -sums[from], sum) + (sumErrors[to] - sumErrors[from]);
+		double timed = timeSums[to] - timeSums[from];
+		double timedError = addError(timeSums[to], -timeSums[from], timed) + (timeSumErrors[to] - timeSumErrors[from]);
+
+		double meanTime = from + (to - from - 1) / 2D;
+		double shift = sum * meanTime;
+		double shiftError = Math.fma(sum, meanTime, -shift) + sumError * meanTime;
+		double deviation = timed - shift;
+		return deviation + (addError(timed, -shift, deviation) + timedError - shiftError);
+	}
+
+	//A bound on the error of deviations, each running total up to to being out by at most 4 roundings squared per value
+	private double deviationError(int from, int to) {
+		double error = 8D * to * ROUNDING;
+		double absolutes = Math.sqrt(to * squares[to]); //bounds the running total of the absolute values
+		return error * (squares[to] + 2D * absolutes * Math.abs(sum(from, to)) / (to - from));
+	}
+
+	//A bound on the error of timeDeviations, in the same way as deviationError
+	private double timeDeviationError(int from, int to) {
+		double error = 8D * to * ROUNDING;
+		double absolutes = Math.sqrt(to * squares[to]);
+		return error * absolutes * (to + from + (to - from) / 2D);
+	}
+
+	private void check(int from, int to) {
+		if (from < 0 || from > to || to > nums.length) { throw new ArrayIndexOutOfBoundsException(from < 0 ? from : to); }
+	}
+
+	//Adds d, with the rounding error made working it out, to the running total before index, keeping the total normalised
+	private static void add(double[] totals, double[] errors, int index, double d, double error) {
+		double total = totals[index] + d;
+		double totalError = addError(totals[index], d, total) + errors[index] + error;
+		totals[index + 1] = total + totalError;
+		errors[index + 1] = totalError - (totals[index + 1] - total);
+	}
+
+	//The rounding error made when a + b was rounded to sum
+	private static double addError(double a, double b, double sum) {
+		double bRounded = sum - a;
+		return (a - (sum - bRounded)) + (b - bRounded);
+	}
+}
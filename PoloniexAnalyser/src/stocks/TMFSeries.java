@@ -0,0 +1,81 @@
+package stocks;
+
+import java.util.Arrays;
+
+//The twiggs money flow at every candle of a stock, worked out from accumulations and their EMAs calculated once for
+//the stock. Each lookup gives the same result as its Candlestick equivalent called on the candles up to index
+public class TMFSeries {
+	//the first index with enough history for a TMF
+	public static final int FIRST_TMF = Candlestick.TMF_DEFAULT_PERIODS * 2;
+
+	private final Candlestick[] candles;
+	private final double[] tmfs; //0 before there is enough history, as those are never looked up
+	private final int[] nonNegatives; //the number of TMFs at least 0 before each index
+	private final RollingMoments moments;
+
+	public TMFSeries(Candlestick[] candles) {
+		this.candles = candles;
+		int n = candles.length;
+		double[] volume = Candlestick.volumes(candles);
+		double[] ad = new double[n];
+		int[] undefined = new int[n + 1]; //the number of undefined accumulations before each index
+		for (int i = 0; i < n; i ++) {
+			ad[i] = i == 0 ? Double.NaN : Candlestick.accumulation(candles[i], candles[i - 1].close);
+			undefined[i + 1] = undefined[i] + (Double.isNaN(ad[i]) ? 1 : 0);
+		}
+		double[] volumeEMAs = Numerics.EMASeries(volume, Candlestick.TMF_DEFAULT_PERIODS);
+		double[] adEMAs = Numerics.EMASeries(ad, Candlestick.TMF_DEFAULT_PERIODS);
+		tmfs = new double[n];
+		nonNegatives = new int[n + 1];
+		for (int i = 0; i < n; i ++) {
+			int from = i + 1 - FIRST_TMF;
+			if (i < FIRST_TMF) {
+				tmfs[i] = 0D;
+			} else if (undefined[i + 1] == undefined[from]) {
+				double volumeEMA = volumeEMAs[i];
+				double adEMA = adEMAs[i];
+				if (Double.isNaN(volumeEMA) || Double.isNaN(adEMA)) {
+					//an undefined accumulation stays in the sliding sums until they are next resummed, which can be after it
+					//has left the window
+					volumeEMA = Numerics.EMA(volume, from, i + 1, Candlestick.TMF_DEFAULT_PERIODS);
+					adEMA = Numerics.EMA(ad, from, i + 1, Candlestick.TMF_DEFAULT_PERIODS);
+				}
+				tmfs[i] = Numerics.lockRange(-1, adEMA / volumeEMA, 1);
+			} else {
+				//the undefined accumulations are interpolated in place so they need their own copy of the window
+				tmfs[i] = Candlestick.calculateTwiggsMoneyFlow(Arrays.copyOfRange(volume, from, i + 1), Arrays.copyOfRange(ad, from, i + 1));
+			}
+			nonNegatives[i + 1] = nonNegatives[i] + (tmfs[i] >= 0 ? 1 : 0);
+		}
+		moments = new RollingMoments(tmfs);
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return tmfs.length; }
+
+	//As Candlestick.calculateTwiggsMoneyFlow
+	public double get(int index) {
+		SeriesChecks.require(index >= FIRST_TMF && index < tmfs.length, index);
+		return tmfs[index];
+	}
+
+	//As Candlestick.calculateTMFGraph, the TMFs of the periods ends up to and including index
+	public double[] graph(int index, int periods) {
+		SeriesChecks.require(periods == 0 || index + 1 - periods >= FIRST_TMF && index < tmfs.length, index + 1 - periods);
+		return Arrays.copyOfRange(tmfs, index + 1 - periods, index + 1);
+	}
+
+	//As Numerics.trend on the graph of the periods ends up to and including index
+	public double trend(int index, int periods) {
+		SeriesChecks.require(periods == 0 || index + 1 - periods >= FIRST_TMF && index < tmfs.length, index + 1 - periods);
+		return moments.trend(index + 1 - periods, index + 1);
+	}
+
+	//The number of TMFs at least 0 in the graph of the periods ends up to and including index
+	public int nonNegatives(int index, int periods) {
+		SeriesChecks.require(periods == 0 || index + 1 - periods >= FIRST_TMF && index < tmfs.length, index + 1 - periods);
+		return nonNegatives[index + 1] - nonNegatives[index + 1 - periods];
+	}
+}
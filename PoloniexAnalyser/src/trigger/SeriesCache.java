@@ -0,0 +1,150 @@
+package trigger;
+
+import stocks.AroonSeries;
+import stocks.CandleEvents;
+import stocks.CandleExtremes;
+import stocks.CandleMoments;
+import stocks.CandleSums;
+import stocks.Candlestick;
+import stocks.DPOSeries;
+import stocks.IchimokuSeries;
+import stocks.MACDHistSeries;
+import stocks.RSISeries;
+import stocks.RVISeries;
+import stocks.StochasticSeries;
+import stocks.TMFSeries;
+
+//The series of one set of candles, each only calculated the first time it is asked for. The series are only read once
+//calculated, so one cache can be shared by triggers calculating features on the same candles on different threads
+class SeriesCache {
+	private final Candlestick[] candles;
+	private volatile MACDHistSeries macdHists;
+	private volatile CandleExtremes candleExtremes;
+	private volatile CandleSums candleSums;
+	private volatile CandleEvents candleEvents;
+	private volatile CandleMoments candleMoments;
+	private volatile AroonSeries aroonSeries;
+	private volatile RSISeries rsiSeries;
+	private volatile TMFSeries tmfSeries;
+	private volatile IchimokuSeries ichimokuSeries;
+	private volatile StochasticSeries stochasticSeries;
+	private volatile RVISeries rviSeries;
+	private volatile DPOSeries dpoSeries;
+
+	SeriesCache(Candlestick[] candles) {
+		this.candles = candles;
+	}
+
+	//Whether this cache is for candles
+	boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	MACDHistSeries getMACDHistSeries() {
+		if (macdHists == null) {
+			synchronized (this) {
+				if (macdHists == null) { macdHists = new MACDHistSeries(candles); }
+			}
+		}
+		return macdHists;
+	}
+
+	CandleExtremes getCandleExtremes() {
+		if (candleExtremes == null) {
+			synchronized (this) {
+				if (candleExtremes == null) { candleExtremes = new CandleExtremes(candles); }
+			}
+		}
+		return candleExtremes;
+	}
+
+	CandleSums getCandleSums() {
+		if (candleSums == null) {
+			synchronized (this) {
+				if (candleSums == null) { candleSums = new CandleSums(candles); }
+			}
+		}
+		return candleSums;
+	}
+
+	CandleEvents getCandleEvents() {
+		if (candleEvents == null) {
+			synchronized (this) {
+				if (candleEvents == null) { candleEvents = new CandleEvents(candles); }
+			}
+		}
+		return candleEvents;
+	}
+
+	CandleMoments getCandleMoments() {
+		if (candleMoments == null) {
+			synchronized (this) {
+				if (candleMoments == null) { candleMoments = new CandleMoments(candles); }
+			}
+		}
+		return candleMoments;
+	}
+
+	AroonSeries getAroonSeries() {
+		if (aroonSeries == null) {
+			synchronized (this) {
+				if (aroonSeries == null) { aroonSeries = new AroonSeries(candles); }
+			}
+		}
+		return aroonSeries;
+	}
+
+	RSISeries getRSISeries() {
+		if (rsiSeries == null) {
+			synchronized (this) {
+				if (rsiSeries == null) { rsiSeries = new RSISeries(candles); }
+			}
+		}
+		return rsiSeries;
+	}
+
+	TMFSeries getTMFSeries() {
+		if (tmfSeries == null) {
+			synchronized (this) {
+				if (tmfSeries == null) { tmfSeries = new TMFSeries(candles); }
+			}
+		}
+		return tmfSeries;
+	}
+
+	IchimokuSeries getIchimokuSeries() {
+		if (ichimokuSeries == null) {
+			CandleExtremes extremes = getCandleExtremes();
+			synchronized (this) {
+				if (ichimokuSeries == null) { ichimokuSeries = new IchimokuSeries(candles, extremes); }
+			}
+		}
+		return ichimokuSeries;
+	}
+
+	StochasticSeries getStochasticSeries() {
+		if (stochasticSeries == null) {
+			CandleExtremes extremes = getCandleExtremes();
+			synchronized (this) {
+				if (stochasticSeries == null) { stochasticSeries = new StochasticSeries(candles, extremes); }
+			}
+		}
+		return stochasticSeries;
+	}
+
+	RVISeries getRVISeries() {
+		if (rviSeries == null) {
+			synchronized (this) {
+				if (rviSeries == null) { rviSeries = new RVISeries(candles); }
+			}
+		}
+		return rviSeries;
+	}
+
+	DPOSeries getDPOSeries() {
+		if (dpoSeries == null) {
+			synchronized (this) {
+				if (dpoSeries == null) { dpoSeries = new DPOSeries(candles); }
+			}
+		}
+		return dpoSeries;
+	}
+}
@@ -1,14 +1,20 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
+import stocks.CandleExtremes;
 import stocks.Candlestick;
+import stocks.CrossoverSeries;
 import stocks.Numerics;
 
 public class TriggerEMAAbove extends Trigger {
 
+	private static final int ENTRY_EMA_LENGTH = 10;
+	private static final int EXIT_EMA_LENGTH = 6;
+
+	private CrossoverSeries entries;
+	private CrossoverSeries exits;
+
 	public TriggerEMAAbove() throws Exception { super("emaabove", Trigger.HALF_HOUR); }
 
 	@Override
@@ -18,7 +24,7 @@ public class TriggerEMAAbove extends Trigger {
 
 	@Override
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double ema = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, index + 1)), 10);
+		double ema = getEntries(candles).slow(index);
 		if (Numerics.pc(ema, candles[index].getClose()) > 0.75) {
 			if (Numerics.pc(ema, candles[index - 1].getClose()) < 0.75) {
 				return true;
@@ -30,22 +36,40 @@ public class TriggerEMAAbove extends Trigger {
 		}
 	}
 
+	//The closes against their 10 period EMA, only recalculated when different candles are passed in
+	private CrossoverSeries getEntries(Candlestick[] candles) {
+		CrossoverSeries series = entries;
+		if (series == null || !series.isFor(candles)) {
+			series = CrossoverSeries.closeOverEMA(candles, ENTRY_EMA_LENGTH);
+			entries = series;
+		}
+		return series;
+	}
+
+	//The closes against their 6 period EMA, only recalculated when different candles are passed in
+	private CrossoverSeries getExits(Candlestick[] candles) {
+		CrossoverSeries series = exits;
+		if (series == null || !series.isFor(candles)) {
+			series = CrossoverSeries.closeOverEMA(candles, EXIT_EMA_LENGTH);
+			exits = series;
+		}
+		return series;
+	}
+
 	@Override
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv,
 			String ticker, boolean future) throws Exception {
 		if (future) {
-			int sellsIndex = index + 1;
-			while (Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, sellsIndex + 1)), 6) < candles[sellsIndex].getClose()) {
-				sellsIndex ++;
-			}
+			int sellsIndex = getExits(candles).nextNotAbove(index);
 
-			double highBeforeSell = Candlestick.high(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowBeforeSell = Candlestick.low(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			CandleExtremes extremes = getCandleExtremes(candles);
+			double highBeforeSell = extremes.high(index + 1, sellsIndex + 1);
+			double lowBeforeSell = extremes.low(index + 1, sellsIndex + 1);
 
-			double highOpenIndex = Candlestick.highOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpenIndex = Candlestick.lowOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double highOpen = Candlestick.highOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpen = Candlestick.lowOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			double highOpenIndex = extremes.highOpenIndex(index + 1, sellsIndex + 1);
+			double lowOpenIndex = extremes.lowOpenIndex(index + 1, sellsIndex + 1);
+			double highOpen = extremes.highOpen(index + 1, sellsIndex + 1);
+			double lowOpen = extremes.lowOpen(index + 1, sellsIndex + 1);
 
 			double sellApprox = candles[sellsIndex + 1].getOpen();
 			double purchaseApprox = candles[index + 1].getOpen();
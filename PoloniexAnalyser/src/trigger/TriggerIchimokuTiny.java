@@ -1,10 +1,9 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
+import stocks.IchimokuSeries;
 
 public class TriggerIchimokuTiny extends Trigger {
 
@@ -16,8 +15,9 @@ public class TriggerIchimokuTiny extends Trigger {
 
 	@Override
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double lastSignal = Candlestick.ichimokuSignal(Arrays.copyOfRange(candles, 0, index)/*, 20, 60*/);
-		double curSignal = Candlestick.ichimokuSignal(Arrays.copyOfRange(candles, 0, index + 1)/*, 20, 60*/);
+		IchimokuSeries signals = getIchimokuSeries(candles);
+		double lastSignal = signals.get(index - 1/*, 20, 60*/);
+		double curSignal = signals.get(index/*, 20, 60*/);
 		
 		if (lastSignal < 0 && curSignal > 0) {
 			return true;
@@ -30,10 +30,11 @@ public class TriggerIchimokuTiny extends Trigger {
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv,
 			String ticker, boolean future) throws Exception {
 		if (future) {
+			IchimokuSeries signals = getIchimokuSeries(candles);
 			int sellsIndex = index;
 			while (true) {
 				sellsIndex++;
-				double curSignal = Candlestick.ichimokuSignal(Arrays.copyOfRange(candles, 0, sellsIndex + 1)/*, 20, 60*/);
+				double curSignal = signals.get(sellsIndex/*, 20, 60*/);
 				if (curSignal < 0) {
 					break;
 				}
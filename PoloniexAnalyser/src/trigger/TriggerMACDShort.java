@@ -1,9 +1,9 @@
 package trigger;
-import java.util.Arrays;
 
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
+import stocks.MACDHistSeries;
 import stocks.Numerics;
 
 public class TriggerMACDShort extends Trigger {
@@ -28,11 +28,12 @@ public class TriggerMACDShort extends Trigger {
 	}
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double curHist = Candlestick.calculateMACDHist(Arrays.copyOfRange(candles, 0, index + 1));
+		MACDHistSeries hists = getMACDHistSeries(candles);
+		double curHist = hists.get(index);
 		if (curHist > 0) { return false; }
-		double prevHist = Candlestick.calculateMACDHist(Arrays.copyOfRange(candles, 0, index));
+		double prevHist = hists.get(index - 1);
 		if (prevHist > 0 || prevHist > curHist) { return false; }
-		double lastHist = Candlestick.calculateMACDHist(Arrays.copyOfRange(candles, 0, index - 1));
+		double lastHist = hists.get(index - 2);
 		if (curHist > prevHist && prevHist < lastHist &&
 				curHist < 0 && prevHist < 0 && lastHist < 0) {
 			try { //exception thrown if next histogram peak not inside array and as features cannot be calculated, false is returned
@@ -44,24 +45,25 @@ public class TriggerMACDShort extends Trigger {
 	}
 
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future) throws Exception {
-		int sellsIndex = !future ? 0 : Candlestick.calculateMACDHistNextSellsIndex(candles, index);
+		MACDHistSeries hists = getMACDHistSeries(candles);
+		int sellsIndex = !future ? 0 : hists.nextSellsIndex(index);
 		calculateDefinedEndFeatures(candles, btcCandles, index, fv, ticker, future, sellsIndex);
 
-		fv.setFeature("numsellpeak",                    Candlestick.calculateMACDHistSells(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("numbuystrough",                  Candlestick.calculateMACDHistBuys(Arrays.copyOfRange(candles, 0, index)));
+		fv.setFeature("numsellpeak",                    hists.sells(index));
+		fv.setFeature("numbuystrough",                  hists.buys(index));
 
-		int lastSellIndex = index - Candlestick.calculateMACDHistSellsOffset(Arrays.copyOfRange(candles, 0, index + 1));
+		int lastSellIndex = index - hists.sellsOffset(index + 1);
 		fv.setFeature("pdlastsell",                     Numerics.pc(candles[lastSellIndex + 1].getOpen(), candles[index].getClose()));
-		fv.setFeature("stanmacdsell",                   Candlestick.calculateStanMACDHist(Arrays.copyOfRange(candles, 0, lastSellIndex + 1)));
-		fv.setFeature("stanmacddiffsell",               fv.getFeature("stanmacdsell") - Candlestick.calculateStanMACDHist(Arrays.copyOfRange(candles, 0, lastSellIndex)));
+		fv.setFeature("stanmacdsell",                   hists.stanMACDHist(lastSellIndex + 1));
+		fv.setFeature("stanmacddiffsell",               fv.getFeature("stanmacdsell") - hists.stanMACDHist(lastSellIndex));
 		fv.setFeature("pdpricemacdsell",                Numerics.pc(candles[lastSellIndex - 1].getClose(), candles[lastSellIndex].getClose()));
-		int lastBuyIndex = lastSellIndex - Candlestick.calculateMACDHistBuysOffset(Arrays.copyOfRange(candles, 0, lastSellIndex + 1));
+		int lastBuyIndex = lastSellIndex - hists.buysOffset(lastSellIndex + 1);
 		fv.setFeature("pdlastbuy",                      Numerics.pc(candles[lastBuyIndex + 1].getOpen(), candles[index].getClose()));
-		fv.setFeature("stanmacdpastbuy",                Candlestick.calculateStanMACDHist(Arrays.copyOfRange(candles, 0, lastBuyIndex + 1)));
-		fv.setFeature("stanmacd",                       Candlestick.calculateStanMACDHist(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("stanmacddiffpastbuy",            Candlestick.calculateStanMACDHist(Arrays.copyOfRange(candles, 0, lastBuyIndex)) - fv.getFeature("stanmacdpastbuy"));
+		fv.setFeature("stanmacdpastbuy",                hists.stanMACDHist(lastBuyIndex + 1));
+		fv.setFeature("stanmacd",                       hists.stanMACDHist(index + 1));
+		fv.setFeature("stanmacddiffpastbuy",            hists.stanMACDHist(lastBuyIndex) - fv.getFeature("stanmacdpastbuy"));
 		fv.setFeature("pdpricemacdpastbuy",             Numerics.pc(candles[lastBuyIndex - 1].getClose(), candles[lastBuyIndex].getClose()));
-		fv.setFeature("stanmacddiff",                   fv.getFeature("stanmacd") - Candlestick.calculateStanMACDHist(Arrays.copyOfRange(candles, 0, index)));
+		fv.setFeature("stanmacddiff",                   fv.getFeature("stanmacd") - hists.stanMACDHist(index));
 	}
 
 	protected void _load(DataSet ds) throws Exception {
@@ -1,11 +1,9 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
-import stocks.Numerics;
+import stocks.CrossoverSeries;
 
 public class TriggerMACross extends Trigger {
 
@@ -14,37 +12,32 @@ public class TriggerMACross extends Trigger {
 	private static final int EMA_LENGTH = 30;
 	private static final int SMA_LENGTH = 50;
 
+	private CrossoverSeries crossovers;
+
 	protected void addFeaturesToDataSet(DataSet set) throws Exception {
 		addDefinedEndFeatures(set);
 	}
 
 	@Override
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double lastEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, index)), EMA_LENGTH);
-		double curEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, index + 1)), EMA_LENGTH);
-		double lastSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, index - SMA_LENGTH, index)));
-		double curSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, index + 1 - SMA_LENGTH, index + 1)));
+		return getCrossovers(candles).crossedUp(index);
+	}
 
-		if (lastEMA < lastSMA && curEMA > curSMA) {
-			return true;
-		} else {
-			return false;
+	//The EMA of the closes against their SMA, only recalculated when different candles are passed in
+	private CrossoverSeries getCrossovers(Candlestick[] candles) {
+		CrossoverSeries series = crossovers;
+		if (series == null || !series.isFor(candles)) {
+			series = CrossoverSeries.emaOverSMA(candles, EMA_LENGTH, SMA_LENGTH);
+			crossovers = series;
 		}
+		return series;
 	}
 
 	@Override
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv,
 			String ticker, boolean future) throws Exception {
 		if (future) {
-			int sellsIndex = index;
-			while (true) {
-				sellsIndex++;
-				double curEMA = Numerics.EMA(Candlestick.closePrices(Arrays.copyOfRange(candles, 0, sellsIndex + 1)), EMA_LENGTH);
-				double curSMA = Numerics.SMA(Candlestick.closePrices(Arrays.copyOfRange(candles, sellsIndex + 1 - SMA_LENGTH, sellsIndex + 1)));
-				if (curEMA < curSMA) {
-					break;
-				}
-			}
+			int sellsIndex = getCrossovers(candles).nextBelow(index);
 			calculateFutureDefinedEndFeatures(candles, btcCandles, fv, index, sellsIndex);
 		} else {
 			fillDefinedEndFeatures(fv);
@@ -1,10 +1,9 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
+import stocks.TMFSeries;
 
 public class TriggerNegativeTMF extends Trigger {
 	public TriggerNegativeTMF() throws Exception { super("negative-tmf", Trigger.HALF_HOUR); }
@@ -14,12 +13,9 @@ public class TriggerNegativeTMF extends Trigger {
 	}
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		Candlestick[] pastCandles = Arrays.copyOfRange(candles, 0, index + 1);
-		double[] tmfs = Candlestick.calculateTMFGraph(pastCandles, Trigger.THREE_DAYS / getTimePeriod());
-		for (int i = 0; i < tmfs.length - 1; i ++) {
-			if (tmfs[i] >= 0) { return false; }
-		}
-		return tmfs[tmfs.length - 1] > 0;
+		TMFSeries tmfs = getTMFSeries(candles);
+		int periods = Trigger.THREE_DAYS / getTimePeriod();
+		return tmfs.nonNegatives(index - 1, periods - 1) == 0 && tmfs.get(index) > 0;
 	}
 
 	@Override
@@ -1,16 +1,19 @@
 package trigger;
 
-import java.util.Arrays;
-
 import stocks.Candlestick;
+import stocks.EventIndex;
 import stocks.Numerics;
 
 public class TriggerSteadyDump extends TriggerSuddenDump {
 
+	private static final int STEADY_GAP = 48; //the number of candles before a steady dump which cannot end on one
+
+	private EventIndex steadyDumps;
+
 	public TriggerSteadyDump() throws Exception { super("steadydump"); }
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		if (isSteadyDump(Arrays.copyOfRange(candles, 0, index + 1))) {
+		if (isSteadyDump(candles, index + 1)) {
 			try {
 				return true;
 			} catch (Exception e) { return false; }
@@ -19,12 +22,16 @@ public class TriggerSteadyDump extends TriggerSuddenDump {
 		}
 	}
 
-	private boolean isSteadyDump(Candlestick[] candles) {
-		boolean meets = wasSteadyDump(candles);
-		Candlestick[] candles2;
-		for (int i = 0; i < 48; i ++) {
-			candles2 = Arrays.copyOfRange(candles, 0, candles.length - (i + 1));
-			if (wasSteadyDump(candles2)) {
+	//Whether the first end candles finish on a steady dump, taken from the index of steady dumps when the candles have
+	//enough history for every check
+	private boolean isSteadyDump(Candlestick[] candles, int end) {
+		if (end - STEADY_GAP >= STEADY_GAP && end <= candles.length) {
+			EventIndex steady = getSteadyDumps(candles);
+			return steady.get(end) && steady.count(end - STEADY_GAP, end) == 0;
+		}
+		boolean meets = wasSteadyDump(candles, end);
+		for (int i = 0; i < STEADY_GAP; i ++) {
+			if (wasSteadyDump(candles, end - (i + 1))) {
 				return false;
 			}
 		}
@@ -32,15 +39,29 @@ public class TriggerSteadyDump extends TriggerSuddenDump {
 		return meets;
 	}
 
-	private boolean wasSteadyDump(Candlestick[] candles) {
+	//Whether the first end candles finished on a steady dump, for every end with enough history
+	private EventIndex getSteadyDumps(Candlestick[] candles) {
+		EventIndex steady = steadyDumps;
+		if (steady == null || !steady.isFor(candles)) {
+			boolean[] events = new boolean[candles.length + 1];
+			for (int end = STEADY_GAP; end <= candles.length; end ++) {
+				events[end] = wasSteadyDump(candles, end);
+			}
+			steady = new EventIndex(candles, events);
+			steadyDumps = steady;
+		}
+		return steady;
+	}
+
+	private boolean wasSteadyDump(Candlestick[] candles, int end) {
 		boolean steady = true;
 		for (int i = -3; i < 0; i ++) {
-			if (candles[candles.length+i].delta() >= 0) { return false; }
+			if (candles[end+i].delta() >= 0) { return false; }
 		}
-		if (Numerics.pc(candles[candles.length-3].getOpen(), candles[candles.length-1].getClose()) > Candlestick.DUMP_DELTA) {
+		if (Numerics.pc(candles[end-3].getOpen(), candles[end-1].getClose()) > Candlestick.DUMP_DELTA) {
 			return false;
 		}
-		if (candles[candles.length-1].getClose() > Candlestick.low(Arrays.copyOfRange(candles, candles.length - 48, candles.length - 1))) {
+		if (candles[end-1].getClose() > Candlestick.low(candles, end - 48, end - 1)) {
 			return false;
 		}
 		return steady;
@@ -16,11 +16,14 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import csvutils.FeatureVector;
+import indicators.IndicatorState;
 import models.LogisticRegressionModel;
 import models.PredictionModel;
 import models.TrainedModel;
 import stocks.Candlestick;
 import stocks.Stock;
+import trigger.FeatureCache;
+import trigger.FeaturePlan;
 import trigger.Trigger;
 import trigger.TriggerAll;
 import trigger.TriggerAllLong;
@@ -96,6 +99,20 @@ public class Monitor {
 		trigModelMappings.add(entry);
 	}
 
+	//Plans every trigger to only calculate the features some loaded model uses. The triggers share cached features, so
+	//they all share one plan
+	public static void planFeatures() {
+		HashSet<String> required = new HashSet<String>();
+		for (Entry <Trigger, PredictionModel> entry : trigModelMappings) {
+			required.addAll(entry.getValue().getInputFeatures());
+			required.add(entry.getValue().getOutputFeature());
+		}
+		FeaturePlan plan = FeaturePlan.of(required);
+		for (Entry <Trigger, PredictionModel> entry : trigModelMappings) {
+			entry.getKey().setFeaturePlan(plan);
+		}
+	}
+
 	public static int getMinTime() {
 		int min = Integer.MAX_VALUE;
 		for (Entry <Trigger, PredictionModel> entry : trigModelMappings) {
@@ -117,6 +134,7 @@ public class Monitor {
 	public static void main(String[] args) {
 		try {
 			fillModels();
+			planFeatures();
 			(new Thread(new Runnable() {
 				public void run() {
 					try { outputPredictions(Stock.POLONIEX); } catch (Exception e) { e.printStackTrace(); }
@@ -141,6 +159,8 @@ public class Monitor {
 		Stock btc = new Stock(Stock.getBTCTicker(exchange), exchange);
 		System.out.println("Now monitoring stocks on " + exchange);
 		long nextNextTime = 0L;
+		HashMap<String, IndicatorState> indicatorStates = new HashMap<String, IndicatorState>();
+		FeatureCache featureCache = new FeatureCache();
 		while (true) {
 			long nextTime = Math.round(Math.ceil((double)getCurTime()/min)) * (long)min;
 			if (nextTime > nextNextTime && nextNextTime != 0) {
@@ -217,9 +237,20 @@ public class Monitor {
 					} else {
 						stockCandles = s.getCandles(firstTime, endTime, entry.getKey().getTimePeriod());
 					}
+					//the state consumes every cycle's candles so it only ever has the latest few to catch up on when triggered
+					IndicatorState state = null;
+					if (!aggregate) {
+						String key = s.ticker + "-" + entry.getKey().getTimePeriod();
+						state = indicatorStates.get(key);
+						if (state == null) {
+							state = entry.getKey().newIndicatorState();
+							indicatorStates.put(key, state);
+						}
+						state.update(stockCandles);
+					}
 					if (entry.getKey().isTriggered(stockCandles, btcCandles, stockCandles.length - 1)) {
 						fv = entry.getKey().getDataSet().genBlankVector();
-						entry.getKey().calculatePastFeatures(stockCandles, btcCandles, stockCandles.length - 1, fv, s.ticker);
+						entry.getKey().calculatePastFeatures(stockCandles, btcCandles, stockCandles.length - 1, fv, exchange, s.ticker, state, featureCache);
 						double[] input = entry.getKey().getInput(fv, entry.getValue().getOutputFeature(), entry.getValue().getInputFeatures());
 						double prediction = entry.getValue().getTrainedPrediction(input);
 						predictions.add(new AbstractMap.SimpleEntry<String, Double[]>(s.ticker, new Double[] { prediction, stockCandles[stockCandles.length - 1].close }));
@@ -229,7 +260,8 @@ public class Monitor {
 				outputScores(dir + exchange + "/" + entry.getValue().getName(), sdf.format(nextTime * 1000), predictions);
 				pruneScores(dir + exchange + "/" + entry.getValue().getName());
 			}
-			System.out.println("Ending checking on " + exchange);
+			System.out.println("Ending checking on " + exchange + " (" + featureCache.getHits() + " cached feature sets reused)");
+			featureCache.clear();
 		}
 	}
 
@@ -18,6 +18,7 @@ public class DataSet {
 	private ArrayList<String> outputs;
 	private ArrayList<String> unused;
 	private boolean inserted;
+	private FeatureSchema schema; //compiled from the features when first asked for
 
 	private static final int PRUNE_AMOUNT = 140;
 
@@ -198,6 +199,7 @@ public class DataSet {
 			if (!features.containsKey(key)) {
 				features.put(key, features.size());
 				featuresIndex.add(key);
+				schema = null;
 			} else {
 				throw new Exception("Feature " + key + " already exists");
 			}
@@ -215,19 +217,10 @@ public class DataSet {
 	}
 
 	public void outputCorrelation(double[] scores) throws Exception {
-		ArrayList<Double> scoresList = new ArrayList<Double>();
-		for (double score : scores) { scoresList.add(score); }
-		outputCorrelation(scoresList);
-	}
-
-	public void outputCorrelation(ArrayList<Double> scores) throws Exception {
 		ArrayList<FeatureCorrelation> fc = new ArrayList<FeatureCorrelation>();
 		for (int x = 0; x < this.getFeatureCount(); x ++) {
 			if (this.outputs.contains(getKeyAt(x)) || this.unused.contains(getKeyAt(x))) { continue; }
-			double[] featureArray = getFeature(getKeyAt(x));
-			ArrayList<Double> y = new ArrayList<Double>();
-			for (double d : featureArray) { y.add(d); }
-			fc.add(new FeatureCorrelation(getKeyAt(x), ErrorCalculation.pearsons(y, scores)));
+			fc.add(new FeatureCorrelation(getKeyAt(x), ErrorCalculation.pearsons(getFeature(getKeyAt(x)), scores)));
 		}
 		Collections.sort(fc, Collections.reverseOrder());
 		for (FeatureCorrelation f : fc) {
@@ -235,11 +228,15 @@ public class DataSet {
 		}
 
 		double[][] featureArray = this.getOutputs();
-		ArrayList<Double> y = new ArrayList<Double>();
-		for (int i = 0; i < featureArray.length; i ++) { y.add(featureArray[i][0]); }
+		double[] y = new double[featureArray.length];
+		for (int i = 0; i < featureArray.length; i ++) { y[i] = featureArray[i][0]; }
 		System.out.println("Output:\t" + ErrorCalculation.pearsons(y, scores));
 	}
 
+	public void outputCorrelation(ArrayList<Double> scores) throws Exception {
+		outputCorrelation(primitives(scores.toArray(new Double[scores.size()])));
+	}
+
 	public void markUnusedUnless(String output, ArrayList<String> inputs) throws Exception {
 		for (int x = 0; x < this.getFeatureCount(); x ++) {
 			if (!inputs.contains(getKeyAt(x)) && !output.equals(getKeyAt(x))) {
@@ -265,22 +262,16 @@ public class DataSet {
 	}
 
 	public void pruneUseless() throws Exception {
-		ArrayList<Double> outputsList = new ArrayList<Double>();
 		double[][] outputs = this.getOutputs();
-		for (int i = 0; i < outputs.length; i ++) {
-			outputsList.add(outputs[i][0]);
-		}
 		ArrayList<FeatureCorrelation> fc = new ArrayList<FeatureCorrelation>();
 		for (int x = 0; x < this.getFeatureCount(); x ++) {
 			if (this.outputs.contains(getKeyAt(x)) || this.unused.contains(getKeyAt(x))) { continue; }
-			ArrayList<Double> feature = new ArrayList<Double>();
 			double[] featureArray = getFeature(getKeyAt(x));
 			double[][] finalFeatureArray = new double[featureArray.length][];
 			for (int i = 0; i < featureArray.length; i ++) {
 				finalFeatureArray[i] = new double[1];
 				finalFeatureArray[i][0] = featureArray[i];
 			}
-			for (double d : featureArray) { feature.add(d); }
 			fc.add(new FeatureCorrelation(getKeyAt(x), ErrorCalculation.computeCorrelation(outputs, finalFeatureArray)));
 		}
 
@@ -310,6 +301,10 @@ public class DataSet {
 		for (String feature : headers) {
 			set.addFeature(feature);
 		}
+		FeatureSchema.Slot[] slots = new FeatureSchema.Slot[headers.length];
+		for (int i = 0; i < headers.length; i ++) {
+			slots[i] = set.getSchema().handle(headers[i]);
+		}
 		String line;
 		String[] split;
 		while ((line = br.readLine()) != null) {
@@ -317,7 +312,7 @@ public class DataSet {
 			if (Math.random() > LOAD_SKIP_CONSTANT) { continue; }
 			split = line.split(",");
 			for (int i = 0; i < split.length; i ++) {
-				fv.setFeature(headers[i], Double.parseDouble(split[i]));
+				fv.setFeature(slots[i], Double.parseDouble(split[i]));
 			}
 			set.insertVector(fv);
 		}
@@ -334,7 +329,7 @@ public class DataSet {
 	//Inserts a FeatureVector into the DataSet
 	public void insertVector(FeatureVector fv) throws Exception {
 		String s;
-		if (!fv.matches(features)) {
+		if (!fv.matches(getSchema())) {
 			throw new Exception("Feature Vector does not match predefined template for this DataSet");
 		}
 		if ((s = fv.incomplete()) != null) {
@@ -343,6 +338,13 @@ public class DataSet {
 		vectors.add(fv);
 	}
 
+	//The features compiled to their slots. Features cannot be added once a vector has been generated, so the vectors
+	//of this DataSet all share the one schema
+	public FeatureSchema getSchema() {
+		if (schema == null) { schema = new FeatureSchema(featuresIndex); }
+		return schema;
+	}
+
 	//Generated a blank feature vector which can be filled
 	public FeatureVector genBlankVector() {
 		inserted = true;
@@ -21,20 +21,16 @@ public class ErrorCalculation {
 	
 	public static double computeCorrelation(double[][] actual, double[][] predictions) {
 		double[] correlations = new double[actual[0].length];
-		
+		double[] x = new double[actual.length];
+		double[] y = new double[actual.length];
 		for (int i = 0; i < actual[0].length; i ++) {
-			ArrayList<Double> x = new ArrayList<Double>();
-			ArrayList<Double> y = new ArrayList<Double>();
 			for (int i2 = 0; i2 < actual.length; i2 ++) {
-				x.add(actual[i2][i]);
-				y.add(predictions[i2][i]);
+				x[i2] = actual[i2][i];
+				y[i2] = predictions[i2][i];
 			}
 			correlations[i] = pearsons(x, y);
 		}
-		
-		double mean = 0D;
-		for (int i = 0; i < correlations.length; i ++) { mean += correlations[i]; }
-		return mean / (double) correlations.length;
+		return Kernels.mean(correlations, 0, correlations.length);
 	}
 
 	//Computes the total error of two 1d arrays
@@ -47,32 +43,23 @@ public class ErrorCalculation {
 	}
 	
 	public static double pearsons(ArrayList<Double> x, ArrayList<Double> y) {
-		double meanX = mean(x);
-		double meanY = mean(y);
-		double rXY = 0;
-		double rXX = 0;
-		double rYY = 0;
-		for (int i = 0; i < x.size(); i ++) {
-			rXY += (x.get(i) - meanX) * (y.get(i) - meanY);
-			rXX += (x.get(i) - meanX) * (x.get(i) - meanX);
-			rYY += (y.get(i) - meanY) * (y.get(i) - meanY);
-			if (Double.isNaN(rYY)) {
-				System.out.println(y.get(i) + " Y:" + meanY);
-			}
-			if (Double.isNaN(rXX)) {
-				//System.out.println(x.get(i) + " X:" + meanX);
-			}
-		}
-
-		rXX = Math.pow(rXX, 0.5);
-		rYY = Math.pow(rYY, 0.5);
+		return pearsons(unbox(x), unbox(y));
+	}
 
-		return rXY / (rXX * rYY);
+	//The pearsons correlation of the first x.length values of x and y
+	public static double pearsons(double[] x, double[] y) {
+		double[] sums = new double[3];
+		Kernels.deviationSums(x, y, 0, x.length, Kernels.mean(x, 0, x.length), Kernels.mean(y, 0, y.length), sums);
+		return sums[0] / (Math.pow(sums[1], 0.5) * Math.pow(sums[2], 0.5));
 	}
 	
 	public static double mean(ArrayList<Double> input) {
-		double sum = 0;
-		for (Double d : input) { sum += d; }
-		return sum / input.size();
+		return Kernels.mean(unbox(input), 0, input.size());
+	}
+
+	private static double[] unbox(ArrayList<Double> input) {
+		double[] values = new double[input.size()];
+		for (int i = 0; i < values.length; i ++) { values[i] = input.get(i); }
+		return values;
 	}
 }
\ No newline at end of file
@@ -1,15 +1,13 @@
 package csvutils;
 import java.io.BufferedWriter;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 public class FeatureVector {
 	
-	private DataSet ds;
+	private final FeatureSchema schema;
 	double[] features;
 
 	public FeatureVector(DataSet ds, int size) {
-		this.ds = ds;
+		schema = ds.getSchema();
 		features = new double[size];
 		for (int i = 0; i < size; i ++) {
 			features[i] = Double.NaN;
@@ -17,50 +15,44 @@ public class FeatureVector {
 	}
 
 	//Checks to see if this FeatureVector matches a template
-	public boolean matches(LinkedHashMap<String, Integer> check) {
-		for (Map.Entry<String, Integer> entry : check.entrySet()) {
-			if (!ds.features.containsKey(entry.getKey())) {
-				return false;
-			}
-		}
-		if (check.size() != ds.features.size()) { return false; }
-		return true;
+	public boolean matches(FeatureSchema check) {
+		return schema.matches(check);
 	}
 	
 	public double[] getFeatures() { return features; }
 
+	public FeatureSchema getSchema() { return schema; }
+
 	//Sets a feature to value
 	public void setFeature(String name, double value) throws Exception {
-		if (ds.features.containsKey(name)) {
-			features[ds.features.get(name)] = value;
-		} else {
-			throw new FeatureNonExistentException();
-		}
+		int slot = schema.slot(name);
+		if (slot == -1) { throw new FeatureNonExistentException(); }
+		features[slot] = value;
+	}
+
+	//Sets a feature resolved by the schema to value
+	public void setFeature(FeatureSchema.Slot slot, double value) {
+		features[slot.index] = value;
 	}
 
 	//Gets the value of a feature
 	public double getFeature(String key) throws Exception {
-		if (ds.features.containsKey(key)) {
-			if (!Double.isNaN(features[ds.features.get(key)])) {
-				return features[ds.features.get(key)];
-			} else {
-				throw new FeatureNotSetException(key);
-			}
-		} else {
-			throw new FeatureNonExistentException();
-		}
+		int slot = schema.slot(key);
+		if (slot == -1) { throw new FeatureNonExistentException(); }
+		if (Double.isNaN(features[slot])) { throw new FeatureNotSetException(key); }
+		return features[slot];
+	}
+
+	//Gets the value of a feature resolved by the schema
+	public double getFeature(FeatureSchema.Slot slot) throws Exception {
+		if (Double.isNaN(features[slot.index])) { throw new FeatureNotSetException(slot.name); }
+		return features[slot.index];
 	}
 
 	//Returns the name of the first feature that has not been set or null if they have all been
 	public String incomplete() {
-		for (int i = 0; i < features.length; i ++) {
-			if (Double.isNaN(features[i])) {
-				for (Map.Entry<String, Integer> entry : ds.features.entrySet()) {
-					if (i == entry.getValue()) { return entry.getKey(); }
-				}
-			}
-		}
-		return null;
+		int slot = schema.missing(features).nextSetBit(0);
+		return slot == -1 ? null : schema.name(slot);
 	}
 
 	
@@ -83,13 +75,7 @@ public class FeatureVector {
 			if (!Double.isNaN(features[i])) {
 				bw.write(features[i] + "");
 			} else {
-				String key = "";
-				int x = 0;
-				for (Map.Entry<String, Integer> entry : ds.features.entrySet()) {
-					if (i == x) { key = entry.getKey(); }
-					x ++;
-				}
-				throw new FeatureNotSetException(key);
+				throw new FeatureNotSetException(schema.name(i));
 			}
 			first = false;
 		}
@@ -0,0 +1,79 @@
+package csvutils;
+
+//Reductions over the doubles from from up to but not including to, which Numerics, Stat and ErrorCalculation are built on.
+//When the JVM is started with --add-modules jdk.incubator.vector the ranges are reduced a vector of lanes at a time by
+//VectorKernels, otherwise one value at a time by ScalarKernels. VectorKernels is loaded by name, so without the module
+//everything but it builds and runs on a plain JDK. The vector sums add the lanes in a different order so
+//can differ from the scalar ones in the last few bits, while the minimums, maximums and indexes are always the same
+public class Kernels {
+	private static final VectorReductions VECTOR = loadVectorKernels();
+	public static final boolean VECTORISED = VECTOR != null;
+	public static final int VECTOR_THRESHOLD = 32; //ranges shorter than this are not worth splitting into lanes
+
+	public static double sum(double[] nums, int from, int to) {
+		if (vector(from, to)) { return VECTOR.sum(nums, from, to); }
+		return ScalarKernels.sum(nums, from, to);
+	}
+
+	public static double mean(double[] nums, int from, int to) {
+		return sum(nums, from, to) / (double) (to - from);
+	}
+
+	//The sum of the squared differences between the nums and mean
+	public static double squaredDeviations(double[] nums, int from, int to, double mean) {
+		if (vector(from, to)) { return VECTOR.squaredDeviations(nums, from, to, mean); }
+		return ScalarKernels.squaredDeviations(nums, from, to, mean);
+	}
+
+	//Math.max of start and the nums, so NaN if any of them are NaN
+	public static double max(double[] nums, int from, int to, double start) {
+		if (vector(from, to)) { return VECTOR.max(nums, from, to, start); }
+		return ScalarKernels.max(nums, from, to, start);
+	}
+
+	//Math.min of start and the nums, so NaN if any of them are NaN
+	public static double min(double[] nums, int from, int to, double start) {
+		if (vector(from, to)) { return VECTOR.min(nums, from, to, start); }
+		return ScalarKernels.min(nums, from, to, start);
+	}
+
+	//The index of the first of the largest nums, skipping NaNs, or -1 if there are only NaNs
+	public static int maxIndex(double[] nums, int from, int to) {
+		if (vector(from, to)) { return VECTOR.maxIndex(nums, from, to); }
+		return ScalarKernels.maxIndex(nums, from, to);
+	}
+
+	//The index of the first of the smallest nums, skipping NaNs, or -1 if there are only NaNs
+	public static int minIndex(double[] nums, int from, int to) {
+		if (vector(from, to)) { return VECTOR.minIndex(nums, from, to); }
+		return ScalarKernels.minIndex(nums, from, to);
+	}
+
+	public static double dot(double[] x, double[] y, int from, int to) {
+		if (vector(from, to)) { return VECTOR.dot(x, y, from, to); }
+		return ScalarKernels.dot(x, y, from, to);
+	}
+
+	//Fills sums with the summed products of the deviations of x and y from their means, xy, xx then yy, for a correlation
+	public static void deviationSums(double[] x, double[] y, int from, int to, double meanX, double meanY, double[] sums) {
+		if (vector(from, to)) {
+			VECTOR.deviationSums(x, y, from, to, meanX, meanY, sums);
+		} else {
+			ScalarKernels.deviationSums(x, y, from, to, meanX, meanY, sums);
+		}
+	}
+
+	//The vector kernels, or null if the JVM does not have the module or they were not compiled
+	private static VectorReductions loadVectorKernels() {
+		if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) { return null; }
+		try {
+			return (VectorReductions) Class.forName("csvutils.VectorKernels").getDeclaredConstructor().newInstance();
+		} catch (Exception | LinkageError e) {
+			return null;
+		}
+	}
+
+	private static boolean vector(int from, int to) {
+		return VECTORISED && to - from >= VECTOR_THRESHOLD;
+	}
+}
@@ -7,10 +7,9 @@ public class Normalisation implements Serializable {
 
 	public Normalisation(double[][] input) {
 		params = new Stat[input[0].length];
-		double[] feature;
+		double[] feature = new double[input.length]; //reused for every feature as fillStat keeps nothing of it
 		for (int i = 0; i < input[0].length; i ++) {
 			params[i] = new Stat();
-			feature = new double[input.length];
 			for (int i2 = 0; i2 < input.length; i2 ++) {
 				feature[i2] = input[i2][i];
 			}
@@ -0,0 +1,87 @@
+package indicators;
+
+//The highest or lowest of the last length values of a stream, updated in O(1) per value by keeping the values which
+//could still be the extreme of a later window in a deque, the latest extreme at the front. NaN values are counted
+//instead of queued
+public class RollingExtreme {
+	private boolean max;
+	private int length;
+	private IndicatorHistory window;
+	private int undefined; //the number of NaN values in the window
+	private double[] values; //the deque, as a ring
+	private long[] indexes; //the index in the stream of each value in the deque
+	private int front;
+	private int size;
+	private long count;
+
+	private RollingExtreme(int length, boolean max) {
+		this.max = max;
+		this.length = length;
+		window = new IndicatorHistory(length);
+		values = new double[length];
+		indexes = new long[length];
+	}
+
+	public static RollingExtreme max(int length) { return new RollingExtreme(length, true); }
+
+	public static RollingExtreme min(int length) { return new RollingExtreme(length, false); }
+
+	//Adds the latest value, dropping the oldest if there are already length
+	public void add(double value) {
+		if (window.size() == length && Double.isNaN(window.get(length - 1))) { undefined --; }
+		window.add(value);
+		while (size > 0 && indexes[front] <= count - length) {
+			front = (front + 1) % length;
+			size --;
+		}
+		if (Double.isNaN(value)) {
+			undefined ++;
+		} else {
+			while (size > 0 && !beats(values[slot(size - 1)], value)) { size --; }
+			values[slot(size)] = value;
+			indexes[slot(size)] = count;
+			size ++;
+		}
+		count ++;
+	}
+
+	public int size() { return window.size(); }
+
+	//The number of NaN values in the window
+	public int undefined() { return undefined; }
+
+	//The extreme of the window as Math.max or Math.min would find it, NaN if the window holds a NaN
+	public double get() {
+		if (window.size() == 0) { throw new ArrayIndexOutOfBoundsException(0); }
+		return undefined > 0 ? Double.NaN : values[front];
+	}
+
+	//The extreme of the values in the window which are not NaN, NaN if there are none
+	public double extreme() {
+		return size > 0 ? values[front] : Double.NaN;
+	}
+
+	//The number of values since the latest extreme which is not NaN, 0 being the latest value
+	public int age() {
+		if (size == 0) { throw new ArrayIndexOutOfBoundsException(0); }
+		return (int)(count - 1 - indexes[front]);
+	}
+
+	public void clear() {
+		window.clear();
+		undefined = 0;
+		front = 0;
+		size = 0;
+		count = 0;
+	}
+
+	//Whether an earlier value stays ahead of a later one, so ties go to the latest
+	private boolean beats(double earlier, double later) {
+		return max ? earlier > later : earlier < later;
+	}
+
+	//The slot in the ring of the position from the front of the deque
+	private int slot(int position) {
+		return (front + position) % length;
+	}
+}
@@ -0,0 +1,86 @@
+package indicators;
+
+//The most recent values of a stream with running totals of them, so the sum of any number of the latest values is O(1).
+//As with PrefixSums the totals carry their rounding error separately, and they are worked out again from the values
+//every capacity values so they stay small. NaN and infinite values are left out of the totals and counted instead, so
+//only the sums which hold them are summed directly
+public class RunningTotal {
+	private IndicatorHistory values;
+	private double[] totals; //the total of the values since the last resum after each of the last capacity + 1 values
+	private double[] errors; //the rounding error of each total
+	private long[] undefined; //the number of NaN or infinite values since the last resum after each of the same values
+	private long count;
+
+	public RunningTotal(int capacity) {
+		values = new IndicatorHistory(capacity);
+		totals = new double[capacity + 1];
+		errors = new double[capacity + 1];
+		undefined = new long[capacity + 1];
+	}
+
+	public int size() { return values.size(); }
+
+	//Adds the latest value, dropping the oldest if full
+	public void add(double value) {
+		values.add(value);
+		total(count, value);
+		count ++;
+		if (count % values.capacity() == 0) { resum(); }
+	}
+
+	//The sum of the latest periods values. A sum holding a NaN or infinite value, or whose totals overflow, is summed
+	//directly
+	public double sum(int periods) {
+		if (periods < 0 || periods > values.size()) { throw new ArrayIndexOutOfBoundsException(periods); }
+		int to = slot(count);
+		int from = slot(count - periods);
+		if (undefined[to] == undefined[from]) {
+			double sum = (totals[to] - totals[from]) + (errors[to] - errors[from]);
+			if (!Double.isNaN(sum) && !Double.isInfinite(sum)) { return sum; }
+		}
+		double sum = 0D;
+		for (int i = periods - 1; i >= 0; i --) {
+			sum += values.get(i);
+		}
+		return sum;
+	}
+
+	public void clear() {
+		values.clear();
+		count = 0;
+		totals[0] = 0D;
+		errors[0] = 0D;
+		undefined[0] = 0;
+	}
+
+	//Works the totals out again from the values held, starting from 0 before the oldest
+	private void resum() {
+		long start = count - values.size();
+		totals[slot(start)] = 0D;
+		errors[slot(start)] = 0D;
+		undefined[slot(start)] = 0;
+		for (long i = start; i < count; i ++) {
+			total(i, values.get((int)(count - 1 - i)));
+		}
+	}
+
+	//Sets the totals after the value at index in the stream from those before it
+	private void total(long index, double value) {
+		int before = slot(index);
+		int after = slot(index + 1);
+		undefined[after] = undefined[before];
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			undefined[after] ++;
+			value = 0D;
+		}
+		double sum = totals[before] + value;
+		double added = sum - totals[before];
+		totals[after] = sum;
+		errors[after] = errors[before] + (totals[before] - (sum - added)) + (value - added);
+	}
+
+	//The slot of the totals after the first index values
+	private int slot(long index) {
+		return (int)(index % totals.length);
+	}
+}
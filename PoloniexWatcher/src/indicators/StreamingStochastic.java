@@ -0,0 +1,55 @@
+package indicators;
+
+import stocks.Candlestick;
+import stocks.Numerics;
+
+//The stochastic oscillator and its histogram as calculated by Candlestick.calculateStochastic and calculateStochasticHist,
+//updated in O(1) per candle
+public class StreamingStochastic extends StreamingIndicator {
+	private int length;
+	private RollingExtreme highs;
+	private RollingExtreme lows;
+	private int signalLength;
+	private RunningTotal stochastics; //the last signalLength stochastics, for the signal
+	private IndicatorHistory hists;
+
+	public StreamingStochastic() {
+		this(Candlestick.STOCHASTIC_DEFAULT_LENGTH, Candlestick.STOCHASTIC_SIGNAL_DEFAULT_LENGTH, DEFAULT_HISTORY);
+	}
+
+	public StreamingStochastic(int length, int signalLength, int history) {
+		super(history);
+		this.length = length;
+		highs = RollingExtreme.max(length);
+		lows = RollingExtreme.min(length);
+		this.signalLength = signalLength;
+		stochastics = new RunningTotal(signalLength);
+		hists = new IndicatorHistory(history);
+	}
+
+	public void update(Candlestick c) {
+		highs.add(c.high);
+		lows.add(c.low);
+		if (highs.size() < length) { return; }
+
+		double lowest = lows.get();
+		double highest = Math.max(highs.get(), 0D); //as Candlestick.high, never below 0
+		double stochastic = Numerics.lockRange(0, 100 * (c.close - lowest) / (highest - lowest), 100);
+		values.add(stochastic);
+		stochastics.add(stochastic);
+		if (stochastics.size() < signalLength) { return; }
+
+		hists.add(stochastic - stochastics.sum(signalLength) / signalLength);
+	}
+
+	//The stochastic oscillator histogram lag periods ago
+	public double getHist(int lag) { return hists.get(lag); }
+
+	public void reset() {
+		super.reset();
+		highs.clear();
+		lows.clear();
+		stochastics.clear();
+		hists.clear();
+	}
+}
@@ -0,0 +1,19 @@
+package stocks;
+
+//The rolling means and standard deviations of the close, volume and weighted average of a set of candles
+public class CandleMoments {
+	private final Candlestick[] candles;
+	public final RollingMoments closes;
+	public final RollingMoments volumes;
+	public final RollingMoments weightedAverages;
+
+	public CandleMoments(Candlestick[] candles) {
+		this.candles = candles;
+		closes = new RollingMoments(Candlestick.closePrices(candles));
+		volumes = new RollingMoments(Candlestick.volumes(candles));
+		weightedAverages = new RollingMoments(Candlestick.weightedAverages(candles));
+	}
+
+	//Whether these moments were calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+}
@@ -0,0 +1,39 @@
+package stocks;
+
+//The standardised detrended price oscillator at every candle of a stock, with the SMA of the closes read from running
+//totals. Each lookup gives the same result as Candlestick.calculateStandardisedDPO called on the candles up to index
+public class DPOSeries {
+	private static final int LENGTH = 21; //the number of closes in the SMA
+	private static final int SHIFT = 11; //how many periods before the end the SMA stops
+	//the first index with enough history for a DPO
+	public static final int FIRST_DPO = LENGTH + SHIFT - 1;
+
+	private final Candlestick[] candles;
+	private final double[] dpos; //NaN before there is enough history, as those are never looked up
+
+	public DPOSeries(Candlestick[] candles) {
+		this.candles = candles;
+		int n = candles.length;
+		PrefixSums closes = new PrefixSums(Candlestick.closePrices(candles));
+		dpos = new double[n];
+		for (int i = 0; i < n; i ++) {
+			if (i < FIRST_DPO) {
+				dpos[i] = Double.NaN;
+				continue;
+			}
+			double SMA = closes.mean(i + 1 - SHIFT - LENGTH, i + 1 - SHIFT);
+			dpos[i] = SMA == 0 ? 0D : (candles[i].close - SMA) / SMA;
+		}
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return dpos.length; }
+
+	//As Candlestick.calculateStandardisedDPO
+	public double get(int index) {
+		if (index < FIRST_DPO || index >= dpos.length) { throw new ArrayIndexOutOfBoundsException(index); }
+		return dpos[index];
+	}
+}
@@ -0,0 +1,46 @@
+package stocks;
+
+import java.util.Arrays;
+
+//The ichimoku signal at every candle of a stock, worked out in one pass over the window extremes.
+//Each lookup gives the same result as its Candlestick equivalent called on the candles up to index
+public class IchimokuSeries {
+	//the first index with enough history for an ichimoku signal
+	public static final int FIRST_SIGNAL = Candlestick.ICHIMOKU_BASE_LENGTH - 1;
+
+	private final Candlestick[] candles;
+	private final double[] signals; //0 before there is enough history, as those are never looked up
+	private final RollingMoments moments;
+
+	public IchimokuSeries(Candlestick[] candles, CandleExtremes extremes) {
+		this.candles = candles;
+		signals = new double[candles.length];
+		for (int i = 0; i < signals.length; i ++) {
+			signals[i] = i < FIRST_SIGNAL ? 0D : Candlestick.ichimokuSignal(candles, extremes, i);
+		}
+		moments = new RollingMoments(signals);
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return signals.length; }
+
+	//As Candlestick.ichimokuSignal
+	public double get(int index) {
+		SeriesChecks.require(index >= FIRST_SIGNAL && index < signals.length, index);
+		return signals[index];
+	}
+
+	//As Candlestick.calculateIchimokuSignalGraph, the signals of the periods ends up to and including index
+	public double[] graph(int index, int periods) {
+		SeriesChecks.require(periods == 0 || index + 1 - periods >= FIRST_SIGNAL && index < signals.length, index + 1 - periods);
+		return Arrays.copyOfRange(signals, index + 1 - periods, index + 1);
+	}
+
+	//As Numerics.trend on the graph of the periods ends up to and including index
+	public double trend(int index, int periods) {
+		SeriesChecks.require(periods == 0 || index + 1 - periods >= FIRST_SIGNAL && index < signals.length, index + 1 - periods);
+		return moments.trend(index + 1 - periods, index + 1);
+	}
+}
@@ -0,0 +1,130 @@
+package stocks;
+
+//The MACD-histogram at every candle of a stock along with the peak and trough lookups used by the MACD triggers.
+//Each lookup taking an end gives the same result as its Candlestick equivalent called on the first end candles
+public class MACDHistSeries {
+	//the first index with enough history for a MACD and for a MACD-histogram
+	public static final int FIRST_MACD = 51;
+	public static final int FIRST_HIST = FIRST_MACD + 17;
+
+	private final Candlestick[] candles;
+	private final double[] macds;
+	private final double[] hists;
+	private final int[] peaks; //the number of peaks up to and including each index
+	private final int[] troughs; //the number of troughs up to and including each index
+	private final int[] lastPeak;
+	private final int[] lastTrough;
+	private final int[] nextPeak;
+	private final int[] lastPositive;
+	private final int[] lastNegative;
+	private final int[] lastNonNegative;
+
+	public MACDHistSeries(Candlestick[] candles) {
+		this.candles = candles;
+		int n = candles.length;
+		double[] closePrices = Candlestick.closePrices(candles);
+		macds = new double[n];
+		hists = new double[n];
+		for (int i = 0; i < n; i ++) {
+			macds[i] = i < FIRST_MACD ? Double.NaN : Candlestick.MACD(closePrices, i + 1);
+			hists[i] = i < FIRST_HIST ? Double.NaN : macds[i] - Numerics.EMA(macds, i - 17, i + 1, 9);
+		}
+		peaks = new int[n];
+		troughs = new int[n];
+		lastPeak = new int[n];
+		lastTrough = new int[n];
+		lastPositive = new int[n];
+		lastNegative = new int[n];
+		lastNonNegative = new int[n];
+		for (int i = 0; i < n; i ++) {
+			peaks[i] = (i == 0 ? 0 : peaks[i - 1]) + (isPeak(i) ? 1 : 0);
+			troughs[i] = (i == 0 ? 0 : troughs[i - 1]) + (isTrough(i) ? 1 : 0);
+			lastPeak[i] = isPeak(i) ? i : (i == 0 ? -1 : lastPeak[i - 1]);
+			lastTrough[i] = isTrough(i) ? i : (i == 0 ? -1 : lastTrough[i - 1]);
+			lastPositive[i] = hists[i] > 0 ? i : (i == 0 ? -1 : lastPositive[i - 1]);
+			lastNegative[i] = hists[i] < 0 ? i : (i == 0 ? -1 : lastNegative[i - 1]);
+			lastNonNegative[i] = hists[i] >= 0 ? i : (i == 0 ? -1 : lastNonNegative[i - 1]);
+		}
+		nextPeak = new int[n];
+		for (int i = n - 1; i >= 0; i --) {
+			nextPeak[i] = isPeak(i) ? i : (i == n - 1 ? -1 : nextPeak[i + 1]);
+		}
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return hists.length; }
+
+	//The MACD-histogram ending at index
+	public double get(int index) {
+		SeriesChecks.require(index >= FIRST_HIST, index);
+		return hists[index];
+	}
+
+	//The MACD ending at index
+	public double getMACD(int index) {
+		SeriesChecks.require(index >= FIRST_MACD, index);
+		return macds[index];
+	}
+
+	//As Candlestick.calculateStanMACDHist
+	public double stanMACDHist(int end) {
+		SeriesChecks.require(end - 18 >= FIRST_MACD, end - 18);
+		double close = candles[end - 1].close;
+		double total = 0D;
+		for (int i = end - 18; i < end; i ++) {
+			total += macds[i] / close;
+		}
+		return macds[end - 1] / close - total / 18D;
+	}
+
+	//As Candlestick.calculateMACDHistSells
+	public int sells(int end) {
+		int top = lastPositive[end - 1];
+		SeriesChecks.require(top != -1, end - 1);
+		int bottom = lastNegative[top];
+		SeriesChecks.require(bottom != -1, top);
+		SeriesChecks.require(!(hists[bottom + 1] > 0) || bottom - 1 >= FIRST_HIST, bottom - 1);
+		return peaks[top] - peaks[bottom];
+	}
+
+	//As Candlestick.calculateMACDHistBuys
+	public int buys(int end) {
+		int bottom = lastNonNegative[end - 1];
+		SeriesChecks.require(bottom != -1, end - 1);
+		SeriesChecks.require(bottom == end - 1 || bottom - 1 >= FIRST_HIST, bottom - 1);
+		return troughs[end - 1] - troughs[bottom];
+	}
+
+	//As Candlestick.calculateMACDHistBuysOffset
+	public int buysOffset(int end) {
+		SeriesChecks.require(end >= 2 && lastTrough[end - 2] != -1, end - 2);
+		return end - 1 - lastTrough[end - 2];
+	}
+
+	//As Candlestick.calculateMACDHistSellsOffset
+	public int sellsOffset(int end) {
+		SeriesChecks.require(end >= 2 && lastPeak[end - 2] != -1, end - 2);
+		return end - 1 - lastPeak[end - 2];
+	}
+
+	//As Candlestick.calculateMACDHistNextSellsIndex, only limited to the candles in this series
+	public int nextSellsIndex(int startIndex) {
+		SeriesChecks.require(startIndex + 1 >= FIRST_HIST, startIndex + 1);
+		SeriesChecks.require(startIndex + 3 < nextPeak.length && nextPeak[startIndex + 3] != -1, startIndex + 3);
+		return nextPeak[startIndex + 3];
+	}
+
+	//A peak in the histogram above 0 ending at index
+	private boolean isPeak(int index) {
+		return index >= FIRST_HIST + 2 && hists[index] > 0 && hists[index - 1] > 0 && hists[index - 2] > 0
+				&& hists[index] < hists[index - 1] && hists[index - 1] > hists[index - 2];
+	}
+
+	//A trough in the histogram below 0 ending at index
+	private boolean isTrough(int index) {
+		return index >= FIRST_HIST + 2 && hists[index] < 0 && hists[index - 1] < 0 && hists[index - 2] < 0
+				&& hists[index] > hists[index - 1] && hists[index - 1] < hists[index - 2];
+	}
+}
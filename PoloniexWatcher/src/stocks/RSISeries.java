@@ -0,0 +1,65 @@
+package stocks;
+
+//The RSI at every candle of a stock, so the stochastic RSI and the RSI triggers need not recalculate it for each end.
+//Each lookup gives the same result as its Candlestick equivalent called on the candles up to index
+public class RSISeries {
+	//the first index with enough history for a RSI and for a stochastic RSI
+	public static final int FIRST_RSI = Candlestick.RSI_DEFAULT_PERIODS * 2;
+	public static final int FIRST_STOCH_RSI = FIRST_RSI + 13;
+
+	private final Candlestick[] candles;
+	private final double[] rsis;
+	private final SparseTable highs;
+	private final SparseTable lows;
+
+	public RSISeries(Candlestick[] candles) {
+		this.candles = candles;
+		int n = candles.length;
+		double[] gains = new double[n];
+		double[] losses = new double[n];
+		for (int i = 1; i < n; i ++) {
+			gains[i] = Math.max(0, candles[i].close - candles[i - 1].close);
+			losses[i] = Math.abs(Math.min(0, candles[i].close - candles[i - 1].close));
+		}
+		rsis = new double[n];
+		for (int i = 0; i < n; i ++) {
+			if (i < FIRST_RSI) {
+				rsis[i] = Double.NaN;
+			} else {
+				double rs = Numerics.EMA(gains, i + 1 - FIRST_RSI, i + 1, Candlestick.RSI_DEFAULT_PERIODS)
+						/ Numerics.EMA(losses, i + 1 - FIRST_RSI, i + 1, Candlestick.RSI_DEFAULT_PERIODS);
+				rsis[i] = Numerics.lockRange(0, 100D - (100D / (1D + rs)), 100);
+			}
+		}
+		highs = SparseTable.max(rsis);
+		lows = SparseTable.min(rsis);
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return rsis.length; }
+
+	//As Candlestick.calculateRSI
+	public double get(int index) {
+		SeriesChecks.require(index >= FIRST_RSI && index < rsis.length, index);
+		return rsis[index];
+	}
+
+	//As Candlestick.calculateStochRSI, over the RSIs of the last 14 ends
+	public double stochRSI(int index) {
+		SeriesChecks.require(index >= FIRST_STOCH_RSI && index < rsis.length, index);
+		double highestRSI = Math.max(highs.get(index - 13, index + 1), 0D);
+		double lowestRSI = Math.min(lows.get(index - 13, index + 1), 100D);
+		double rsiDiff = (highestRSI - lowestRSI);
+		if (rsiDiff == 0) { rsiDiff = Double.MIN_VALUE; }
+		return Numerics.lockRange(0, (rsis[index] - lowestRSI) / rsiDiff, 1);
+	}
+
+	//As Candlestick.calculateRSINextSellsIndex, only limited to the candles in this series
+	public int nextSellsIndex(int startIndex, int sellRSI) {
+		for (int i = startIndex + 1; ; i ++) {
+			if (get(i) > sellRSI) { return i; }
+		}
+	}
+}
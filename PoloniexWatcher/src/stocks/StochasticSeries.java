@@ -0,0 +1,62 @@
+package stocks;
+
+//The stochastic oscillator and its signal line at every candle of a stock, reading the highs and lows of each window
+//from the extremes. Each lookup gives the same result as its Candlestick equivalent called on the candles up to index
+public class StochasticSeries {
+	//the first index with enough history for a stochastic and for its signal line
+	public static final int FIRST_STOCHASTIC = Candlestick.STOCHASTIC_DEFAULT_LENGTH - 1;
+	public static final int FIRST_SIGNAL = FIRST_STOCHASTIC + Candlestick.STOCHASTIC_SIGNAL_DEFAULT_LENGTH - 1;
+
+	private final Candlestick[] candles;
+	private final double[] stochastics; //NaN before there is enough history, as those are never looked up
+	private final double[] signals;
+
+	public StochasticSeries(Candlestick[] candles, CandleExtremes extremes) {
+		this.candles = candles;
+		int n = candles.length;
+		stochastics = new double[n];
+		for (int i = 0; i < n; i ++) {
+			if (i < FIRST_STOCHASTIC) {
+				stochastics[i] = Double.NaN;
+			} else {
+				double lowest = extremes.low(i + 1 - Candlestick.STOCHASTIC_DEFAULT_LENGTH, i + 1);
+				double highest = extremes.high(i + 1 - Candlestick.STOCHASTIC_DEFAULT_LENGTH, i + 1);
+				stochastics[i] = Numerics.lockRange(0, 100 * (candles[i].close - lowest) / (highest - lowest), 100);
+			}
+		}
+		//the signal is too short for running totals to pay, so it is summed from the latest back as calculateStochasticHist does
+		signals = new double[n];
+		for (int i = 0; i < n; i ++) {
+			if (i < FIRST_SIGNAL) {
+				signals[i] = Double.NaN;
+			} else {
+				double sum = 0;
+				for (int k = 0; k < Candlestick.STOCHASTIC_SIGNAL_DEFAULT_LENGTH; k ++) { sum += stochastics[i - k]; }
+				signals[i] = sum / Candlestick.STOCHASTIC_SIGNAL_DEFAULT_LENGTH;
+			}
+		}
+	}
+
+	//Whether this series was calculated from candles
+	public boolean isFor(Candlestick[] candles) { return this.candles == candles; }
+
+	public int length() { return stochastics.length; }
+
+	//As Candlestick.calculateStochastic
+	public double get(int index) {
+		SeriesChecks.require(index >= FIRST_STOCHASTIC && index < stochastics.length, index);
+		return stochastics[index];
+	}
+
+	//The average of the stochastics of the last few ends, which the histogram is measured from
+	public double signal(int index) {
+		SeriesChecks.require(index >= FIRST_SIGNAL && index < signals.length, index);
+		return signals[index];
+	}
+
+	//As Candlestick.calculateStochasticHist
+	public double hist(int index) {
+		SeriesChecks.require(index >= FIRST_SIGNAL && index < signals.length, index);
+		return stochastics[index] - signals[index];
+	}
+}
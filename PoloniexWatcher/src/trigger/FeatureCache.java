@@ -0,0 +1,68 @@
+package trigger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Feature values calculated during one cycle of a monitor, so triggers sharing features for the same candle only calculate
+//them once. Values are keyed by exchange, ticker, time period, candle date and feature id, where the feature id is the
+//position of the feature in the block stored for that candle. At most capacity values are held, dropping the least
+//recently used candles first, and the cache should be cleared at the end of every cycle. Not safe to share between threads
+public class FeatureCache {
+	public static final int DEFAULT_CAPACITY = 1 << 20; //enough for the basic features of every ticker at a few time periods
+
+	private final int capacity;
+	private final LinkedHashMap<String, double[]> candles;
+	private int size; //the number of values held
+	private int hits;
+	private int misses;
+
+	public FeatureCache() { this(DEFAULT_CAPACITY); }
+
+	public FeatureCache(int capacity) {
+		this.capacity = capacity;
+		candles = new LinkedHashMap<String, double[]>(16, 0.75f, true);
+	}
+
+	//Copies the count features cached for a candle into features from from, returning false if they are not all cached
+	public boolean fill(String exchange, String ticker, int timePeriod, long date, double[] features, int from, int count) {
+		double[] values = candles.get(key(exchange, ticker, timePeriod, date));
+		if (values == null || values.length != count) {
+			misses ++;
+			return false;
+		}
+		System.arraycopy(values, 0, features, from, count);
+		hits ++;
+		return true;
+	}
+
+	//Caches the count features of a candle held in features from from
+	public void store(String exchange, String ticker, int timePeriod, long date, double[] features, int from, int count) {
+		if (count > capacity) { return; }
+		double[] values = new double[count];
+		System.arraycopy(features, from, values, 0, count);
+		double[] old = candles.put(key(exchange, ticker, timePeriod, date), values);
+		size += count - (old == null ? 0 : old.length);
+		Iterator<Map.Entry<String, double[]>> eldest = candles.entrySet().iterator();
+		while (size > capacity) {
+			size -= eldest.next().getValue().length;
+			eldest.remove();
+		}
+	}
+
+	//Empties the cache, ready for the next cycle
+	public void clear() {
+		candles.clear();
+		size = 0;
+		hits = 0;
+		misses = 0;
+	}
+
+	public int size() { return size; }
+	public int getHits() { return hits; }
+	public int getMisses() { return misses; }
+
+	private static String key(String exchange, String ticker, int timePeriod, long date) {
+		return exchange + "-" + ticker + "-" + timePeriod + "-" + date;
+	}
+}
@@ -1,21 +1,35 @@
 package trigger;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import javax.print.attribute.standard.RequestingUserName;
 
 import csvutils.DataSet;
+import csvutils.FeatureSchema;
 import csvutils.FeatureVector;
 import csvutils.Stat;
+import indicators.IndicatorState;
+import stocks.AroonSeries;
+import stocks.CandleEvents;
+import stocks.CandleExtremes;
+import stocks.CandleMoments;
+import stocks.CandleSums;
 import stocks.Candlestick;
+import stocks.DPOSeries;
+import stocks.IchimokuSeries;
+import stocks.MACDHistSeries;
 import stocks.Numerics;
+import stocks.RSISeries;
+import stocks.RVISeries;
+import stocks.StochasticSeries;
+import stocks.TMFSeries;
 import stocks.Trade;
 
 //A trigger being an event that happens with the stocks. An example of a trigger would be a pump
 public abstract class Trigger {
 
 	private DataSet set;
+	private FeatureSchema schema;
 	public static final int FIVE_MINUTES = 300;
 	public static final int QUARTER_HOUR = 900;
 	public static final int HALF_HOUR = 1800;
@@ -35,6 +49,9 @@ public abstract class Trigger {
 	private int timePeriod;
 	private String name;
 	private boolean calcBasic;
+	private int basicStart; //the index in the DataSet of the first basic feature, the rest following it
+	private SeriesCache series; //the series of the candles last passed in
+	private FeaturePlan plan = FeaturePlan.ALL;
 
 	public Trigger(String name, int timePeriod) throws Exception {
 		this(name, timePeriod, true);
@@ -45,12 +62,14 @@ public abstract class Trigger {
 		this.timePeriod = timePeriod;
 		this.calcBasic = calcBasic;
 		set = genDataSet();
+		schema = set.getSchema();
 	}
 
 	private DataSet genDataSet() throws Exception{
 		DataSet set = new DataSet();
 		addFeaturesToDataSet(set);
 		if (calcBasic) {
+			basicStart = set.getFeatureCount();
 			addBasicFeatures(set);
 		}
 		return set;
@@ -64,17 +83,26 @@ public abstract class Trigger {
 
 	public DataSet getDataSet() { return set; }
 
+	//The features of the DataSet compiled to their slots, shared by every vector this trigger calculates
+	public FeatureSchema getSchema() { return schema; }
+
 	//adds a list of the features to be calculated to the DataSet
 	protected abstract void addFeaturesToDataSet(DataSet set) throws Exception;
 
 	//If triggered, adds to DataSet
 	public boolean addIfTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index, String ticker) throws Exception {
+		return addIfTriggered(candles, btcCandles, index, null, ticker, null);
+	}
+
+	//As above, but the basic features are copied from cache when another trigger at this time period has already
+	//calculated them for the candle at index on exchange, and added to it otherwise
+	public boolean addIfTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index, String exchange, String ticker, FeatureCache cache) throws Exception {
 		boolean triggered = isTriggered(candles, btcCandles, index);
 		FeatureVector fv;
 		if (triggered) {
 			fv = getDataSet().genBlankVector();
 			try {
-				calculateAllFeatures(candles, btcCandles, index, ticker, fv);
+				calculateAllFeatures(candles, btcCandles, index, exchange, ticker, fv, cache);
 				getDataSet().insertVector(fv);
 			} catch (ArrayIndexOutOfBoundsException e) {
 				e.printStackTrace();
@@ -99,8 +127,23 @@ public abstract class Trigger {
 	}
 
 	protected void calculateAllFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, String ticker, FeatureVector fv) throws Exception {
+		calculateAllFeatures(candles, btcCandles, index, null, ticker, fv, null);
+	}
+
+	//As above, sharing the basic features through cache as calculatePastFeatures does
+	protected void calculateAllFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, String exchange, String ticker, FeatureVector fv, FeatureCache cache) throws Exception {
 		if (calcBasic) {
-			calculateBasicFeatures(candles, btcCandles, index, fv, ticker);
+			if (cache == null) {
+				calculateBasicFeatures(candles, btcCandles, index, fv, ticker);
+			} else {
+				long date = candles[index].getDate();
+				double[] features = fv.getFeatures();
+				int count = features.length - basicStart;
+				if (!cache.fill(exchange, ticker, getTimePeriod(), date, features, basicStart, count)) {
+					calculateBasicFeatures(candles, btcCandles, index, fv, ticker);
+					cache.store(exchange, ticker, getTimePeriod(), date, features, basicStart, count);
+				}
+			}
 		}
 		_calculateFeatures(candles, btcCandles, index, fv, ticker, true);
 	}
@@ -109,10 +152,100 @@ public abstract class Trigger {
 	public abstract boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index);
 
 	public void calculatePastFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker) throws Exception {
-		calculateBasicFeatures(candles, btcCandles, index, fv, ticker);
+		calculatePastFeatures(candles, btcCandles, index, fv, ticker, null);
+	}
+
+	//As above, but the indicator features are read from state if it has consumed up to candles[index] instead of being recalculated
+	public void calculatePastFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, IndicatorState state) throws Exception {
+		calculateBasicFeatures(candles, btcCandles, index, fv, ticker, state, plan);
 		_calculateFeatures(candles, btcCandles, index, fv, ticker, false);
 	}
 
+	//As above, but the basic features are copied from cache when another trigger at this time period has already
+	//calculated them for the candle at index on exchange, and added to it otherwise
+	public void calculatePastFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String exchange, String ticker, IndicatorState state, FeatureCache cache) throws Exception {
+		if (cache == null || !calcBasic) {
+			calculatePastFeatures(candles, btcCandles, index, fv, ticker, state);
+			return;
+		}
+		long date = candles[index].getDate();
+		double[] features = fv.getFeatures();
+		int count = features.length - basicStart;
+		if (!cache.fill(exchange, ticker, getTimePeriod(), date, features, basicStart, count)) {
+			calculateBasicFeatures(candles, btcCandles, index, fv, ticker, state, plan);
+			cache.store(exchange, ticker, getTimePeriod(), date, features, basicStart, count);
+		}
+		_calculateFeatures(candles, btcCandles, index, fv, ticker, false);
+	}
+
+	//Creates the streaming indicators needed to calculate the past features of a stock at this time period, keeping only
+	//as long a TMF and ichimoku history as the planned features look back over
+	public IndicatorState newIndicatorState() {
+		return new IndicatorState(plan.getLookback() / getTimePeriod(), getRatio(Trigger.ONE_DAY, getTimePeriod()));
+	}
+
+	//A new trigger of the same kind with its own DataSet and caches, for calculating features on another thread
+	public Trigger newInstance() throws Exception {
+		Trigger trigger = getClass().getDeclaredConstructor().newInstance();
+		trigger.setFeaturePlan(plan);
+		return trigger;
+	}
+
+	public FeaturePlan getFeaturePlan() { return plan; }
+
+	//Only calculates the declared features in plan when calculating past features, setting the rest to 0. Features
+	//calculated to train on are always all calculated
+	public void setFeaturePlan(FeaturePlan plan) { this.plan = plan; }
+
+	//The cache of the series of candles, started again when different candles are passed in
+	private SeriesCache getSeries(Candlestick[] candles) {
+		SeriesCache cache = series;
+		if (cache == null || !cache.isFor(candles)) {
+			cache = new SeriesCache(candles);
+			series = cache;
+		}
+		return cache;
+	}
+
+	//Reads the series of the candles cache is for from it, so triggers on the same candles only calculate them once
+	void useSeries(SeriesCache cache) { series = cache; }
+
+	//The MACD-histogram series for candles, only recalculated when different candles are passed in
+	protected MACDHistSeries getMACDHistSeries(Candlestick[] candles) { return getSeries(candles).getMACDHistSeries(); }
+
+	//The high and low extremes for candles, only recalculated when different candles are passed in
+	protected CandleExtremes getCandleExtremes(Candlestick[] candles) { return getSeries(candles).getCandleExtremes(); }
+
+	//The running volume totals for candles, only recalculated when different candles are passed in
+	protected CandleSums getCandleSums(Candlestick[] candles) { return getSeries(candles).getCandleSums(); }
+
+	//The pumps, dumps and volume peaks of candles, only recalculated when different candles are passed in
+	protected CandleEvents getCandleEvents(Candlestick[] candles) { return getSeries(candles).getCandleEvents(); }
+
+	//The rolling moments for candles, only recalculated when different candles are passed in
+	protected CandleMoments getCandleMoments(Candlestick[] candles) { return getSeries(candles).getCandleMoments(); }
+
+	//The stochastic oscillator series for candles, only recalculated when different candles are passed in
+	protected StochasticSeries getStochasticSeries(Candlestick[] candles) { return getSeries(candles).getStochasticSeries(); }
+
+	//The RVI series for candles, only recalculated when different candles are passed in
+	protected RVISeries getRVISeries(Candlestick[] candles) { return getSeries(candles).getRVISeries(); }
+
+	//The standardised DPO series for candles, only recalculated when different candles are passed in
+	protected DPOSeries getDPOSeries(Candlestick[] candles) { return getSeries(candles).getDPOSeries(); }
+
+	//The aroon series for candles, only recalculated when different candles are passed in
+	protected AroonSeries getAroonSeries(Candlestick[] candles) { return getSeries(candles).getAroonSeries(); }
+
+	//The RSI series for candles, only recalculated when different candles are passed in
+	protected RSISeries getRSISeries(Candlestick[] candles) { return getSeries(candles).getRSISeries(); }
+
+	//The TMF series for candles, only recalculated when different candles are passed in
+	protected TMFSeries getTMFSeries(Candlestick[] candles) { return getSeries(candles).getTMFSeries(); }
+
+	//The ichimoku signal series for candles, only recalculated when different candles are passed in
+	protected IchimokuSeries getIchimokuSeries(Candlestick[] candles) { return getSeries(candles).getIchimokuSeries(); }
+
 	//Calculates the features
 	protected abstract void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future) throws Exception;
 
@@ -185,8 +318,9 @@ public abstract class Trigger {
 
 	protected void calculateDidPumpImmediate(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future, String feature) throws Exception {
 		if (future) {
-			boolean first = Numerics.pc(candles[index].open, Candlestick.high(Arrays.copyOfRange(candles, index + 1, index + 1 + getRatio(Trigger.TWO_HOURS, getTimePeriod())))) > 5;
-			boolean second = Numerics.pc(candles[index].open, Candlestick.high(Arrays.copyOfRange(candles, index + 1, index + 1 + getRatio(Trigger.SIX_HOURS, getTimePeriod())))) > 15;
+			CandleExtremes extremes = getCandleExtremes(candles);
+			boolean first = Numerics.pc(candles[index].open, extremes.high(index + 1, index + 1 + getRatio(Trigger.TWO_HOURS, getTimePeriod()))) > 5;
+			boolean second = Numerics.pc(candles[index].open, extremes.high(index + 1, index + 1 + getRatio(Trigger.SIX_HOURS, getTimePeriod()))) > 15;
 			double didPump = first && second ? 1D : -1D;
 			fv.setFeature(feature, didPump);
 		} else {
@@ -204,7 +338,7 @@ public abstract class Trigger {
 
 	protected void calculateDidPump(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future, String feature) throws Exception {
 		if (future) {
-			double didPump = Numerics.pc(candles[index].getOpen(), Candlestick.high(Arrays.copyOfRange(candles, index + 1, index + 1 + getRatio(Trigger.ONE_DAY * 3D, getTimePeriod())))) > 15 ? 1D : -1D;
+			double didPump = Numerics.pc(candles[index].getOpen(), getCandleExtremes(candles).high(index + 1, index + 1 + getRatio(Trigger.ONE_DAY * 3D, getTimePeriod()))) > 15 ? 1D : -1D;
 			fv.setFeature(feature, didPump);
 		} else {
 			fv.setFeature(feature, -1D);
@@ -221,13 +355,14 @@ public abstract class Trigger {
 	
 	protected void calculateDefinedEndFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future, int sellsIndex) throws Exception {
 		if (future) {
-			double highBeforeSell = Candlestick.high(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowBeforeSell = Candlestick.low(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			CandleExtremes extremes = getCandleExtremes(candles);
+			double highBeforeSell = extremes.high(index + 1, sellsIndex + 1);
+			double lowBeforeSell = extremes.low(index + 1, sellsIndex + 1);
 
-			double highOpenIndex = Candlestick.highOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpenIndex = Candlestick.lowOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double highOpen = Candlestick.highOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpen = Candlestick.lowOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			double highOpenIndex = extremes.highOpenIndex(index + 1, sellsIndex + 1);
+			double lowOpenIndex = extremes.lowOpenIndex(index + 1, sellsIndex + 1);
+			double highOpen = extremes.highOpen(index + 1, sellsIndex + 1);
+			double lowOpen = extremes.lowOpen(index + 1, sellsIndex + 1);
 
 			double sellApprox = candles[sellsIndex + 1].getOpen();
 			double purchaseApprox = candles[index + 1].getOpen();
@@ -521,7 +656,16 @@ public abstract class Trigger {
 
 	//Calculates a set of basic features used by all triggers
 	private void calculateBasicFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker) throws Exception {
-		Candlestick[] pastCandles = Arrays.copyOfRange(candles, 0, index + 1);
+		calculateBasicFeatures(candles, btcCandles, index, fv, ticker, null, FeaturePlan.ALL);
+	}
+
+	//Calculates the basic features from a stock's whole history, taking the indicator features from state when it has
+	//consumed up to the candle at index and setting the declared features plan leaves out to 0
+	private void calculateBasicFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, IndicatorState state, FeaturePlan plan) throws Exception {
+		IndicatorState live = state != null && state.isCurrent(candles[index]) ? state : null;
+		CandleSums sums = getCandleSums(candles);
+		CandleEvents events = getCandleEvents(candles);
+		CandleMoments moments = getCandleMoments(candles);
 
 		fv.setFeature("timestamp", candles[index].getDate());
 		String tickerChar = "";
@@ -530,18 +674,18 @@ public abstract class Trigger {
 		}
 		fv.setFeature("ticker", Double.parseDouble(tickerChar));
 		
-		fv.setFeature("pddailyavg",                     Numerics.pc(Candlestick.weightedAverage(Arrays.copyOfRange(candles, index - getRatio(Trigger.ONE_DAY, getTimePeriod()), index)), candles[index].getClose()));
-		fv.setFeature("pdthreedayavg",                  Numerics.pc(Candlestick.weightedAverage(Arrays.copyOfRange(candles, index - getRatio(Trigger.THREE_DAYS, getTimePeriod()), index)), candles[index].getClose()));
-		fv.setFeature("pdweeklyavg",                    Numerics.pc(Candlestick.weightedAverage(Arrays.copyOfRange(candles, index - getRatio(Trigger.ONE_WEEK, getTimePeriod()), index)), candles[index].getClose()));
-		fv.setFeature("pdmonthlyavg",                   Numerics.pc(Candlestick.weightedAverage(Arrays.copyOfRange(candles, index - getRatio(Trigger.ONE_MONTH, getTimePeriod()), index)), candles[index].getClose()));
+		fv.setFeature("pddailyavg",                     Numerics.pc(sums.weightedAverage(index - getRatio(Trigger.ONE_DAY, getTimePeriod()), index), candles[index].getClose()));
+		fv.setFeature("pdthreedayavg",                  Numerics.pc(sums.weightedAverage(index - getRatio(Trigger.THREE_DAYS, getTimePeriod()), index), candles[index].getClose()));
+		fv.setFeature("pdweeklyavg",                    Numerics.pc(sums.weightedAverage(index - getRatio(Trigger.ONE_WEEK, getTimePeriod()), index), candles[index].getClose()));
+		fv.setFeature("pdmonthlyavg",                   Numerics.pc(sums.weightedAverage(index - getRatio(Trigger.ONE_MONTH, getTimePeriod()), index), candles[index].getClose()));
 
-		Stat s = Candlestick.getVolStat(Arrays.copyOfRange(candles, index - getRatio(Trigger.THREE_DAYS, getTimePeriod()) / getTimePeriod(), index));
+		Stat s = moments.volumes.getStat(index - getRatio(Trigger.THREE_DAYS, getTimePeriod()) / getTimePeriod(), index);
 		if (s.std != 0) {
 			fv.setFeature("sdvolthirty",                    (candles[index].getVolume() - s.mean) / s.std);
 		} else {
 			fv.setFeature("sdvolthirty",                    0);
 		}
-		double dailyVolume = Candlestick.getVolSum(Arrays.copyOfRange(candles, index - getRatio(Trigger.ONE_DAY, getTimePeriod()), index));
+		double dailyVolume = sums.volume(index - getRatio(Trigger.ONE_DAY, getTimePeriod()), index);
 		fv.setFeature("pvolonethirty",                  Numerics.perc(candles[index].getVolume(), dailyVolume));
 		fv.setFeature("relativeinteresttwelve", getRelativeVolume(candles, index, Trigger.TWELVE_HOURS));
 		fv.setFeature("relativeinterestday", getRelativeVolume(candles, index, Trigger.ONE_DAY));
@@ -611,12 +755,12 @@ public abstract class Trigger {
 		fv.setFeature("pvolonethirtymone",              Numerics.perc(candles[index - 1].getVolume(), dailyVolume));
 		fv.setFeature("pvolonethirtymtwo",              Numerics.perc(candles[index - 2].getVolume(), dailyVolume));
 		fv.setFeature("pvolonethirtymthree",            Numerics.perc(candles[index - 3].getVolume(), dailyVolume));
-		fv.setFeature("pvolonesixty",                   Numerics.perc(Candlestick.getVolSum(Arrays.copyOfRange(candles, index + 1 - getRatio(Trigger.ONE_HOUR, getTimePeriod()), index + 1)), dailyVolume));
-		fv.setFeature("pvoloneonetwenty",               Numerics.perc(Candlestick.getVolSum(Arrays.copyOfRange(candles, index + 1 - getRatio(Trigger.TWO_HOURS, getTimePeriod()), index + 1)), dailyVolume));
-		fv.setFeature("pvolonesix",                     Numerics.perc(Candlestick.getVolSum(Arrays.copyOfRange(candles, index + 1 - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index + 1)), dailyVolume));
+		fv.setFeature("pvolonesixty",                   Numerics.perc(sums.volume(index + 1 - getRatio(Trigger.ONE_HOUR, getTimePeriod()), index + 1), dailyVolume));
+		fv.setFeature("pvoloneonetwenty",               Numerics.perc(sums.volume(index + 1 - getRatio(Trigger.TWO_HOURS, getTimePeriod()), index + 1), dailyVolume));
+		fv.setFeature("pvolonesix",                     Numerics.perc(sums.volume(index + 1 - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index + 1), dailyVolume));
 
-		fv.setFeature("npumpfive",                      Candlestick.totalPumps(Arrays.copyOfRange(candles, index - Trigger.FIVE_DAYS / getTimePeriod(), index)));
-		fv.setFeature("ndumpfive",                      Candlestick.totalDumps(Arrays.copyOfRange(candles, index - Trigger.FIVE_DAYS / getTimePeriod(), index)));
+		fv.setFeature("npumpfive",                      events.pumps(index - Trigger.FIVE_DAYS / getTimePeriod(), index));
+		fv.setFeature("ndumpfive",                      events.dumps(index - Trigger.FIVE_DAYS / getTimePeriod(), index));
 		fv.setFeature("pcone",                          Numerics.pc(candles[index + 1 - getRatio(Trigger.ONE_HOUR, getTimePeriod())].getOpen(), candles[index].getClose()));
 		fv.setFeature("pctwo",                          Numerics.pc(candles[index + 1 - getRatio(Trigger.TWO_HOURS, getTimePeriod())].getOpen(), candles[index].getClose()));
 		fv.setFeature("pcsix",                          Numerics.pc(candles[index + 1 - getRatio(Trigger.SIX_HOURS, getTimePeriod())].getOpen(), candles[index].getClose()));
@@ -629,32 +773,33 @@ public abstract class Trigger {
 		fv.setFeature("pcfort",                         Numerics.pc(candles[index + 1 - Trigger.FORTNIGHT / getTimePeriod()].getOpen(), candles[index].getClose()));
 		fv.setFeature("pcmonth",                        Numerics.pc(candles[index + 1 - Trigger.ONE_MONTH / getTimePeriod()].getOpen(), candles[index].getClose()));
 
-		double dailyHigh = Candlestick.high(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
+		CandleExtremes extremes = getCandleExtremes(candles);
+		double dailyHigh = extremes.high(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1);
 		fv.setFeature("pddh",                           Numerics.pc(dailyHigh, candles[index].getClose()));
-		double dailyMean = Candlestick.weightedAverage(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
+		double dailyMean = sums.weightedAverage(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1);
 		fv.setFeature("pddm",                           Numerics.pc(dailyMean, candles[index].getClose()));
-		double dailyLow = Candlestick.low(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
+		double dailyLow = extremes.low(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1);
 		fv.setFeature("pddl",                           Numerics.pc(dailyLow, candles[index].getClose()));
-		double threeDayHigh = Candlestick.high(Arrays.copyOfRange(candles, index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1));
+		double threeDayHigh = extremes.high(index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1);
 		fv.setFeature("pdthreedh",                      Numerics.pc(threeDayHigh, candles[index].getClose()));
-		double threeDayLow = Candlestick.low(Arrays.copyOfRange(candles, index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1));
+		double threeDayLow = extremes.low(index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1);
 		fv.setFeature("pdthreedl",                      Numerics.pc(threeDayLow, candles[index].getClose()));
-		double weeklyHigh = Candlestick.high(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1));
+		double weeklyHigh = extremes.high(index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1);
 		fv.setFeature("pdwh",                           Numerics.pc(weeklyHigh, candles[index].getClose()));
-		double weeklyLow = Candlestick.low(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1));
+		double weeklyLow = extremes.low(index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1);
 		fv.setFeature("pdwl",                           Numerics.pc(weeklyLow, candles[index].getClose()));
-		double fortnightHigh = Candlestick.high(Arrays.copyOfRange(candles, index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1));
+		double fortnightHigh = extremes.high(index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1);
 		fv.setFeature("pdfh",                           Numerics.pc(fortnightHigh, candles[index].getClose()));
-		double fortnightLow = Candlestick.low(Arrays.copyOfRange(candles, index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1));
+		double fortnightLow = extremes.low(index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1);
 		fv.setFeature("pdfl",                           Numerics.pc(fortnightLow, candles[index].getClose()));
-		double monthlyHigh = Candlestick.high(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
+		double monthlyHigh = extremes.high(index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1);
 		fv.setFeature("pdmh",                           Numerics.pc(monthlyHigh, candles[index].getClose()));
-		double monthlyLow = Candlestick.low(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
+		double monthlyLow = extremes.low(index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1);
 		fv.setFeature("pdml",                           Numerics.pc(monthlyLow, candles[index].getClose()));
 
-		fv.setFeature("labtcpriceday",                  Math.log(Candlestick.weightedAverage(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1))));
+		fv.setFeature("labtcpriceday",                  Math.log(sums.weightedAverage(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1)));
 		fv.setFeature("lvoltwofour",                    Math.max(0, Math.log(dailyVolume)));
-		fv.setFeature("labtcpriceonetofourdaymone",     Math.min(3, Math.log(Candlestick.weightedAverage(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1)) / Candlestick.weightedAverage(Arrays.copyOfRange(candles, index - (Trigger.ONE_DAY / getTimePeriod()) * 5 + 1, index - (Trigger.ONE_DAY / getTimePeriod()) + 1)))));
+		fv.setFeature("labtcpriceonetofourdaymone",     Math.min(3, Math.log(sums.weightedAverage(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1) / sums.weightedAverage(index - (Trigger.ONE_DAY / getTimePeriod()) * 5 + 1, index - (Trigger.ONE_DAY / getTimePeriod()) + 1))));
 		fv.setFeature("shadowtobodythirty",             candles[index].shadowToBody());
 		fv.setFeature("shadowpositionthirty",           candles[index].shadowPosition());
 		fv.setFeature("shadowtobodythirtymone",         candles[index-1].shadowToBody());
@@ -664,13 +809,13 @@ public abstract class Trigger {
 		fv.setFeature("shadowtobodythirtymthree",       candles[index-3].shadowToBody());
 		fv.setFeature("shadowpositionthirtymthree",     candles[index-3].shadowPosition());
 
-		fv.setFeature("stabsix",                        Candlestick.stability(Arrays.copyOfRange(candles, index - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index)));
-		fv.setFeature("stabtwelve",                     Candlestick.stability(Arrays.copyOfRange(candles, index - getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), index)));
-		fv.setFeature("stabone",                        Candlestick.stability(Arrays.copyOfRange(candles, index - Trigger.ONE_DAY / getTimePeriod(), index)));
-		fv.setFeature("stabthree",                      Candlestick.stability(Arrays.copyOfRange(candles, index - Trigger.THREE_DAYS / getTimePeriod(), index)));
-		fv.setFeature("stabweek",                       Candlestick.stability(Arrays.copyOfRange(candles, index - Trigger.ONE_WEEK / getTimePeriod(), index)));
-		fv.setFeature("stabfort",                       Candlestick.stability(Arrays.copyOfRange(candles, index - Trigger.FORTNIGHT / getTimePeriod(), index)));
-		fv.setFeature("stabmonth",                      Candlestick.stability(Arrays.copyOfRange(candles, index - Trigger.ONE_MONTH / getTimePeriod(), index)));
+		fv.setFeature("stabsix",                        Candlestick.stability(candles, moments, index - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index));
+		fv.setFeature("stabtwelve",                     Candlestick.stability(candles, moments, index - getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), index));
+		fv.setFeature("stabone",                        Candlestick.stability(candles, moments, index - Trigger.ONE_DAY / getTimePeriod(), index));
+		fv.setFeature("stabthree",                      Candlestick.stability(candles, moments, index - Trigger.THREE_DAYS / getTimePeriod(), index));
+		fv.setFeature("stabweek",                       Candlestick.stability(candles, moments, index - Trigger.ONE_WEEK / getTimePeriod(), index));
+		fv.setFeature("stabfort",                       Candlestick.stability(candles, moments, index - Trigger.FORTNIGHT / getTimePeriod(), index));
+		fv.setFeature("stabmonth",                      Candlestick.stability(candles, moments, index - Trigger.ONE_MONTH / getTimePeriod(), index));
 
 		fv.setFeature("pdbitcointhirty",                Numerics.pc(candles[index + 1 - getRatio(Trigger.HALF_HOUR, getTimePeriod())].getOpen(), candles[index].getClose()) - Numerics.pc(btcCandles[index + 1 - getRatio(Trigger.HALF_HOUR, getTimePeriod())].getOpen(), btcCandles[index].getClose()));
 		fv.setFeature("pdbitcoinsixty",                 Numerics.pc(candles[index + 1 - getRatio(Trigger.ONE_HOUR, getTimePeriod())].getOpen(), candles[index].getClose()) - Numerics.pc(btcCandles[index + 1 - getRatio(Trigger.ONE_HOUR, getTimePeriod())].getOpen(), btcCandles[index].getClose()));
@@ -689,189 +834,279 @@ public abstract class Trigger {
 		fv.setFeature("waposthirtymtwo",                candles[index - 2].weightAveragePos());
 		fv.setFeature("waposthirtymthree",              candles[index - 3].weightAveragePos());
 
-		fv.setFeature("aroonup",                        Candlestick.calculateAroonUp(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("aroondown",                      Candlestick.calculateAroonDown(Arrays.copyOfRange(candles, 0, index + 1)));
+		if (live != null) {
+			calculateIndicatorFeatures(live, fv);
+		} else {
+			calculateIndicatorFeatures(candles, index, fv);
+		}
+
+		DPOSeries dpos = getDPOSeries(candles);
+		RVISeries rvis = getRVISeries(candles);
+		fv.setFeature("standardiseddpo",				dpos.get(index));
+		fv.setFeature("standardiseddpomone",			dpos.get(index - 1));
+		fv.setFeature("standardiseddpomtwo",			dpos.get(index - 2));
+		fv.setFeature("standardiseddpomthree",			dpos.get(index - 3));
+		fv.setFeature("standardiseddpodiffmone",		fv.getFeature("standardiseddpo") - fv.getFeature("standardiseddpomone"));
+		fv.setFeature("standardiseddpodiffmtwo",		fv.getFeature("standardiseddpo") - fv.getFeature("standardiseddpomtwo"));
+		fv.setFeature("standardiseddpodiffmthree",		fv.getFeature("standardiseddpo") - fv.getFeature("standardiseddpomthree"));
+		fv.setFeature("rvi",							rvis.get(index));
+		fv.setFeature("rvimone",						rvis.get(index - 1));
+		fv.setFeature("rvimtwo",						rvis.get(index - 2));
+		fv.setFeature("rvimthree",						rvis.get(index - 3));
+		fv.setFeature("rvidiffmone",					fv.getFeature("rvi") - fv.getFeature("rvimone"));
+		fv.setFeature("rvidiffmtwo",					fv.getFeature("rvi") - fv.getFeature("rvimtwo"));
+		fv.setFeature("rvidiffmthree",					fv.getFeature("rvi") - fv.getFeature("rvimthree"));
+		fv.setFeature("rvihist",						rvis.hist(index));
+		fv.setFeature("rvihistmone",					rvis.hist(index - 1));
+		fv.setFeature("rvihistmtwo",					rvis.hist(index - 2));
+		fv.setFeature("rvihistmthree",					rvis.hist(index - 3));
+		fv.setFeature("rvihistdiffmone",				fv.getFeature("rvihist") - fv.getFeature("rvihistmone"));
+		fv.setFeature("rvihistdiffmtwo",				fv.getFeature("rvihist") - fv.getFeature("rvihistmtwo"));
+		fv.setFeature("rvihistdiffmthree",				fv.getFeature("rvihist") - fv.getFeature("rvihistmthree"));
+
+		fv.setFeature("pmmcpricesix", moments.weightedAverages.trend(index - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index));
+		fv.setFeature("pmmcvolsix", moments.volumes.trend(index - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index));
+		fv.setFeature("pmmcdiffvolpricesix", fv.getFeature("pmmcvolsix") - fv.getFeature("pmmcpricesix"));
+		fv.setFeature("pmmctmfsix", calculateTMFTrend(plan, "pmmctmfsix", candles, index, getRatio(Trigger.SIX_HOURS, getTimePeriod()), live));
+		fv.setFeature("pmmcdifftmfpricesix", plan.needs("pmmcdifftmfpricesix") ? fv.getFeature("pmmctmfsix") - fv.getFeature("pmmcpricesix") : 0);
+
+		fv.setFeature("pmmcpricetwelve", moments.weightedAverages.trend(index - getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), index));
+		fv.setFeature("pmmcvoltwelve", moments.volumes.trend(index - getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), index));
+		fv.setFeature("pmmcdiffvolpricetwelve", fv.getFeature("pmmcvoltwelve") - fv.getFeature("pmmcpricetwelve"));
+		fv.setFeature("pmmctmftwelve", calculateTMFTrend(plan, "pmmctmftwelve", candles, index, getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), live));
+		fv.setFeature("pmmcdifftmfpricetwelve", plan.needs("pmmcdifftmfpricetwelve") ? fv.getFeature("pmmctmftwelve") - fv.getFeature("pmmcpricetwelve") : 0);
+
+		fv.setFeature("pmmcpriceday", moments.weightedAverages.trend(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcvolday", moments.volumes.trend(index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcdiffvolpriceday", fv.getFeature("pmmcvolday") - fv.getFeature("pmmcpriceday"));
+		fv.setFeature("pmmctmfday", calculateTMFTrend(plan, "pmmctmfday", candles, index, Trigger.ONE_DAY / getTimePeriod(), live));
+		fv.setFeature("pmmcdifftmfpriceday", plan.needs("pmmcdifftmfpriceday") ? fv.getFeature("pmmctmfday") - fv.getFeature("pmmcpriceday") : 0);
+
+		fv.setFeature("pmmcpricethreeday", moments.weightedAverages.trend(index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcvolthreeday", moments.volumes.trend(index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcdiffvolpricethreeday", fv.getFeature("pmmcvolthreeday") - fv.getFeature("pmmcpricethreeday"));
+		fv.setFeature("pmmctmfthreeday", calculateTMFTrend(plan, "pmmctmfthreeday", candles, index, Trigger.THREE_DAYS / getTimePeriod(), live));
+		fv.setFeature("pmmcdifftmfpricethreeday", plan.needs("pmmcdifftmfpricethreeday") ? fv.getFeature("pmmctmfthreeday") - fv.getFeature("pmmcpricethreeday") : 0);
+
+		fv.setFeature("pmmcpriceweek", moments.weightedAverages.trend(index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcvolweek", moments.volumes.trend(index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcdiffvolpriceweek", fv.getFeature("pmmcvolweek") - fv.getFeature("pmmcpriceweek"));
+		fv.setFeature("pmmctmfweek", calculateTMFTrend(plan, "pmmctmfweek", candles, index, Trigger.ONE_WEEK / getTimePeriod(), live));
+		fv.setFeature("pmmcdifftmfpriceweek", plan.needs("pmmcdifftmfpriceweek") ? fv.getFeature("pmmctmfweek") - fv.getFeature("pmmcpriceweek") : 0);
+
+		fv.setFeature("pmmcpricefort", moments.weightedAverages.trend(index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcvolfort", moments.volumes.trend(index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcdiffvolpricefort", fv.getFeature("pmmcvolfort") - fv.getFeature("pmmcpricefort"));
+		fv.setFeature("pmmctmffort", calculateTMFTrend(plan, "pmmctmffort", candles, index, Trigger.FORTNIGHT / getTimePeriod(), live));
+		fv.setFeature("pmmcdifftmfpricefort", plan.needs("pmmcdifftmfpricefort") ? fv.getFeature("pmmctmffort") - fv.getFeature("pmmcpricefort") : 0);
+
+		fv.setFeature("pmmcpricemonth", moments.weightedAverages.trend(index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcvolmonth", moments.volumes.trend(index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
+		fv.setFeature("pmmcdiffvolpricemonth", fv.getFeature("pmmcvolmonth") - fv.getFeature("pmmcpricemonth"));
+		fv.setFeature("pmmctmfmonth", calculateTMFTrend(plan, "pmmctmfmonth", candles, index, Trigger.ONE_MONTH / getTimePeriod(), live));
+		fv.setFeature("pmmcdifftmfpricemonth", plan.needs("pmmcdifftmfpricemonth") ? fv.getFeature("pmmctmfmonth") - fv.getFeature("pmmcpricemonth") : 0);
+
+		fv.setFeature("pmmcichimokusix", calculateIchimokuSignalTrend(plan, "pmmcichimokusix", candles, index, Trigger.SIX_HOURS / getTimePeriod(), live));
+		fv.setFeature("pmmcichimokutwelve", calculateIchimokuSignalTrend(plan, "pmmcichimokutwelve", candles, index, Trigger.TWELVE_HOURS / getTimePeriod(), live));
+		fv.setFeature("pmmcichimokuday", calculateIchimokuSignalTrend(plan, "pmmcichimokuday", candles, index, Trigger.ONE_DAY / getTimePeriod(), live));
+		fv.setFeature("pmmcichimokuthreeday", calculateIchimokuSignalTrend(plan, "pmmcichimokuthreeday", candles, index, Trigger.THREE_DAYS / getTimePeriod(), live));
+		fv.setFeature("pmmcichimokuweek", calculateIchimokuSignalTrend(plan, "pmmcichimokuweek", candles, index, Trigger.ONE_WEEK / getTimePeriod(), live));
+		fv.setFeature("pmmcichimokufort", calculateIchimokuSignalTrend(plan, "pmmcichimokufort", candles, index, Trigger.FORTNIGHT / getTimePeriod(), live));
+		fv.setFeature("pmmcichimokumonth", calculateIchimokuSignalTrend(plan, "pmmcichimokumonth", candles, index, Trigger.ONE_MONTH / getTimePeriod(), live));
+	}
+
+	//Calculates the aroon, RSI, TMF, bollinger, stochastic and ichimoku features from the candles
+	private void calculateIndicatorFeatures(Candlestick[] candles, int index, FeatureVector fv) throws Exception {
+		CandleMoments moments = getCandleMoments(candles);
+		AroonSeries aroons = getAroonSeries(candles);
+		RSISeries rsis = getRSISeries(candles);
+		TMFSeries tmfs = getTMFSeries(candles);
+		IchimokuSeries ichimokus = getIchimokuSeries(candles);
+		StochasticSeries stochastics = getStochasticSeries(candles);
+		fv.setFeature("aroonup",                        aroons.up(index));
+		fv.setFeature("aroondown",                      aroons.down(index));
 		fv.setFeature("aroondelta",                     fv.getFeature("aroonup") - fv.getFeature("aroondown"));
-		fv.setFeature("aroonupmone",                    Candlestick.calculateAroonUp(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("aroondownmone",                  Candlestick.calculateAroonDown(Arrays.copyOfRange(candles, 0, index)));
+		fv.setFeature("aroonupmone",                    aroons.up(index - 1));
+		fv.setFeature("aroondownmone",                  aroons.down(index - 1));
 		fv.setFeature("aroondeltamone",                 fv.getFeature("aroonupmone") - fv.getFeature("aroondownmone"));
 		fv.setFeature("aroonupdiffmone",                fv.getFeature("aroonup") - fv.getFeature("aroonupmone"));
 		fv.setFeature("aroondowndiffmone",              fv.getFeature("aroondown") - fv.getFeature("aroondownmone"));
 		fv.setFeature("aroondeltadiffmone",             fv.getFeature("aroondelta") - fv.getFeature("aroondeltamone"));
-		fv.setFeature("aroonupmtwo",                    Candlestick.calculateAroonUp(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("aroondownmtwo",                  Candlestick.calculateAroonDown(Arrays.copyOfRange(candles, 0, index - 1)));
+		fv.setFeature("aroonupmtwo",                    aroons.up(index - 2));
+		fv.setFeature("aroondownmtwo",                  aroons.down(index - 2));
 		fv.setFeature("aroondeltamtwo",                 fv.getFeature("aroonupmtwo") - fv.getFeature("aroondownmtwo"));
 		fv.setFeature("aroonupdiffmtwo",                fv.getFeature("aroonup") - fv.getFeature("aroonupmtwo"));
 		fv.setFeature("aroondowndiffmtwo",              fv.getFeature("aroondown") - fv.getFeature("aroondownmtwo"));
 		fv.setFeature("aroondeltadiffmtwo",             fv.getFeature("aroondelta") - fv.getFeature("aroondeltamtwo"));
-		fv.setFeature("aroonupmthree",                  Candlestick.calculateAroonUp(Arrays.copyOfRange(candles, 0, index - 2)));
-		fv.setFeature("aroondownmthree",                Candlestick.calculateAroonDown(Arrays.copyOfRange(candles, 0, index - 2)));
+		fv.setFeature("aroonupmthree",                  aroons.up(index - 3));
+		fv.setFeature("aroondownmthree",                aroons.down(index - 3));
 		fv.setFeature("aroondeltamthree",               fv.getFeature("aroonupmthree") - fv.getFeature("aroondownmthree"));
 		fv.setFeature("aroonupdiffmthree",              fv.getFeature("aroonup") - fv.getFeature("aroonupmthree"));
 		fv.setFeature("aroondowndiffmthree",            fv.getFeature("aroondown") - fv.getFeature("aroondownmthree"));
 		fv.setFeature("aroondeltadiffmthree",           fv.getFeature("aroondelta") - fv.getFeature("aroondeltamthree"));
 
-		fv.setFeature("rsi",                            Candlestick.calculateRSI(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("stochrsi",                       Candlestick.calculateStochRSI(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("rsimone",                        Candlestick.calculateRSI(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("stochrsimone",                   Candlestick.calculateStochRSI(Arrays.copyOfRange(candles, 0, index)));
+		fv.setFeature("rsi",                            rsis.get(index));
+		fv.setFeature("stochrsi",                       rsis.stochRSI(index));
+		fv.setFeature("rsimone",                        rsis.get(index - 1));
+		fv.setFeature("stochrsimone",                   rsis.stochRSI(index - 1));
 		fv.setFeature("rsidiffmone",                    fv.getFeature("rsi") - fv.getFeature("rsimone"));
 		fv.setFeature("stochrsidiffmone",               fv.getFeature("stochrsi") - fv.getFeature("stochrsimone"));
-		fv.setFeature("rsimtwo",                        Candlestick.calculateRSI(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("stochrsimtwo",                   Candlestick.calculateStochRSI(Arrays.copyOfRange(candles, 0, index - 1)));
+		fv.setFeature("rsimtwo",                        rsis.get(index - 2));
+		fv.setFeature("stochrsimtwo",                   rsis.stochRSI(index - 2));
 		fv.setFeature("rsidiffmtwo",                    fv.getFeature("rsi") - fv.getFeature("rsimtwo"));
 		fv.setFeature("stochrsidiffmtwo",               fv.getFeature("stochrsi") - fv.getFeature("stochrsimtwo"));
-		fv.setFeature("rsimthree",                      Candlestick.calculateRSI(Arrays.copyOfRange(candles, 0, index - 2)));
-		fv.setFeature("stochrsimthree",                 Candlestick.calculateStochRSI(Arrays.copyOfRange(candles, 0, index - 2)));
+		fv.setFeature("rsimthree",                      rsis.get(index - 3));
+		fv.setFeature("stochrsimthree",                 rsis.stochRSI(index - 3));
 		fv.setFeature("rsidiffmthree",                  fv.getFeature("rsi") - fv.getFeature("rsimthree"));
 		fv.setFeature("stochrsidiffmthree",             fv.getFeature("stochrsi") - fv.getFeature("stochrsimthree"));
 
-		fv.setFeature("tmf",                            Candlestick.calculateTwiggsMoneyFlow(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("tmfmone",                        Candlestick.calculateTwiggsMoneyFlow(Arrays.copyOfRange(candles, 0, index)));
+		fv.setFeature("tmf",                            tmfs.get(index));
+		fv.setFeature("tmfmone",                        tmfs.get(index - 1));
 		fv.setFeature("tmfdiffmone",                    fv.getFeature("tmf") - fv.getFeature("tmfmone"));
-		fv.setFeature("tmfmtwo",                        Candlestick.calculateTwiggsMoneyFlow(Arrays.copyOfRange(candles, 0, index - 1)));
+		fv.setFeature("tmfmtwo",                        tmfs.get(index - 2));
 		fv.setFeature("tmfdiffmtwo",                    fv.getFeature("tmf") - fv.getFeature("tmfmtwo"));
-		fv.setFeature("tmfmthree",                      Candlestick.calculateTwiggsMoneyFlow(Arrays.copyOfRange(candles, 0, index - 2)));
+		fv.setFeature("tmfmthree",                      tmfs.get(index - 3));
 		fv.setFeature("tmfdiffmthree",                  fv.getFeature("tmf") - fv.getFeature("tmfmthree"));
 
-		fv.setFeature("percoutsidebandtwo",             Candlestick.percOutsideBollingerBand(pastCandles, getRatio(Trigger.TWO_HOURS, getTimePeriod())));
-		fv.setFeature("percoutsidebandsix",             Candlestick.percOutsideBollingerBand(pastCandles, getRatio(Trigger.SIX_HOURS, getTimePeriod())));
-		fv.setFeature("percoutsidebandtwelve",          Candlestick.percOutsideBollingerBand(pastCandles, getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
-		fv.setFeature("percoutsidebandday",             Candlestick.percOutsideBollingerBand(pastCandles, Trigger.ONE_DAY / getTimePeriod()));
-		fv.setFeature("percabovebandtwo",               Candlestick.percAboveBollingerBand(pastCandles, Trigger.TWO_HOURS / getTimePeriod()));
-		fv.setFeature("percabovebandsix",               Candlestick.percAboveBollingerBand(pastCandles, Trigger.SIX_HOURS / getTimePeriod()));
-		fv.setFeature("percabovebandtwelve",            Candlestick.percAboveBollingerBand(pastCandles, getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
-		fv.setFeature("percabovebandday",               Candlestick.percAboveBollingerBand(pastCandles, Trigger.ONE_DAY / getTimePeriod()));
-		fv.setFeature("percbelowbandtwo",               Candlestick.percBelowBollingerBand(pastCandles, Trigger.TWO_HOURS / getTimePeriod()));
-		fv.setFeature("percbelowbandsix",               Candlestick.percBelowBollingerBand(pastCandles, Trigger.SIX_HOURS / getTimePeriod()));
-		fv.setFeature("percbelowbandtwelve",            Candlestick.percBelowBollingerBand(pastCandles, getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
-		fv.setFeature("percbelowbandday",               Candlestick.percBelowBollingerBand(pastCandles, Trigger.ONE_DAY / getTimePeriod()));
-
-		fv.setFeature("standardiseddpo",				Candlestick.calculateStandardisedDPO(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("standardiseddpomone",			Candlestick.calculateStandardisedDPO(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("standardiseddpomtwo",			Candlestick.calculateStandardisedDPO(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("standardiseddpomthree",			Candlestick.calculateStandardisedDPO(Arrays.copyOfRange(candles, 0, index - 2)));
-		fv.setFeature("standardiseddpodiffmone",		fv.getFeature("standardiseddpo") - fv.getFeature("standardiseddpomone"));
-		fv.setFeature("standardiseddpodiffmtwo",		fv.getFeature("standardiseddpo") - fv.getFeature("standardiseddpomtwo"));
-		fv.setFeature("standardiseddpodiffmthree",		fv.getFeature("standardiseddpo") - fv.getFeature("standardiseddpomthree"));
-		fv.setFeature("rvi",							Candlestick.calculateRVI(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("rvimone",						Candlestick.calculateRVI(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("rvimtwo",						Candlestick.calculateRVI(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("rvimthree",						Candlestick.calculateRVI(Arrays.copyOfRange(candles, 0, index - 2)));
-		fv.setFeature("rvidiffmone",					fv.getFeature("rvi") - fv.getFeature("rvimone"));
-		fv.setFeature("rvidiffmtwo",					fv.getFeature("rvi") - fv.getFeature("rvimtwo"));
-		fv.setFeature("rvidiffmthree",					fv.getFeature("rvi") - fv.getFeature("rvimthree"));
-		fv.setFeature("rvihist",						Candlestick.calculateRVIHist(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("rvihistmone",					Candlestick.calculateRVIHist(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("rvihistmtwo",					Candlestick.calculateRVIHist(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("rvihistmthree",					Candlestick.calculateRVIHist(Arrays.copyOfRange(candles, 0, index - 2)));
-		fv.setFeature("rvihistdiffmone",				fv.getFeature("rvihist") - fv.getFeature("rvihistmone"));
-		fv.setFeature("rvihistdiffmtwo",				fv.getFeature("rvihist") - fv.getFeature("rvihistmtwo"));
-		fv.setFeature("rvihistdiffmthree",				fv.getFeature("rvihist") - fv.getFeature("rvihistmthree"));
-		fv.setFeature("stochastic",						Candlestick.calculateStochastic(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("stochasticmone",					Candlestick.calculateStochastic(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("stochasticmtwo",					Candlestick.calculateStochastic(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("stochasticmthree",				Candlestick.calculateStochastic(Arrays.copyOfRange(candles, 0, index - 2)));
+		fv.setFeature("percoutsidebandtwo",             Candlestick.percOutsideBollingerBand(candles, moments, index, getRatio(Trigger.TWO_HOURS, getTimePeriod())));
+		fv.setFeature("percoutsidebandsix",             Candlestick.percOutsideBollingerBand(candles, moments, index, getRatio(Trigger.SIX_HOURS, getTimePeriod())));
+		fv.setFeature("percoutsidebandtwelve",          Candlestick.percOutsideBollingerBand(candles, moments, index, getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
+		fv.setFeature("percoutsidebandday",             Candlestick.percOutsideBollingerBand(candles, moments, index, Trigger.ONE_DAY / getTimePeriod()));
+		fv.setFeature("percabovebandtwo",               Candlestick.percAboveBollingerBand(candles, moments, index, Trigger.TWO_HOURS / getTimePeriod()));
+		fv.setFeature("percabovebandsix",               Candlestick.percAboveBollingerBand(candles, moments, index, Trigger.SIX_HOURS / getTimePeriod()));
+		fv.setFeature("percabovebandtwelve",            Candlestick.percAboveBollingerBand(candles, moments, index, getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
+		fv.setFeature("percabovebandday",               Candlestick.percAboveBollingerBand(candles, moments, index, Trigger.ONE_DAY / getTimePeriod()));
+		fv.setFeature("percbelowbandtwo",               Candlestick.percBelowBollingerBand(candles, moments, index, Trigger.TWO_HOURS / getTimePeriod()));
+		fv.setFeature("percbelowbandsix",               Candlestick.percBelowBollingerBand(candles, moments, index, Trigger.SIX_HOURS / getTimePeriod()));
+		fv.setFeature("percbelowbandtwelve",            Candlestick.percBelowBollingerBand(candles, moments, index, getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
+		fv.setFeature("percbelowbandday",               Candlestick.percBelowBollingerBand(candles, moments, index, Trigger.ONE_DAY / getTimePeriod()));
+
+		fv.setFeature("stochastic",						stochastics.get(index));
+		fv.setFeature("stochasticmone",					stochastics.get(index - 1));
+		fv.setFeature("stochasticmtwo",					stochastics.get(index - 2));
+		fv.setFeature("stochasticmthree",				stochastics.get(index - 3));
 		fv.setFeature("stochasticdiffmone",				fv.getFeature("stochastic") - fv.getFeature("stochasticmone"));
 		fv.setFeature("stochasticdiffmtwo",				fv.getFeature("stochastic") - fv.getFeature("stochasticmtwo"));
 		fv.setFeature("stochasticdiffmthree",			fv.getFeature("stochastic") - fv.getFeature("stochasticmthree"));
-		fv.setFeature("stochastichist",					Candlestick.calculateStochasticHist(Arrays.copyOfRange(candles, 0, index + 1)));
-		fv.setFeature("stochastichistmone",				Candlestick.calculateStochasticHist(Arrays.copyOfRange(candles, 0, index)));
-		fv.setFeature("stochastichistmtwo",				Candlestick.calculateStochasticHist(Arrays.copyOfRange(candles, 0, index - 1)));
-		fv.setFeature("stochastichistmthree",			Candlestick.calculateStochasticHist(Arrays.copyOfRange(candles, 0, index - 2)));
+		fv.setFeature("stochastichist",					stochastics.hist(index));
+		fv.setFeature("stochastichistmone",				stochastics.hist(index - 1));
+		fv.setFeature("stochastichistmtwo",				stochastics.hist(index - 2));
+		fv.setFeature("stochastichistmthree",			stochastics.hist(index - 3));
 		fv.setFeature("stochastichistdiffmone",			fv.getFeature("stochastichist") - fv.getFeature("stochastichistmone"));
 		fv.setFeature("stochastichistdiffmtwo",			fv.getFeature("stochastichist") - fv.getFeature("stochastichistmtwo"));
 		fv.setFeature("stochastichistdiffmthree",		fv.getFeature("stochastichist") - fv.getFeature("stochastichistmthree"));
 
-		double[] tempCandles;
-		double[] tempCandles2;
+		fv.setFeature("ichimoku", ichimokus.get(index));
+		fv.setFeature("ichimokumone", ichimokus.get(index - 1));
+		fv.setFeature("ichimokumtwo", ichimokus.get(index - 2));
+	}
 
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index - getRatio(Trigger.SIX_HOURS, getTimePeriod()), index));
-		fv.setFeature("pmmcpricesix", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvolsix", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpricesix", fv.getFeature("pmmcvolsix") - fv.getFeature("pmmcpricesix"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, getRatio(Trigger.SIX_HOURS, getTimePeriod()));
-		fv.setFeature("pmmctmfsix", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpricesix", fv.getFeature("pmmctmfsix") - fv.getFeature("pmmcpricesix"));
-
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index - getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), index));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index - getRatio(Trigger.TWELVE_HOURS, getTimePeriod()), index));
-		fv.setFeature("pmmcpricetwelve", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvoltwelve", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpricetwelve", fv.getFeature("pmmcvoltwelve") - fv.getFeature("pmmcpricetwelve"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, getRatio(Trigger.TWELVE_HOURS, getTimePeriod()));
-		fv.setFeature("pmmctmftwelve", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpricetwelve", fv.getFeature("pmmctmftwelve") - fv.getFeature("pmmcpricetwelve"));
-
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_DAY / getTimePeriod(), index + 1));
-		fv.setFeature("pmmcpriceday", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvolday", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpriceday", fv.getFeature("pmmcvolday") - fv.getFeature("pmmcpriceday"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, Trigger.ONE_DAY / getTimePeriod());
-		fv.setFeature("pmmctmfday", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpriceday", fv.getFeature("pmmctmfday") - fv.getFeature("pmmcpriceday"));
-
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index + 1 - Trigger.THREE_DAYS / getTimePeriod(), index + 1));
-		fv.setFeature("pmmcpricethreeday", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvolthreeday", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpricethreeday", fv.getFeature("pmmcvolthreeday") - fv.getFeature("pmmcpricethreeday"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, Trigger.THREE_DAYS / getTimePeriod());
-		fv.setFeature("pmmctmfthreeday", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpricethreeday", fv.getFeature("pmmctmfthreeday") - fv.getFeature("pmmcpricethreeday"));
-
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_WEEK / getTimePeriod(), index + 1));
-		fv.setFeature("pmmcpriceweek", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvolweek", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpriceweek", fv.getFeature("pmmcvolweek") - fv.getFeature("pmmcpriceweek"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, Trigger.ONE_WEEK / getTimePeriod());
-		fv.setFeature("pmmctmfweek", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpriceweek", fv.getFeature("pmmctmfweek") - fv.getFeature("pmmcpriceweek"));
-
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index + 1 - Trigger.FORTNIGHT / getTimePeriod(), index + 1));
-		fv.setFeature("pmmcpricefort", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvolfort", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpricefort", fv.getFeature("pmmcvolfort") - fv.getFeature("pmmcpricefort"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, Trigger.FORTNIGHT / getTimePeriod());
-		fv.setFeature("pmmctmffort", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpricefort", fv.getFeature("pmmctmffort") - fv.getFeature("pmmcpricefort"));
-
-		tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
-		tempCandles2 = Candlestick.volumes(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
-		fv.setFeature("pmmcpricemonth", Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles));
-		fv.setFeature("pmmcvolmonth", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdiffvolpricemonth", fv.getFeature("pmmcvolmonth") - fv.getFeature("pmmcpricemonth"));
-		tempCandles2 = Candlestick.calculateTMFGraph(pastCandles, Trigger.ONE_MONTH / getTimePeriod());
-		fv.setFeature("pmmctmfmonth", Numerics.pearsons(Numerics.generateTime(tempCandles2), tempCandles2));
-		fv.setFeature("pmmcdifftmfpricemonth", fv.getFeature("pmmctmfmonth") - fv.getFeature("pmmcpricemonth"));
-		
-		fv.setFeature("ichimoku", Candlestick.ichimokuSignal(pastCandles));
-		fv.setFeature("ichimokumone", Candlestick.ichimokuSignal(Arrays.copyOfRange(pastCandles, 0, pastCandles.length - 1)));
-		fv.setFeature("ichimokumtwo", Candlestick.ichimokuSignal(Arrays.copyOfRange(pastCandles, 0, pastCandles.length - 2)));
-
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.SIX_HOURS / getTimePeriod());
-		fv.setFeature("pmmcichimokusix", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.TWELVE_HOURS / getTimePeriod());
-		fv.setFeature("pmmcichimokutwelve", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.ONE_DAY / getTimePeriod());
-		fv.setFeature("pmmcichimokuday", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.THREE_DAYS / getTimePeriod());
-		fv.setFeature("pmmcichimokuthreeday", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.ONE_WEEK / getTimePeriod());
-		fv.setFeature("pmmcichimokuweek", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.FORTNIGHT / getTimePeriod());
-		fv.setFeature("pmmcichimokufort", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
-		tempCandles = Candlestick.calculateIchimokuSignalGraph(pastCandles, Trigger.ONE_MONTH / getTimePeriod());
-		fv.setFeature("pmmcichimokumonth", Numerics.pearsons(tempCandles, Numerics.generateTime(tempCandles)));
+	//Calculates the aroon, RSI, TMF, bollinger, stochastic and ichimoku features from streaming indicators which have consumed the candles
+	private void calculateIndicatorFeatures(IndicatorState state, FeatureVector fv) throws Exception {
+		fv.setFeature("aroonup",                        state.aroon.getUp(0));
+		fv.setFeature("aroondown",                      state.aroon.getDown(0));
+		fv.setFeature("aroondelta",                     fv.getFeature("aroonup") - fv.getFeature("aroondown"));
+		fv.setFeature("aroonupmone",                    state.aroon.getUp(1));
+		fv.setFeature("aroondownmone",                  state.aroon.getDown(1));
+		fv.setFeature("aroondeltamone",                 fv.getFeature("aroonupmone") - fv.getFeature("aroondownmone"));
+		fv.setFeature("aroonupdiffmone",                fv.getFeature("aroonup") - fv.getFeature("aroonupmone"));
+		fv.setFeature("aroondowndiffmone",              fv.getFeature("aroondown") - fv.getFeature("aroondownmone"));
+		fv.setFeature("aroondeltadiffmone",             fv.getFeature("aroondelta") - fv.getFeature("aroondeltamone"));
+		fv.setFeature("aroonupmtwo",                    state.aroon.getUp(2));
+		fv.setFeature("aroondownmtwo",                  state.aroon.getDown(2));
+		fv.setFeature("aroondeltamtwo",                 fv.getFeature("aroonupmtwo") - fv.getFeature("aroondownmtwo"));
+		fv.setFeature("aroonupdiffmtwo",                fv.getFeature("aroonup") - fv.getFeature("aroonupmtwo"));
+		fv.setFeature("aroondowndiffmtwo",              fv.getFeature("aroondown") - fv.getFeature("aroondownmtwo"));
+		fv.setFeature("aroondeltadiffmtwo",             fv.getFeature("aroondelta") - fv.getFeature("aroondeltamtwo"));
+		fv.setFeature("aroonupmthree",                  state.aroon.getUp(3));
+		fv.setFeature("aroondownmthree",                state.aroon.getDown(3));
+		fv.setFeature("aroondeltamthree",               fv.getFeature("aroonupmthree") - fv.getFeature("aroondownmthree"));
+		fv.setFeature("aroonupdiffmthree",              fv.getFeature("aroonup") - fv.getFeature("aroonupmthree"));
+		fv.setFeature("aroondowndiffmthree",            fv.getFeature("aroondown") - fv.getFeature("aroondownmthree"));
+		fv.setFeature("aroondeltadiffmthree",           fv.getFeature("aroondelta") - fv.getFeature("aroondeltamthree"));
+
+		fv.setFeature("rsi",                            state.rsi.get(0));
+		fv.setFeature("stochrsi",                       state.rsi.getStochRSI(0));
+		fv.setFeature("rsimone",                        state.rsi.get(1));
+		fv.setFeature("stochrsimone",                   state.rsi.getStochRSI(1));
+		fv.setFeature("rsidiffmone",                    fv.getFeature("rsi") - fv.getFeature("rsimone"));
+		fv.setFeature("stochrsidiffmone",               fv.getFeature("stochrsi") - fv.getFeature("stochrsimone"));
+		fv.setFeature("rsimtwo",                        state.rsi.get(2));
+		fv.setFeature("stochrsimtwo",                   state.rsi.getStochRSI(2));
+		fv.setFeature("rsidiffmtwo",                    fv.getFeature("rsi") - fv.getFeature("rsimtwo"));
+		fv.setFeature("stochrsidiffmtwo",               fv.getFeature("stochrsi") - fv.getFeature("stochrsimtwo"));
+		fv.setFeature("rsimthree",                      state.rsi.get(3));
+		fv.setFeature("stochrsimthree",                 state.rsi.getStochRSI(3));
+		fv.setFeature("rsidiffmthree",                  fv.getFeature("rsi") - fv.getFeature("rsimthree"));
+		fv.setFeature("stochrsidiffmthree",             fv.getFeature("stochrsi") - fv.getFeature("stochrsimthree"));
+
+		fv.setFeature("tmf",                            state.tmf.get(0));
+		fv.setFeature("tmfmone",                        state.tmf.get(1));
+		fv.setFeature("tmfdiffmone",                    fv.getFeature("tmf") - fv.getFeature("tmfmone"));
+		fv.setFeature("tmfmtwo",                        state.tmf.get(2));
+		fv.setFeature("tmfdiffmtwo",                    fv.getFeature("tmf") - fv.getFeature("tmfmtwo"));
+		fv.setFeature("tmfmthree",                      state.tmf.get(3));
+		fv.setFeature("tmfdiffmthree",                  fv.getFeature("tmf") - fv.getFeature("tmfmthree"));
+
+		fv.setFeature("percoutsidebandtwo",             state.bollinger.percOutside(getRatio(Trigger.TWO_HOURS, getTimePeriod())));
+		fv.setFeature("percoutsidebandsix",             state.bollinger.percOutside(getRatio(Trigger.SIX_HOURS, getTimePeriod())));
+		fv.setFeature("percoutsidebandtwelve",          state.bollinger.percOutside(getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
+		fv.setFeature("percoutsidebandday",             state.bollinger.percOutside(Trigger.ONE_DAY / getTimePeriod()));
+		fv.setFeature("percabovebandtwo",               state.bollinger.percAbove(Trigger.TWO_HOURS / getTimePeriod()));
+		fv.setFeature("percabovebandsix",               state.bollinger.percAbove(Trigger.SIX_HOURS / getTimePeriod()));
+		fv.setFeature("percabovebandtwelve",            state.bollinger.percAbove(getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
+		fv.setFeature("percabovebandday",               state.bollinger.percAbove(Trigger.ONE_DAY / getTimePeriod()));
+		fv.setFeature("percbelowbandtwo",               state.bollinger.percBelow(Trigger.TWO_HOURS / getTimePeriod()));
+		fv.setFeature("percbelowbandsix",               state.bollinger.percBelow(Trigger.SIX_HOURS / getTimePeriod()));
+		fv.setFeature("percbelowbandtwelve",            state.bollinger.percBelow(getRatio(Trigger.TWELVE_HOURS, getTimePeriod())));
+		fv.setFeature("percbelowbandday",               state.bollinger.percBelow(Trigger.ONE_DAY / getTimePeriod()));
+
+		fv.setFeature("stochastic",						state.stochastic.get(0));
+		fv.setFeature("stochasticmone",					state.stochastic.get(1));
+		fv.setFeature("stochasticmtwo",					state.stochastic.get(2));
+		fv.setFeature("stochasticmthree",				state.stochastic.get(3));
+		fv.setFeature("stochasticdiffmone",				fv.getFeature("stochastic") - fv.getFeature("stochasticmone"));
+		fv.setFeature("stochasticdiffmtwo",				fv.getFeature("stochastic") - fv.getFeature("stochasticmtwo"));
+		fv.setFeature("stochasticdiffmthree",			fv.getFeature("stochastic") - fv.getFeature("stochasticmthree"));
+		fv.setFeature("stochastichist",					state.stochastic.getHist(0));
+		fv.setFeature("stochastichistmone",				state.stochastic.getHist(1));
+		fv.setFeature("stochastichistmtwo",				state.stochastic.getHist(2));
+		fv.setFeature("stochastichistmthree",			state.stochastic.getHist(3));
+		fv.setFeature("stochastichistdiffmone",			fv.getFeature("stochastichist") - fv.getFeature("stochastichistmone"));
+		fv.setFeature("stochastichistdiffmtwo",			fv.getFeature("stochastichist") - fv.getFeature("stochastichistmtwo"));
+		fv.setFeature("stochastichistdiffmthree",		fv.getFeature("stochastichist") - fv.getFeature("stochastichistmthree"));
+
+		fv.setFeature("ichimoku", state.ichimoku.get(0));
+		fv.setFeature("ichimokumone", state.ichimoku.get(1));
+		fv.setFeature("ichimokumtwo", state.ichimoku.get(2));
+	}
+
+	//The correlation of the TMF graph against time, taken from the live state if there is one, or 0 if the plan leaves
+	//feature out
+	private double calculateTMFTrend(FeaturePlan plan, String feature, Candlestick[] candles, int index, int periods, IndicatorState live) {
+		if (!plan.needs(feature)) { return 0D; }
+		if (live != null) {
+			double[] tmfs = live.tmf.graph(periods);
+			return Numerics.trend(tmfs, 0, tmfs.length);
+		}
+		return getTMFSeries(candles).trend(index, periods);
+	}
+
+	//The correlation of the ichimoku signal graph against time, taken from the live state if there is one, or 0 if the
+	//plan leaves feature out
+	private double calculateIchimokuSignalTrend(FeaturePlan plan, String feature, Candlestick[] candles, int index, int periods, IndicatorState live) {
+		if (!plan.needs(feature)) { return 0D; }
+		if (live != null) {
+			double[] signals = live.ichimoku.graph(periods);
+			return Numerics.trend(signals, 0, signals.length);
+		}
+		return getIchimokuSeries(candles).trend(index, periods);
 	}
 
 	private double getRelativeVolume(Candlestick[] candles, int index, int trigger) {
-		double volume = Candlestick.getVolSum(Arrays.copyOfRange(candles, index - getRatio(trigger, getTimePeriod()), index));
-		double prevVolume = Candlestick.getVolSum(Arrays.copyOfRange(candles, index - getRatio((trigger * 2), getTimePeriod()), index - getRatio(trigger, getTimePeriod())));
+		CandleSums sums = getCandleSums(candles);
+		double volume = sums.volume(index - getRatio(trigger, getTimePeriod()), index);
+		double prevVolume = sums.volume(index - getRatio((trigger * 2), getTimePeriod()), index - getRatio(trigger, getTimePeriod()));
 		return prevVolume == 0 ? Math.min(100, volume) : volume / prevVolume;
 	}
 }
\ No newline at end of file
@@ -1,11 +1,8 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
-import stocks.Numerics;
 
 public class TriggerAccumulation extends Trigger {
 
@@ -16,20 +13,12 @@ public class TriggerAccumulation extends Trigger {
 	}
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		Candlestick[] pastCandles = Arrays.copyOfRange(candles, 0, index + 1);
-		double[] tmfs = Candlestick.calculateTMFGraph(pastCandles, Trigger.FORTNIGHT / getTimePeriod());
-		for (int i = 0; i < tmfs.length; i ++) {
-			if (tmfs[i] >= 0) { return false; }
-		}
-		return true;
+		return getTMFSeries(candles).nonNegatives(index, Trigger.FORTNIGHT / getTimePeriod()) == 0;
 	}
 
 	private double calculateDifference(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		Candlestick[] pastCandles = Arrays.copyOfRange(candles, 0, index + 1);
-		double[] tempCandles = Candlestick.weightedAverages(Arrays.copyOfRange(candles, index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1));
-		double pearsonsPrice = Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles);
-		tempCandles = Candlestick.calculateTMFGraph(pastCandles, Trigger.ONE_MONTH / getTimePeriod());
-		double pearsonsTMF = Numerics.pearsons(Numerics.generateTime(tempCandles), tempCandles);
+		double pearsonsPrice = getCandleMoments(candles).weightedAverages.trend(index + 1 - Trigger.ONE_MONTH / getTimePeriod(), index + 1);
+		double pearsonsTMF = getTMFSeries(candles).trend(index, Trigger.ONE_MONTH / getTimePeriod());
 		return pearsonsTMF - pearsonsPrice;
 	}
 
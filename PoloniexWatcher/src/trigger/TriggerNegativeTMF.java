@@ -1,7 +1,5 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
@@ -14,12 +12,7 @@ public class TriggerNegativeTMF extends Trigger {
 	}
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		Candlestick[] pastCandles = Arrays.copyOfRange(candles, 0, index + 1);
-		double[] tmfs = Candlestick.calculateTMFGraph(pastCandles, Trigger.FORTNIGHT / getTimePeriod());
-		for (int i = 0; i < tmfs.length; i ++) {
-			if (tmfs[i] >= 0) { return false; }
-		}
-		return true;
+		return getTMFSeries(candles).nonNegatives(index, Trigger.FORTNIGHT / getTimePeriod()) == 0;
 	}
 
 	@Override
@@ -1,11 +1,11 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
+import stocks.CandleExtremes;
 import stocks.Candlestick;
 import stocks.Numerics;
+import stocks.RSISeries;
 
 public class TriggerRSI extends Trigger {
 
@@ -19,8 +19,9 @@ public class TriggerRSI extends Trigger {
 	}
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		double rsi = Candlestick.calculateRSI(Arrays.copyOfRange(candles, 0, index + 1));
-		double lastRsi = Candlestick.calculateRSI(Arrays.copyOfRange(candles, 0, index));
+		RSISeries rsis = getRSISeries(candles);
+		double rsi = rsis.get(index);
+		double lastRsi = rsis.get(index - 1);
 		if (rsi > RSI_PURCHASE || lastRsi < RSI_PURCHASE) {
 			return false;
 		} else {
@@ -30,15 +31,16 @@ public class TriggerRSI extends Trigger {
 
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future) throws Exception {
 		if (future) {
-			int sellsIndex = Candlestick.calculateRSINextSellsIndex(candles, index, RSI_SELL);
+			int sellsIndex = getRSISeries(candles).nextSellsIndex(index, RSI_SELL);
 
-			double highBeforeSell = Candlestick.high(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowBeforeSell = Candlestick.low(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			CandleExtremes extremes = getCandleExtremes(candles);
+			double highBeforeSell = extremes.high(index + 1, sellsIndex + 1);
+			double lowBeforeSell = extremes.low(index + 1, sellsIndex + 1);
 
-			double highOpenIndex = Candlestick.highOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpenIndex = Candlestick.lowOpenIndex(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double highOpen = Candlestick.highOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
-			double lowOpen = Candlestick.lowOpen(Arrays.copyOfRange(candles, index + 1, sellsIndex + 1));
+			double highOpenIndex = extremes.highOpenIndex(index + 1, sellsIndex + 1);
+			double lowOpenIndex = extremes.lowOpenIndex(index + 1, sellsIndex + 1);
+			double highOpen = extremes.highOpen(index + 1, sellsIndex + 1);
+			double lowOpen = extremes.lowOpen(index + 1, sellsIndex + 1);
 
 			double sellApprox = candles[sellsIndex + 1].getOpen();
 			double purchaseApprox = candles[index + 1].getOpen();
@@ -1,16 +1,19 @@
 package trigger;
 
-import java.util.Arrays;
-
 import stocks.Candlestick;
+import stocks.EventIndex;
 import stocks.Numerics;
 
 public class TriggerSteadyPump extends TriggerSuddenPump {
 
+	private static final int STEADY_GAP = 48; //the number of candles before a steady pump which cannot end on one
+
+	private EventIndex steadyPumps;
+
 	public TriggerSteadyPump() throws Exception { super("steadypump"); }
 
 	public boolean isTriggered(Candlestick[] candles, Candlestick[] btcCandles, int index) {
-		if (isSteadyPump(Arrays.copyOfRange(candles, 0, index + 1))) {
+		if (isSteadyPump(candles, index + 1)) {
 			try {
 				return true;
 			} catch (Exception e) { return false; }
@@ -19,12 +22,16 @@ public class TriggerSteadyPump extends TriggerSuddenPump {
 		}
 	}
 
-	private boolean isSteadyPump(Candlestick[] candles) {
-		boolean meets = wasSteadyPump(candles);
-		Candlestick[] candles2;
-		for (int i = 0; i < 48; i ++) {
-			candles2 = Arrays.copyOfRange(candles, 0, candles.length - (i + 1));
-			if (wasSteadyPump(candles2)) {
+	//Whether the first end candles finish on a steady pump, taken from the index of steady pumps when the candles have
+	//enough history for every check
+	private boolean isSteadyPump(Candlestick[] candles, int end) {
+		if (end - STEADY_GAP >= STEADY_GAP && end <= candles.length) {
+			EventIndex steady = getSteadyPumps(candles);
+			return steady.get(end) && steady.count(end - STEADY_GAP, end) == 0;
+		}
+		boolean meets = wasSteadyPump(candles, end);
+		for (int i = 0; i < STEADY_GAP; i ++) {
+			if (wasSteadyPump(candles, end - (i + 1))) {
 				return false;
 			}
 		}
@@ -32,18 +39,32 @@ public class TriggerSteadyPump extends TriggerSuddenPump {
 		return meets;
 	}
 
-	private boolean wasSteadyPump(Candlestick[] candles) {
+	//Whether the first end candles finished on a steady pump, for every end with enough history
+	private EventIndex getSteadyPumps(Candlestick[] candles) {
+		EventIndex steady = steadyPumps;
+		if (steady == null || !steady.isFor(candles)) {
+			boolean[] events = new boolean[candles.length + 1];
+			for (int end = STEADY_GAP; end <= candles.length; end ++) {
+				events[end] = wasSteadyPump(candles, end);
+			}
+			steady = new EventIndex(candles, events);
+			steadyPumps = steady;
+		}
+		return steady;
+	}
+
+	private boolean wasSteadyPump(Candlestick[] candles, int end) {
 		boolean steady = true;
 		for (int i = -3; i < 0; i ++) {
-			if (candles[candles.length+i].delta() <= 0) { return false; }
+			if (candles[end+i].delta() <= 0) { return false; }
 			/*if (i != -3) {
-				if (candles[candles.length+i].open < candles[candles.length+i-1].close) { steady = false; }
+				if (candles[end+i].open < candles[end+i-1].close) { steady = false; }
 			}*/
 		}
-		if (Numerics.pc(candles[candles.length-3].getOpen(), candles[candles.length-1].getClose()) < Candlestick.PUMP_DELTA) {
+		if (Numerics.pc(candles[end-3].getOpen(), candles[end-1].getClose()) < Candlestick.PUMP_DELTA) {
 			return false;
 		}
-		if (candles[candles.length-1].getClose() < Candlestick.high(Arrays.copyOfRange(candles, candles.length - 48, candles.length - 1))) {
+		if (candles[end-1].getClose() < Candlestick.high(candles, end - 48, end - 1)) {
 			return false;
 		}
 		return steady;
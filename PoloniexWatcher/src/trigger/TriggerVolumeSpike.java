@@ -1,7 +1,5 @@
 package trigger;
 
-import java.util.Arrays;
-
 import csvutils.DataSet;
 import csvutils.FeatureVector;
 import stocks.Candlestick;
@@ -24,17 +22,15 @@ public class TriggerVolumeSpike extends Trigger {
 		double vol = candles[index].volume;
 		if (candles[index].delta() > 3 || candles[index].delta() < -0.1D) { return false; }
 		if (Numerics.pc(candles[index].low, candles[index].high) > 3) { return false; }
-		for (int i = index - 1; i > index - (Trigger.ONE_DAY / Trigger.QUARTER_HOUR) - 1; i --) {
-			if (candles[i].volume >= vol) {
-				return false;
-			}
-		}
+		int dayStart = index - (Trigger.ONE_DAY / Trigger.QUARTER_HOUR);
+		if (getCandleEvents(candles).previousVolume(index) >= Math.max(dayStart, 0)) { return false; } //a volume at least as large in the previous day
+		if (dayStart < 0) { throw new ArrayIndexOutOfBoundsException(-1); } //the previous day runs off the first candle
 		return true;
 	}
 
 	protected void _calculateFeatures(Candlestick[] candles, Candlestick[] btcCandles, int index, FeatureVector fv, String ticker, boolean future) throws Exception {
 		calculateDidPump(candles, btcCandles, index, fv, ticker, future);
-		double dailyVolume = Candlestick.getVolSum(Arrays.copyOfRange(candles, index - (Trigger.ONE_DAY) / Trigger.QUARTER_HOUR, index));
+		double dailyVolume = Candlestick.getVolSum(candles, index - (Trigger.ONE_DAY) / Trigger.QUARTER_HOUR, index);
 		fv.setFeature("percentagebuyvolunproductive", Numerics.perc(Trade.getUnproductiveBuyVolume(thirty, candles[index - 1].getClose()), candles[index].volume));
 		fv.setFeature("percbuyvolunprodtotwodayvol", Numerics.perc(Trade.getUnproductiveBuyVolume(thirty, candles[index - 1].getClose()), dailyVolume));
 		fv.setFeature("buytosellcountratio", Trade.buyToSellCount(thirty));